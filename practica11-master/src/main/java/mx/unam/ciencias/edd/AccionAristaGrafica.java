@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre aristas de gráficas.
+ */
+@FunctionalInterface
+public interface AccionAristaGrafica<T> {
+
+    /**
+     * Realiza una acción sobre una arista de gráfica.
+     * @param a el elemento en un extremo de la arista.
+     * @param b el elemento en el otro extremo de la arista.
+     * @param peso el peso de la arista.
+     */
+    public void actua(T a, T b, double peso);
+}
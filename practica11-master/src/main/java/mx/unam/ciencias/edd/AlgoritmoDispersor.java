@@ -9,5 +9,13 @@ public enum AlgoritmoDispersor {
     /** Algoritmo de Bob Jenkins para cadenas. */
     BJ_STRING,
     /** Algoritmo de Daniel J. Bernstein para cadenas. */
-    DJB_STRING;
+    DJB_STRING,
+    /** Algoritmo MurmurHash3 de 32 bits para cadenas. */
+    MURMUR3_STRING,
+    /** Algoritmo xxHash de 32 bits para cadenas. */
+    XXH32_STRING,
+    /** Algoritmo xxHash de 64 bits, reducido a 32, para cadenas. */
+    XXH64_STRING,
+    /** Algoritmo wyhash, reducido a 32 bits, para cadenas. */
+    WY_STRING;
 }
@@ -0,0 +1,165 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Compara {@link Diccionario}, con encadenamiento, {@link DiccionarioAbierto},
+ * con direccionamiento abierto, {@link DiccionarioEntero}, que no crea
+ * objetos por entrada, y {@link DiccionarioDirecto}, fuera del montículo,
+ * agregando, buscando llaves que están y que no están, y eliminando; también
+ * estima la memoria del montículo que ocupa cada uno y reporta el peor tiempo
+ * de un solo agregado, que es el que paga el crecimiento del arreglo.
+ */
+public class BenchmarkDiccionario {
+
+    /* Interfaz para las operaciones que se miden. */
+    private interface Operaciones {
+        public void agrega(Integer llave);
+        public boolean contiene(Integer llave);
+        public void elimina(Integer llave);
+    }
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 3;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkDiccionario N");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int N = -1;
+        try {
+            N = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (N < 1024)
+            uso();
+
+        Random random = new Random();
+        Integer[] llaves = new Integer[N];
+        Integer[] ausentes = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            llaves[i] = random.nextInt();
+            ausentes[i] = random.nextInt();
+        }
+
+        System.out.printf("%-10s %12s %12s %12s %12s %12s %12s\n",
+                          "diccionario", "agrega", "peor agrega", "encuentra",
+                          "no encuentra", "elimina", "memoria (B)");
+        for (int r = 0; r < REPETICIONES; r++) {
+            Diccionario<Integer, Integer> d =
+                new Diccionario<Integer, Integer>();
+            mide("encadenado", llaves, ausentes, new Operaciones() {
+                    @Override public void agrega(Integer llave) {
+                        d.agrega(llave, llave);
+                    }
+                    @Override public boolean contiene(Integer llave) {
+                        return d.contiene(llave);
+                    }
+                    @Override public void elimina(Integer llave) {
+                        if (d.contiene(llave))
+                            d.elimina(llave);
+                    }
+                });
+            DiccionarioAbierto<Integer, Integer> a =
+                new DiccionarioAbierto<Integer, Integer>();
+            mide("abierto", llaves, ausentes, new Operaciones() {
+                    @Override public void agrega(Integer llave) {
+                        a.agrega(llave, llave);
+                    }
+                    @Override public boolean contiene(Integer llave) {
+                        return a.contiene(llave);
+                    }
+                    @Override public void elimina(Integer llave) {
+                        if (a.contiene(llave))
+                            a.elimina(llave);
+                    }
+                });
+            DiccionarioEntero e = new DiccionarioEntero();
+            mide("entero", llaves, ausentes, new Operaciones() {
+                    @Override public void agrega(Integer llave) {
+                        e.agrega(llave, llave);
+                    }
+                    @Override public boolean contiene(Integer llave) {
+                        return e.contiene(llave);
+                    }
+                    @Override public void elimina(Integer llave) {
+                        if (e.contiene(llave))
+                            e.elimina(llave);
+                    }
+                });
+            DiccionarioDirecto f = new DiccionarioDirecto(4, 4, 0);
+            ByteBuffer b = ByteBuffer.allocate(4);
+            mide("directo", llaves, ausentes, new Operaciones() {
+                    @Override public void agrega(Integer llave) {
+                        b.putInt(0, llave);
+                        f.agrega(b, b);
+                    }
+                    @Override public boolean contiene(Integer llave) {
+                        b.putInt(0, llave);
+                        return f.contiene(b);
+                    }
+                    @Override public void elimina(Integer llave) {
+                        b.putInt(0, llave);
+                        if (f.contiene(b))
+                            f.elimina(b);
+                    }
+                });
+        }
+    }
+
+    /* Mide las operaciones sobre un diccionario y las imprime, en
+     * nanosegundos por operación. */
+    private static void mide(String nombre, Integer[] llaves,
+                             Integer[] ausentes, Operaciones operaciones) {
+        int n = llaves.length;
+        long memoriaInicial = memoria();
+        long peor = 0;
+        long t0 = System.nanoTime();
+        long t1 = t0;
+        for (Integer llave : llaves) {
+            operaciones.agrega(llave);
+            long t = System.nanoTime();
+            peor = Math.max(peor, t - t1);
+            t1 = t;
+        }
+        long bytes = memoria() - memoriaInicial;
+        int c = 0;
+        long t2 = System.nanoTime();
+        for (Integer llave : llaves)
+            if (operaciones.contiene(llave))
+                c++;
+        long t3 = System.nanoTime();
+        for (Integer llave : ausentes)
+            if (operaciones.contiene(llave))
+                c++;
+        long t4 = System.nanoTime();
+        for (Integer llave : llaves)
+            operaciones.elimina(llave);
+        long t5 = System.nanoTime();
+        if (c < n)
+            throw new IllegalStateException("Faltan llaves");
+        System.out.printf("%-10s %12.1f %12d %12.1f %12.1f %12.1f %12d\n",
+                          nombre, (double)(t1 - t0) / n, peor,
+                          (double)(t3 - t2) / n, (double)(t4 - t3) / n,
+                          (double)(t5 - t4) / n, bytes);
+    }
+
+    /* Regresa una estimación de la memoria usada después de recolectar
+     * basura. */
+    private static long memoria() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
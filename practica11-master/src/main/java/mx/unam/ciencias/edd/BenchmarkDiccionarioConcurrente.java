@@ -0,0 +1,114 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compara el rendimiento de {@link DiccionarioConcurrente} con el de un
+ * {@link Diccionario} protegido por un candado global conforme crece el número
+ * de hilos. Cada hilo cuenta eventos sobre llaves al azar, combinando una
+ * cuenta por cada tres consultas.
+ */
+public class BenchmarkDiccionarioConcurrente {
+
+    /* Interfaz para los diccionarios que se miden. */
+    private interface Contador {
+        public void cuenta(Integer llave);
+        public Integer consulta(Integer llave);
+    }
+
+    /* Número de llaves distintas. */
+    private static final int LLAVES = 1 << 16;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd." +
+                           "BenchmarkDiccionarioConcurrente " +
+                           "HILOS OPERACIONES");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2)
+            uso();
+
+        int H = -1, M = -1;
+        try {
+            H = Integer.parseInt(args[0]);
+            M = Integer.parseInt(args[1]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (H < 1 || M < 1)
+            uso();
+
+        System.out.printf("%6s %20s %20s\n", "hilos",
+                          "candado global (op/s)", "concurrente (op/s)");
+        for (int h = 1; h <= H; h *= 2) {
+            Diccionario<Integer, Integer> diccionario =
+                new Diccionario<Integer, Integer>();
+            double global = mide(h, M, new Contador() {
+                    @Override public void cuenta(Integer llave) {
+                        synchronized (diccionario) {
+                            diccionario.merge(llave, 1, Integer::sum);
+                        }
+                    }
+                    @Override public Integer consulta(Integer llave) {
+                        synchronized (diccionario) {
+                            return diccionario.getOrDefault(llave, 0);
+                        }
+                    }
+                });
+            DiccionarioConcurrente<Integer, Integer> concurrente =
+                new DiccionarioConcurrente<Integer, Integer>();
+            double segmentado = mide(h, M, new Contador() {
+                    @Override public void cuenta(Integer llave) {
+                        concurrente.merge(llave, 1, Integer::sum);
+                    }
+                    @Override public Integer consulta(Integer llave) {
+                        return concurrente.getOrDefault(llave, 0);
+                    }
+                });
+            System.out.printf("%6d %20.0f %20.0f\n", h, global, segmentado);
+        }
+    }
+
+    /* Regresa las operaciones por segundo de h hilos que hacen m operaciones
+     * cada uno. */
+    private static double mide(int h, int m, Contador contador) {
+        Thread[] hilos = new Thread[h];
+        long[] sumas = new long[h];
+        for (int i = 0; i < h; i++) {
+            int k = i;
+            hilos[i] = new Thread(() -> {
+                    ThreadLocalRandom r = ThreadLocalRandom.current();
+                    long suma = 0;
+                    for (int j = 0; j < m; j++) {
+                        Integer llave = r.nextInt(LLAVES);
+                        if ((j & 3) == 0)
+                            contador.cuenta(llave);
+                        else
+                            suma += contador.consulta(llave);
+                    }
+                    sumas[k] = suma;
+            });
+        }
+        long tiempoInicial = System.nanoTime();
+        for (Thread hilo : hilos)
+            hilo.start();
+        try {
+            for (Thread hilo : hilos)
+                hilo.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        double t = (System.nanoTime() - tiempoInicial) / 1000000000.0;
+        long suma = 0;
+        for (long s : sumas)
+            suma += s;
+        if (suma < 0)
+            throw new IllegalStateException("Cuentas negativas");
+        return (double)h * m / t;
+    }
+}
@@ -0,0 +1,121 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+
+/**
+ * Compara {@link MonticuloArreglo}, {@link MonticuloMinimo}, {@link
+ * MonticuloEmparejamiento} y {@link MonticuloRadix} en el algoritmo de
+ * Dijkstra para gráficas de Erdős–Rényi de distintas densidades. Para cada
+ * gráfica imprime el montículo más rápido y el que elige {@link
+ * TipoMonticuloDijkstra#AUTOMATICO}. Hay dos pasadas: una con pesos enteros,
+ * donde se elige el montículo radix, y otra con pesos fraccionarios, donde
+ * el radix no se puede usar y la columna n²/log n es el punto de cruce
+ * entre el arreglo y el mínimo.
+ */
+public class BenchmarkDijkstra {
+
+    /* Las probabilidades de arista que se miden. */
+    private static final double[] DENSIDADES = {
+        0.001, 0.005, 0.01, 0.05, 0.1, 0.25, 0.5, 1.0
+    };
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 5;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkDijkstra N");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int N = -1;
+        try {
+            N = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (N < 2)
+            uso();
+
+        Random random = new Random();
+
+        pasada(N, true, random);
+        System.out.println();
+        pasada(N, false, random);
+    }
+
+    /* Mide todas las gráficas de hasta N vértices, con pesos enteros o
+     * fraccionarios, e imprime la tabla. */
+    private static void pasada(int N, boolean enteros, Random random) {
+        System.out.println(enteros ? "Pesos enteros" : "Pesos fraccionarios");
+        System.out.printf("%9s %9s %12s %12s %12s %14s %12s %14s %14s\n",
+                          "V", "E", "n²/log n", "arreglo", "mínimo",
+                          "emparejamiento", "radix", "mejor", "elegido");
+        for (int n = Math.min(N, 128); n <= N; n *= 2) {
+            for (double p : DENSIDADES) {
+                Grafica<Integer> grafica =
+                    GeneradorGraficas.erdosRenyi(n, p, random, enteros);
+                double arreglo = mide(grafica, n,
+                                      TipoMonticuloDijkstra.ARREGLO);
+                double minimo = mide(grafica, n,
+                                     TipoMonticuloDijkstra.MINIMO);
+                double emparejamiento =
+                    mide(grafica, n, TipoMonticuloDijkstra.EMPAREJAMIENTO);
+                /* Sin pesos enteros el montículo radix no se puede usar. */
+                double radix = enteros ?
+                    mide(grafica, n, TipoMonticuloDijkstra.RADIX) :
+                    Double.NaN;
+                double cruce = (double)n * n / (Math.log(n) / Math.log(2));
+                String mejor = "arreglo";
+                double t = arreglo;
+                if (minimo < t) {
+                    mejor = "mínimo";
+                    t = minimo;
+                }
+                if (emparejamiento < t) {
+                    mejor = "emparejamiento";
+                    t = emparejamiento;
+                }
+                if (enteros && radix < t)
+                    mejor = "radix";
+                System.out.printf("%9d %9d %12.0f %12.6f %12.6f %14.6f " +
+                                  "%12s %14s %14s\n",
+                                  n, grafica.getAristas(), cruce,
+                                  arreglo, minimo, emparejamiento,
+                                  enteros ? String.format("%.6f", radix) :
+                                  "-", mejor, nombre(grafica.tipoAutomatico()));
+            }
+        }
+    }
+
+    /* Regresa el nombre de un montículo como aparece en la tabla. */
+    private static String nombre(TipoMonticuloDijkstra tipo) {
+        switch (tipo) {
+        case ARREGLO: return "arreglo";
+        case MINIMO: return "mínimo";
+        case EMPAREJAMIENTO: return "emparejamiento";
+        case RADIX: return "radix";
+        default: return tipo.toString();
+        }
+    }
+
+    /* Regresa el mejor tiempo en segundos de calcular Dijkstra con el
+     * montículo recibido. */
+    private static double mide(Grafica<Integer> grafica, int n,
+                               TipoMonticuloDijkstra tipo) {
+        double mejor = Double.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long tiempoInicial = System.nanoTime();
+            grafica.dijkstra(0, n - 1, tipo);
+            double t = (System.nanoTime() - tiempoInicial) / 1000000000.0;
+            mejor = Math.min(mejor, t);
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,78 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+
+/**
+ * Compara los dispersores de {@link Dispersores} sobre llaves aleatorias de
+ * una longitud dada, reportando nanosegundos por llave y megabytes por
+ * segundo.
+ */
+public class BenchmarkDispersores {
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 3;
+    /* Número de llaves distintas. */
+    private static final int LLAVES = 1024;
+    /* Número aproximado de bytes a dispersar en cada medición. */
+    private static final long BYTES = 1L << 28;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkDispersores " +
+                           "LONGITUD");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int L = -1;
+        try {
+            L = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (L < 0 || L > (1 << 20))
+            uso();
+
+        Random random = new Random();
+        byte[][] llaves = new byte[LLAVES][L];
+        for (byte[] llave : llaves)
+            random.nextBytes(llave);
+        int rondas = (int)Math.max(1, BYTES / ((long)Math.max(L, 1) * LLAVES));
+
+        System.out.printf("%-10s %12s %12s\n", "dispersor", "ns/llave",
+                          "MB/s");
+        for (int r = 0; r < REPETICIONES; r++) {
+            mide("XOR", llaves, rondas, Dispersores::dispersaXOR);
+            mide("BJ", llaves, rondas, Dispersores::dispersaBJ);
+            mide("DJB", llaves, rondas, Dispersores::dispersaDJB);
+            mide("Murmur3", llaves, rondas, Dispersores::dispersaMurmur3);
+            mide("xxHash32", llaves, rondas, Dispersores::dispersaXXH32);
+            mide("xxHash64", llaves, rondas,
+                 k -> (int)Dispersores.dispersaXXH64(k));
+            mide("wyhash", llaves, rondas,
+                 k -> (int)Dispersores.dispersaWY(k));
+        }
+    }
+
+    /* Dispersa todas las llaves el número de rondas e imprime el tiempo por
+     * llave y los megabytes por segundo. */
+    private static void mide(String nombre, byte[][] llaves, int rondas,
+                             Dispersor<byte[]> dispersor) {
+        int h = 0;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rondas; r++)
+            for (byte[] llave : llaves)
+                h += dispersor.dispersa(llave);
+        long t = System.nanoTime() - t0;
+        long n = (long)rondas * llaves.length;
+        /* Se imprime algo que depende de h para que el ciclo no se elimine. */
+        System.out.printf("%-10s %12.1f %12.1f %s\n", nombre, (double)t / n,
+                          n * llaves[0].length * 1000.0 / t,
+                          h == 42 ? "*" : "");
+    }
+}
@@ -0,0 +1,85 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+
+/**
+ * Mide cómo escala {@link Grafica} conforme crecen el número de vértices y de
+ * aristas, usando las gráficas sintéticas de {@link GeneradorGraficas}.
+ */
+public class BenchmarkGrafica {
+
+    /* Interfaz para generar una gráfica de n vértices. */
+    @FunctionalInterface
+    private interface Generador {
+        public Grafica<Integer> genera(int n);
+    }
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkGrafica N");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int N = -1;
+        try {
+            N = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (N < 16)
+            uso();
+
+        Random random = new Random();
+
+        System.out.printf("%-16s %9s %9s %12s %12s %12s %12s\n",
+                          "gráfica", "V", "E", "construir",
+                          "bfs", "dijkstra", "esConexa");
+        for (int n = 16; n <= N; n *= 2) {
+            int lado = (int)Math.sqrt(n);
+            int escala = 31 - Integer.numberOfLeadingZeros(n);
+            mide("erdős-rényi", n,
+                 k -> GeneradorGraficas.erdosRenyi(k, 8.0 / k, random));
+            mide("rejilla", lado * lado,
+                 k -> GeneradorGraficas.rejilla(lado, lado));
+            mide("barabási-albert", n,
+                 k -> GeneradorGraficas.barabasiAlbert(k, 4, random));
+            mide("r-mat", 1 << escala,
+                 k -> GeneradorGraficas.rmat(escala, 8 * k,
+                                             0.57, 0.19, 0.19, random));
+        }
+    }
+
+    /* Mide las operaciones sobre una gráfica generada y las imprime. */
+    private static void mide(String nombre, int n, Generador generador) {
+        long tiempoInicial = System.nanoTime();
+        Grafica<Integer> grafica = generador.genera(n);
+        double construir = segundos(tiempoInicial);
+
+        tiempoInicial = System.nanoTime();
+        grafica.bfs(0, v -> {});
+        double bfs = segundos(tiempoInicial);
+
+        tiempoInicial = System.nanoTime();
+        grafica.dijkstra(0, n - 1);
+        double dijkstra = segundos(tiempoInicial);
+
+        tiempoInicial = System.nanoTime();
+        grafica.esConexa();
+        double esConexa = segundos(tiempoInicial);
+
+        System.out.printf("%-16s %9d %9d %12.6f %12.6f %12.6f %12.6f\n",
+                          nombre, grafica.getElementos(), grafica.getAristas(),
+                          construir, bfs, dijkstra, esConexa);
+    }
+
+    /* Regresa los segundos transcurridos desde el tiempo inicial. */
+    private static double segundos(long tiempoInicial) {
+        return (System.nanoTime() - tiempoInicial) / 1000000000.0;
+    }
+}
@@ -0,0 +1,98 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+
+/**
+ * Compara el rendimiento de {@link MonticuloDario} de aridades 2, 4 y 8 con
+ * {@link MonticuloMinimo}, eliminando el mínimo y reordenando elementos cuyo
+ * valor disminuye, sobre montículos de {@link ValorIndexable}.
+ */
+public class BenchmarkMonticuloDario {
+
+    /* Interfaz para construir un montículo a partir de una lista. */
+    @FunctionalInterface
+    private interface Constructor {
+        public MonticuloDijkstra<ValorIndexable<Integer>>
+            construye(Lista<ValorIndexable<Integer>> lista);
+    }
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 3;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkMonticuloDario N");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1)
+            uso();
+
+        int N = -1;
+        try {
+            N = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (N < 1024)
+            uso();
+
+        System.out.printf("%-10s %10s %16s %16s\n", "montículo", "n",
+                          "elimina (op/s)", "reordena (op/s)");
+        for (int n = 1024; n <= N; n *= 2) {
+            mide("mínimo", n,
+                 l -> new MonticuloMinimo<ValorIndexable<Integer>>(l));
+            for (int d : new int[] { 2, 4, 8 })
+                mide("dario-" + d, n,
+                     l -> new MonticuloDario<ValorIndexable<Integer>>(d, l));
+            if (n > N / 2)
+                break;
+        }
+    }
+
+    /* Mide la mejor tasa de eliminaciones y de reordenaciones de un montículo
+     * de n elementos, y las imprime. */
+    private static void mide(String nombre, int n, Constructor constructor) {
+        double elimina = 0, reordena = 0;
+        for (int r = 0; r < REPETICIONES; r++) {
+            Random random = new Random(r);
+
+            MonticuloDijkstra<ValorIndexable<Integer>> monticulo =
+                constructor.construye(valores(n, random));
+            long tiempoInicial = System.nanoTime();
+            while (!monticulo.esVacia())
+                monticulo.elimina();
+            double t = (System.nanoTime() - tiempoInicial) / 1000000000.0;
+            elimina = Math.max(elimina, n / t);
+
+            monticulo = constructor.construye(valores(n, random));
+            int[] indices = new int[n];
+            for (int i = 0; i < n; i++)
+                indices[i] = random.nextInt(n);
+            tiempoInicial = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                ValorIndexable<Integer> v = monticulo.get(indices[i]);
+                v.setValor(v.getValor() - 1.0);
+                monticulo.reordena(v);
+            }
+            t = (System.nanoTime() - tiempoInicial) / 1000000000.0;
+            reordena = Math.max(reordena, n / t);
+        }
+        System.out.printf("%-10s %10d %16.0f %16.0f\n",
+                          nombre, n, elimina, reordena);
+    }
+
+    /* Regresa una lista de n valores indexables con valores aleatorios. */
+    private static Lista<ValorIndexable<Integer>> valores(int n,
+                                                          Random random) {
+        Lista<ValorIndexable<Integer>> lista =
+            new Lista<ValorIndexable<Integer>>();
+        for (int i = 0; i < n; i++)
+            lista.agregaFinal(new ValorIndexable<Integer>(i,
+                                                          random.nextDouble()));
+        return lista;
+    }
+}
@@ -0,0 +1,106 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compara el rendimiento de {@link MulticolaPrioridad} con el de un {@link
+ * MonticuloMinimo} sincronizado conforme crece el número de hilos. Cada hilo
+ * alterna agregar un elemento con eliminar uno, sobre una cola previamente
+ * llena.
+ */
+public class BenchmarkMulticolaPrioridad {
+
+    /* Interfaz para las colas que se miden. */
+    private interface Cola {
+        public void agrega(ValorIndexable<Integer> elemento);
+        public ValorIndexable<Integer> elimina();
+    }
+
+    /* Número de elementos con que se llena la cola antes de medir. */
+    private static final int INICIALES = 1 << 16;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp practica11.jar " +
+                           "mx.unam.ciencias.edd.BenchmarkMulticolaPrioridad " +
+                           "HILOS OPERACIONES");
+        System.exit(1);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2)
+            uso();
+
+        int H = -1, M = -1;
+        try {
+            H = Integer.parseInt(args[0]);
+            M = Integer.parseInt(args[1]);
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        if (H < 1 || M < 1)
+            uso();
+
+        System.out.printf("%6s %18s %18s\n", "hilos",
+                          "sincronizado (op/s)", "multicola (op/s)");
+        for (int h = 1; h <= H; h *= 2) {
+            MonticuloMinimo<ValorIndexable<Integer>> monticulo =
+                new MonticuloMinimo<ValorIndexable<Integer>>();
+            double sincronizado = mide(h, M, new Cola() {
+                    @Override public void agrega(ValorIndexable<Integer> e) {
+                        synchronized (monticulo) {
+                            monticulo.agrega(e);
+                        }
+                    }
+                    @Override public ValorIndexable<Integer> elimina() {
+                        synchronized (monticulo) {
+                            return monticulo.esVacia() ?
+                                null : monticulo.elimina();
+                        }
+                    }
+                });
+            MulticolaPrioridad<ValorIndexable<Integer>> multicola =
+                new MulticolaPrioridad<ValorIndexable<Integer>>();
+            double multi = mide(h, M, new Cola() {
+                    @Override public void agrega(ValorIndexable<Integer> e) {
+                        multicola.agrega(e);
+                    }
+                    @Override public ValorIndexable<Integer> elimina() {
+                        return multicola.elimina();
+                    }
+                });
+            System.out.printf("%6d %18.0f %18.0f\n", h, sincronizado, multi);
+        }
+    }
+
+    /* Llena la cola y regresa las operaciones por segundo de h hilos que
+     * hacen m operaciones cada uno. */
+    private static double mide(int h, int m, Cola cola) {
+        Random random = new Random();
+        for (int i = 0; i < INICIALES; i++)
+            cola.agrega(new ValorIndexable<Integer>(i, random.nextDouble()));
+        Thread[] hilos = new Thread[h];
+        for (int i = 0; i < h; i++)
+            hilos[i] = new Thread(() -> {
+                    ThreadLocalRandom r = ThreadLocalRandom.current();
+                    for (int j = 0; j < m; j += 2) {
+                        cola.agrega(new ValorIndexable<Integer>(
+                                        j, r.nextDouble()));
+                        cola.elimina();
+                    }
+            });
+        long tiempoInicial = System.nanoTime();
+        for (Thread hilo : hilos)
+            hilo.start();
+        try {
+            for (Thread hilo : hilos)
+                hilo.join();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        double t = (System.nanoTime() - tiempoInicial) / 1000000000.0;
+        return (double)h * m / t;
+    }
+}
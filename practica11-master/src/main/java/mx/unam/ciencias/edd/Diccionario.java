@@ -3,11 +3,22 @@ package mx.unam.ciencias.edd;
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza el
- * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
- * de <em>valores</em>.
+ * <p>Clase para diccionarios (<em>hash tables</em>). Un diccionario generaliza
+ * el concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una
+ * colección de <em>valores</em>.</p>
+ *
+ * <p>Cuando la carga llega a {@link #MAXIMA_CARGA}, el diccionario crea un
+ * arreglo del doble de tamaño, pero no le pasa todas las entradas de una vez:
+ * cada operación que modifica el diccionario migra unos cuantos índices del
+ * arreglo anterior al nuevo, y mientras dura la migración las búsquedas y
+ * los iteradores consultan ambos arreglos. Así ninguna operación individual
+ * tarda tiempo proporcional al número de entradas, y las operaciones que
+ * sólo leen no modifican el diccionario.</p>
  */
 public class Diccionario<K, V> implements Iterable<V> {
 
@@ -18,58 +29,75 @@ public class Diccionario<K, V> implements Iterable<V> {
         public K llave;
         /* El valor. */
         public V valor;
+        /* La dispersión de la llave. */
+        public int dispersion;
 
         /* Construye una nueva entrada. */
-        public Entrada(K llave, V valor) {
+        public Entrada(K llave, V valor, int dispersion) {
             this.llave = llave;
             this.valor = valor;
+            this.dispersion = dispersion;
         }
     }
 
     /* Clase interna privada para iteradores. */
     private class Iterador {
 
+        /* El arreglo que estamos recorriendo. */
+        private Lista<Entrada>[] arreglo;
+        /* El arreglo que falta por recorrer, o null. */
+        private Lista<Entrada>[] pendiente;
         /* En qué lista estamos. */
         private int indice;
         /* Iterador auxiliar. */
         private Iterator<Entrada> iterador;
 
         /* Construye un nuevo iterador, auxiliándose de las listas del
-         * diccionario. */
+         * diccionario; si se está migrando, recorre primero el arreglo
+         * anterior y luego el actual. */
         public Iterador() {
-          Lista<Entrada> e = null;
-          for(int i = 0; i < entradas.length; i++){
-            if(entradas[i] != null){
-              indice = i;
-              e = entradas[i];
-              break;
+            if (anteriores != null) {
+                arreglo = anteriores;
+                pendiente = entradas;
+            } else {
+                arreglo = entradas;
             }
-           }
-          if(e != null)
-            this.iterador = e.iterator();
-          else
-            this.iterador = null;
+            indice = -1;
+            avanza();
         }
 
         /* Nos dice si hay una siguiente entrada. */
         public boolean hasNext() {
-          return (iterador != null);
+            return iterador != null;
         }
 
         /* Regresa la siguiente entrada. */
         public Entrada siguiente() {
-          Entrada e = iterador.next();
-          if(!iterador.hasNext()){
-              iterador = null;
-              for(int i = indice + 1; i < entradas.length; i++){
-                if(entradas[i] != null){
-                    indice = i;
-                    iterador = entradas[i].iterator();
-                    break;
+            if (iterador == null)
+                throw new NoSuchElementException();
+            Entrada e = iterador.next();
+            if (!iterador.hasNext())
+                avanza();
+            return e;
+        }
+
+        /* Avanza a la siguiente lista no vacía. */
+        private void avanza() {
+            iterador = null;
+            while (true) {
+                for (indice++; indice < arreglo.length; indice++) {
+                    if (arreglo[indice] != null &&
+                        arreglo[indice].getLongitud() > 0) {
+                        iterador = arreglo[indice].iterator();
+                        return;
+                    }
                 }
-              }
-          }
-          return e;
+                if (pendiente == null)
+                    return;
+                arreglo = pendiente;
+                pendiente = null;
+                indice = -1;
+            }
         }
     }
 
@@ -99,10 +127,19 @@ public class Diccionario<K, V> implements Iterable<V> {
     /* Capacidad mínima; decidida arbitrariamente a 2^6. */
     private static final int MINIMA_CAPACIDAD = 64;
 
+    /* Índices del arreglo anterior que migra cada operación. Con al menos
+     * dos por cada agregado, la migración termina antes de que el arreglo
+     * nuevo se llene. */
+    private static final int MIGRACION = 4;
+
     /* Dispersor. */
     private Dispersor<K> dispersor;
     /* Nuestro diccionario. */
     private Lista<Entrada>[] entradas;
+    /* El arreglo anterior mientras se migra, o null. */
+    private Lista<Entrada>[] anteriores;
+    /* El siguiente índice del arreglo anterior por migrar. */
+    private int migrado;
     /* Número de valores. */
     private int elementos;
 
@@ -150,13 +187,20 @@ public class Diccionario<K, V> implements Iterable<V> {
         this.dispersor = dispersor;
         if (capacidad < MINIMA_CAPACIDAD)
         	capacidad = MINIMA_CAPACIDAD;
+        entradas = nuevoArreglo(longitud(capacidad));
+        elementos = 0;
+    }
+
+    /* Regresa la longitud del arreglo para una capacidad: la menor potencia
+     * de 2 mayor o igual al doble de la capacidad. */
+    private static int longitud(int capacidad)
+    {
         int a = 1;
         while (a < capacidad*2)
         {
         	a*=2;
         }
-        entradas = nuevoArreglo(a);
-        elementos = 0;
+        return a;
     }
 
     /**
@@ -171,51 +215,111 @@ public class Diccionario<K, V> implements Iterable<V> {
     {
         if (llave == null || valor == null)
         throw new IllegalArgumentException();
-    	int indice = dispersor.dispersa(llave)&mascara();
-    	if (entradas[indice] == null)
-    	{
-    		Lista<Entrada> entrada = new Lista<>();
-    		entrada.agrega(new Entrada(llave,valor));
-    		entradas[indice] = entrada;
-    		elementos++;
-    	}
-    	else
-    	{
-    		boolean l = false;
-    		for (Entrada entrada: entradas[indice])
-    		{
-    			if (l)
-    				break;
-    			if (entrada.llave.equals(llave))
-    			{
-    				l = true;
-    				entrada.valor = valor;
-    			}
-    		}
-    		if (!l)
-    		{
-    			entradas[indice].agrega(new Entrada(llave,valor));
-    			elementos++;
-    		}
-    	}
-    	if (carga() >= MAXIMA_CARGA)
-    	{
-    		Lista<Entrada> entrada = new Lista<>();
-    		for (int i=0; i<entradas.length; i++)
-    		{
-    			if (entradas[i] != null)
-    			{
-    				for (Entrada ent: entradas[i])
-    					entrada.agrega(ent);
-    			}
-    		}
-    		entradas = nuevoArreglo(entradas.length*2);
-    		elementos = 0;
-    		for (Entrada entr: entrada)
-    		{
-    			agrega(entr.llave,entr.valor);
-    		}
-    	}
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Entrada entrada = busca(llave, dispersion);
+        if (entrada != null)
+        {
+            entrada.valor = valor;
+            return;
+        }
+        inserta(llave, valor, dispersion);
+    }
+
+    /**
+     * Agrega un valor al diccionario sólo si la llave no está en él.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @return el valor que ya estaba asociado a la llave, o
+     *         <code>null</code> si se agregó el valor recibido.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V agregaSiAusente(K llave, V valor)
+    {
+        if (llave == null || valor == null)
+        throw new IllegalArgumentException();
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Entrada entrada = busca(llave, dispersion);
+        if (entrada != null)
+            return entrada.valor;
+        inserta(llave, valor, dispersion);
+        return null;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está en el
+     * diccionario, calcula su valor con la función y lo agrega.
+     * @param llave la llave para buscar el valor.
+     * @param funcion la función que calcula el valor a partir de la llave.
+     * @return el valor asociado a la llave, o <code>null</code> si no estaba
+     *         y la función regresó <code>null</code>, en cuyo caso no se
+     *         agrega nada.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V computeIfAbsent(K llave, Function<? super K, ? extends V> funcion)
+    {
+        if (llave == null || funcion == null)
+        throw new IllegalArgumentException();
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Entrada entrada = busca(llave, dispersion);
+        if (entrada != null)
+            return entrada.valor;
+        V valor = funcion.apply(llave);
+        if (valor != null)
+            inserta(llave, valor, dispersion);
+        return valor;
+    }
+
+    /**
+     * Combina un valor con el asociado a la llave. Si la llave no está en el
+     * diccionario, se agrega con el valor recibido; si está, su valor se
+     * reemplaza por el que regresa la función con el valor anterior y el
+     * recibido, y si la función regresa <code>null</code> la llave se
+     * elimina.
+     * @param llave la llave del valor a combinar.
+     * @param valor el valor a combinar.
+     * @param funcion la función que combina el valor anterior con el nuevo.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si se
+     *         eliminó.
+     * @throws IllegalArgumentException si la llave, el valor o la función
+     *         son nulos.
+     */
+    public V merge(K llave, V valor,
+                   BiFunction<? super V, ? super V, ? extends V> funcion)
+    {
+        if (llave == null || valor == null || funcion == null)
+        throw new IllegalArgumentException();
+        migra();
+        int dispersion = dispersor.dispersa(llave);
+        Entrada entrada = busca(llave, dispersion);
+        if (entrada == null)
+        {
+            inserta(llave, valor, dispersion);
+            return valor;
+        }
+        V nuevo = funcion.apply(entrada.valor, valor);
+        if (nuevo == null)
+            quita(llave, dispersion);
+        else
+            entrada.valor = nuevo;
+        return nuevo;
+    }
+
+    /* Agrega una llave que no está en el diccionario, y empieza a migrar a
+     * un arreglo más grande si es necesario. */
+    private void inserta(K llave, V valor, int dispersion)
+    {
+        mete(new Entrada(llave, valor, dispersion));
+        elementos++;
+        if (carga() >= MAXIMA_CARGA)
+        {
+            terminaMigracion();
+            anteriores = entradas;
+            entradas = nuevoArreglo(entradas.length*2);
+            migrado = 0;
+        }
     }
 
     private int mascara()
@@ -223,6 +327,60 @@ public class Diccionario<K, V> implements Iterable<V> {
     	return (entradas.length-1);
     }
 
+    /* Mete una entrada en el índice que le corresponde del arreglo actual. */
+    private void mete(Entrada entrada)
+    {
+        int indice = entrada.dispersion & mascara();
+        if (entradas[indice] == null)
+            entradas[indice] = new Lista<Entrada>();
+        entradas[indice].agrega(entrada);
+    }
+
+    /* Regresa la entrada con la llave, o null si no está. */
+    private Entrada busca(K llave, int dispersion)
+    {
+        if (anteriores != null)
+        {
+            Lista<Entrada> l = anteriores[dispersion & (anteriores.length-1)];
+            if (l != null)
+                for (Entrada entrada: l)
+                    if (entrada.llave.equals(llave))
+                        return entrada;
+        }
+        Lista<Entrada> l = entradas[dispersion & mascara()];
+        if (l != null)
+            for (Entrada entrada: l)
+                if (entrada.llave.equals(llave))
+                    return entrada;
+        return null;
+    }
+
+    /* Migra unos cuantos índices del arreglo anterior al actual. */
+    private void migra()
+    {
+        if (anteriores == null)
+            return;
+        for (int i = 0; i < MIGRACION && migrado < anteriores.length; i++)
+        {
+            if (anteriores[migrado] != null)
+            {
+                for (Entrada entrada: anteriores[migrado])
+                    mete(entrada);
+                anteriores[migrado] = null;
+            }
+            migrado++;
+        }
+        if (migrado == anteriores.length)
+            anteriores = null;
+    }
+
+    /* Migra todo lo que quede del arreglo anterior. */
+    private void terminaMigracion()
+    {
+        while (anteriores != null)
+            migra();
+    }
+
     /**
      * Regresa el valor del diccionario asociado a la llave proporcionada.
      * @param llave la llave para buscar el valor.
@@ -234,13 +392,36 @@ public class Diccionario<K, V> implements Iterable<V> {
     {
         if (llave == null)
         throw new IllegalArgumentException();
-    	if (!contiene(llave))
-    	throw new NoSuchElementException();
-    	int indice = dispersor.dispersa(llave)&mascara();
-    	for (Entrada entrada: entradas[indice])
-    		if (entrada.llave.equals(llave))
-    			return entrada.valor;
-    	throw new NoSuchElementException();
+        Entrada entrada = busca(llave, dispersor.dispersa(llave));
+        if (entrada == null)
+        throw new NoSuchElementException();
+        return entrada.valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o un valor por omisión si la
+     * llave no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>omision</code>.
+     */
+    public V getOrDefault(K llave, V omision)
+    {
+        if (llave == null)
+            return omision;
+        Entrada entrada = busca(llave, dispersor.dispersa(llave));
+        return entrada == null ? omision : entrada.valor;
+    }
+
+    /**
+     * Busca el valor asociado a la llave.
+     * @param llave la llave para buscar el valor.
+     * @return un {@link Optional} con el valor correspondiente a la llave, o
+     *         vacío si la llave no está en el diccionario.
+     */
+    public Optional<V> buscaOpcional(K llave)
+    {
+        return Optional.ofNullable(getOrDefault(llave, null));
     }
 
     /**
@@ -253,13 +434,7 @@ public class Diccionario<K, V> implements Iterable<V> {
     {
         if (llave == null)
         	return false;
-        int indice = dispersor.dispersa(llave)&mascara();
-        if (entradas[indice] == null)
-    	    return false;
-    	for (Entrada entrada: entradas[indice])
-    		if (entrada.llave.equals(llave))
-    			return true;
-    	return false;
+        return busca(llave, dispersor.dispersa(llave)) != null;
     }
 
     /**
@@ -273,20 +448,39 @@ public class Diccionario<K, V> implements Iterable<V> {
     {
         if (llave == null)
         throw new IllegalArgumentException();
-    	if (!contiene(llave))
-    	throw new NoSuchElementException();
-    	int indice = dispersor.dispersa(llave)&mascara();
-    	for (Entrada entrada: entradas[indice])
-    	{
-    		if (entrada.llave.equals(llave))
-    		{
-    			entradas[indice].elimina(entrada);
-    			elementos--;
-    			break;
-    		}
-    	}
-    	if (entradas[indice].getLongitud() == 0)
-    		entradas[indice] = null;
+        migra();
+        if (!quita(llave, dispersor.dispersa(llave)))
+        throw new NoSuchElementException();
+    }
+
+    /* Quita la entrada con la llave y regresa true, o regresa false si no
+     * está; las listas que quedan vacías se quitan de su arreglo. */
+    private boolean quita(K llave, int dispersion)
+    {
+        if (anteriores != null &&
+            quita(llave, anteriores, dispersion & (anteriores.length-1)))
+            return true;
+        return quita(llave, entradas, dispersion & mascara());
+    }
+
+    /* Quita la entrada con la llave del índice del arreglo. */
+    private boolean quita(K llave, Lista<Entrada>[] arreglo, int indice)
+    {
+        Lista<Entrada> lista = arreglo[indice];
+        if (lista == null)
+            return false;
+        for (Entrada entrada: lista)
+        {
+            if (entrada.llave.equals(llave))
+            {
+                lista.elimina(entrada);
+                elementos--;
+                if (lista.getLongitud() == 0)
+                    arreglo[indice] = null;
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -294,11 +488,20 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones()
+    {
+        int c = colisiones(entradas);
+        if (anteriores != null)
+            c += colisiones(anteriores);
+        return c;
+    }
+
+    /* Regresa cuántas colisiones hay en un arreglo. */
+    private int colisiones(Lista<Entrada>[] arreglo)
     {
         int c = 0;
-        for (int i=0; i<entradas.length; i++) 
-        	if (entradas[i] != null)
-        		c += entradas[i].getLongitud()-1;
+        for (int i=0; i<arreglo.length; i++) 
+        	if (arreglo[i] != null && arreglo[i].getLongitud() > 0)
+        		c += arreglo[i].getLongitud()-1;
         return c;
     }
 
@@ -308,12 +511,21 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima()
+    {
+        int c = colisionMaxima(entradas);
+        if (anteriores != null)
+            c = Math.max(c, colisionMaxima(anteriores));
+        return c;
+    }
+
+    /* Regresa el máximo número de colisiones de un índice de un arreglo. */
+    private int colisionMaxima(Lista<Entrada>[] arreglo)
     {
         int c = 0;
-        for (int i=0; i<entradas.length; i++)
-        	if (entradas[i] != null) 
-        		if (entradas[i].getLongitud()-1>c)
-        				c = entradas[i].getLongitud()-1;
+        for (int i=0; i<arreglo.length; i++)
+        	if (arreglo[i] != null) 
+        		if (arreglo[i].getLongitud()-1>c)
+        				c = arreglo[i].getLongitud()-1;
         return c;	
     }
 
@@ -345,11 +557,13 @@ public class Diccionario<K, V> implements Iterable<V> {
     }
 
     /**
-     * Limpia el diccionario de elementos, dejándolo vacío.
+     * Limpia el diccionario de elementos, dejándolo vacío y con la capacidad
+     * mínima.
      */
     public void limpia()
     {
-        nuevoArreglo(MINIMA_CAPACIDAD);
+        entradas = nuevoArreglo(longitud(MINIMA_CAPACIDAD));
+        anteriores = null;
         elementos = 0;
     }
 
@@ -361,16 +575,12 @@ public class Diccionario<K, V> implements Iterable<V> {
         String s = "{";
         if (!esVacia())
             s+=" ";
-        for (int i=0; i<entradas.length; i++)
+        Iterador iterador = new Iterador();
+        while (iterador.hasNext())
         {
-            if (entradas[i] != null)
-            {
-                for (Entrada entrada: entradas[i])
-                {
-                    s += "'" + entrada.llave + "'" + ": ";
-                    s += "'" + entrada.valor + "'" + ", ";
-                }
-            }
+            Entrada entrada = iterador.siguiente();
+            s += "'" + entrada.llave + "'" + ": ";
+            s += "'" + entrada.valor + "'" + ", ";
         }
         s += "}";
         return s;
@@ -390,16 +600,13 @@ public class Diccionario<K, V> implements Iterable<V> {
             (Diccionario<K, V>)o;
         if (getElementos() != d.getElementos())
             return false;
-        for (int i=0; i<entradas.length; i++)
+        Iterador iterador = new Iterador();
+        while (iterador.hasNext())
         {
-            if (entradas[i] != null)
-            {
-                for (Entrada entrada: entradas[i])
-                {
-                    if (!d.contiene(entrada.llave) || !d.get(entrada.llave).equals(get(entrada.llave)))
-                        return false;
-                }
-            }
+            Entrada entrada = iterador.siguiente();
+            if (!d.contiene(entrada.llave) ||
+                !d.get(entrada.llave).equals(entrada.valor))
+                return false;
         }
         return true;
     }
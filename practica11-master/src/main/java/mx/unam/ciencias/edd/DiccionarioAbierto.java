@@ -0,0 +1,431 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios con direccionamiento abierto.</p>
+ *
+ * <p>A diferencia de {@link Diccionario}, que guarda cada entrada en la lista
+ * de su índice, este diccionario guarda las llaves y los valores directamente
+ * en dos arreglos. Si el índice de una llave está ocupado, la llave se guarda
+ * en el siguiente lugar libre (sondeo lineal), siguiendo la regla de Robin
+ * Hood: al insertar, una llave que está más lejos de su índice le quita el
+ * lugar a una que está más cerca, lo que mantiene parejas las distancias y
+ * permite detener una búsqueda fallida en cuanto se encuentra una llave más
+ * cercana a su índice que la buscada. Al eliminar, las llaves siguientes se
+ * recorren un lugar hacia atrás, así que no hacen falta lápidas.</p>
+ *
+ * <p>No se crea ningún objeto por entrada, y una búsqueda recorre posiciones
+ * contiguas de los arreglos.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El índice de la siguiente entrada. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -1;
+            avanza();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa el índice de la siguiente entrada. */
+        public int siguiente() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException();
+            int i = indice;
+            avanza();
+            return i;
+        }
+
+        /* Avanza a la siguiente posición ocupada. */
+        private void avanza() {
+            do {
+                indice++;
+            } while (indice < llaves.length && distancias[indice] == 0);
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return llaves[siguiente()];
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return valores[siguiente()];
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. El sondeo de Robin Hood
+     *  mantiene cortas las búsquedas con cargas más altas que el
+     *  encadenamiento. */
+    public static final double MAXIMA_CARGA = 0.85;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Las llaves. */
+    private K[] llaves;
+    /* Los valores. */
+    private V[] valores;
+    /* La distancia de cada llave a su índice, más uno; 0 si está libre. */
+    private int[] distancias;
+    /* Corrimiento para reducir una dispersión a un índice. */
+    private int corrimiento;
+    /* Número de valores. */
+    private int elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private K[] nuevoArregloLlaves(int n) {
+        return (K[])(new Object[n]);
+    }
+
+    /* Truco para crear arreglos genéricos. */
+    @SuppressWarnings("unchecked") private V[] nuevoArregloValores(int n) {
+        return (V[])(new Object[n]);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y dispersor
+     * predeterminados.
+     */
+    public DiccionarioAbierto() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un dispersor predeterminado.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada, y un
+     * dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+        this.dispersor = dispersor;
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int a = 1;
+        while (a < capacidad * 2)
+            a *= 2;
+        inicializa(a);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave);
+        if (i != -1) {
+            valores[i] = valor;
+            return;
+        }
+        if (elementos + 1 >= MAXIMA_CARGA * llaves.length)
+            crece();
+        inserta(llave, valor);
+        elementos++;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        return valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return llave != null && busca(llave) != -1;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * llaves siguientes que no están en su índice se recorren un lugar hacia
+     * atrás.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave);
+        if (i == -1)
+            throw new NoSuchElementException();
+        int mascara = llaves.length - 1;
+        int j = (i + 1) & mascara;
+        while (distancias[j] > 1) {
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            distancias[i] = distancias[j] - 1;
+            i = j;
+            j = (j + 1) & mascara;
+        }
+        llaves[i] = null;
+        valores[i] = null;
+        distancias[i] = 0;
+        elementos--;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario; esto es, cuántas
+     * llaves no están en su índice.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int c = 0;
+        for (int i = 0; i < distancias.length; i++)
+            if (distancias[i] > 1)
+                c++;
+        return c;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario; esto es, la máxima distancia de una llave a su
+     * índice.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int c = 0;
+        for (int i = 0; i < distancias.length; i++)
+            if (distancias[i] - 1 > c)
+                c = distancias[i] - 1;
+        return c;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        StringBuilder s = new StringBuilder("{");
+        if (!esVacia())
+            s.append(" ");
+        for (int i = 0; i < llaves.length; i++)
+            if (distancias[i] != 0)
+                s.append("'").append(llaves[i]).append("': '")
+                    .append(valores[i]).append("', ");
+        s.append("}");
+        return s.toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioAbierto<K, V> d =
+            (DiccionarioAbierto<K, V>)o;
+        if (elementos != d.elementos)
+            return false;
+        for (int i = 0; i < llaves.length; i++) {
+            if (distancias[i] == 0)
+                continue;
+            int j = d.busca(llaves[i]);
+            if (j == -1 || !d.valores[j].equals(valores[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un código de dispersión para el diccionario, consistente con
+     * {@link #equals}: la suma de <code>llave.hashCode() ^
+     * valor.hashCode()</code> de todas las entradas, que no depende del
+     * orden en que estén guardadas.
+     * @return un código de dispersión para el diccionario.
+     */
+    @Override public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (distancias[i] != 0)
+                h += llaves[i].hashCode() ^ valores[i].hashCode();
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+
+    /* Crea arreglos vacíos de la capacidad recibida, que es potencia de 2. */
+    private void inicializa(int capacidad) {
+        llaves = nuevoArregloLlaves(capacidad);
+        valores = nuevoArregloValores(capacidad);
+        distancias = new int[capacidad];
+        corrimiento = Integer.numberOfLeadingZeros(capacidad) + 1;
+        elementos = 0;
+    }
+
+    /* Regresa el índice de una llave. La dispersión se mezcla multiplicándola
+     * por la razón áurea, porque el sondeo lineal es sensible a dispersiones
+     * que sólo varían en los bits altos; el índice son los bits más altos del
+     * producto. */
+    private int indice(K llave) {
+        return (dispersor.dispersa(llave) * 0x9E3779B9) >>> corrimiento;
+    }
+
+    /* Regresa la posición de la llave, o -1 si no está. La búsqueda se
+     * detiene en cuanto encuentra un lugar libre o una llave más cercana a su
+     * índice que la buscada. */
+    private int busca(K llave) {
+        int mascara = llaves.length - 1;
+        int i = indice(llave);
+        for (int d = 1; distancias[i] >= d; d++) {
+            if (distancias[i] == d && llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /* Inserta una llave que no está en el diccionario. */
+    private void inserta(K llave, V valor) {
+        int mascara = llaves.length - 1;
+        int i = indice(llave);
+        int d = 1;
+        while (distancias[i] != 0) {
+            if (distancias[i] < d) {
+                K k = llaves[i];
+                V v = valores[i];
+                int e = distancias[i];
+                llaves[i] = llave;
+                valores[i] = valor;
+                distancias[i] = d;
+                llave = k;
+                valor = v;
+                d = e;
+            }
+            i = (i + 1) & mascara;
+            d++;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        distancias[i] = d;
+    }
+
+    /* Duplica la capacidad del diccionario, reinsertando sus entradas. */
+    private void crece() {
+        K[] ll = llaves;
+        V[] vv = valores;
+        int[] dd = distancias;
+        int n = elementos;
+        inicializa(ll.length * 2);
+        for (int i = 0; i < ll.length; i++)
+            if (dd[i] != 0)
+                inserta(ll[i], vv[i]);
+        elementos = n;
+    }
+}
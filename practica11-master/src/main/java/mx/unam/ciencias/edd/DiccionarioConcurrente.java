@@ -0,0 +1,665 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * <p>Clase para diccionarios concurrentes.</p>
+ *
+ * <p>El diccionario se divide en segmentos; cada uno es una tabla con
+ * encadenamiento independiente, con su propio candado, que crece por su
+ * cuenta. Las escrituras toman sólo el candado del segmento de la llave, así
+ * que hilos que escriben en segmentos distintos no compiten. Las lecturas no
+ * toman ningún candado: los nodos de una lista nunca cambian de llave ni de
+ * siguiente nodo, así que un hilo que lee siempre ve una lista consistente.
+ * Para eliminar se copian los nodos anteriores al eliminado, y para crecer se
+ * copia la tabla completa del segmento antes de publicarla.</p>
+ *
+ * <p>Las operaciones que consultan todo el diccionario, como {@link
+ * #getElementos}, los iteradores o {@link #toString}, no toman los candados y
+ * pueden no reflejar las escrituras que ocurren mientras se ejecutan.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase interna privada para nodos. */
+    private class Nodo {
+
+        /* La llave. */
+        public final K llave;
+        /* La dispersión de la llave. */
+        public final int dispersion;
+        /* El valor. */
+        public volatile V valor;
+        /* El siguiente nodo. */
+        public final Nodo siguiente;
+
+        /* Construye un nuevo nodo. */
+        public Nodo(K llave, int dispersion, V valor, Nodo siguiente) {
+            this.llave = llave;
+            this.dispersion = dispersion;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+    }
+
+    /* Clase interna privada para segmentos; cada uno tiene su candado, que
+     * sólo se toma para escribir. */
+    private class Segmento {
+
+        /* El candado del segmento. */
+        public final ReentrantLock candado;
+        /* La tabla; se reemplaza completa al crecer. */
+        public volatile AtomicReferenceArray<Nodo> tabla;
+        /* Número de valores en el segmento. */
+        public volatile int elementos;
+
+        /* Construye un segmento vacío. */
+        public Segmento(int capacidad) {
+            candado = new ReentrantLock();
+            tabla = new AtomicReferenceArray<Nodo>(capacidad);
+        }
+
+        /* Regresa el nodo con la llave, o null si no está. No necesita el
+         * candado. */
+        public Nodo busca(K llave, int dispersion) {
+            AtomicReferenceArray<Nodo> t = tabla;
+            Nodo n = t.get(dispersion & (t.length() - 1));
+            for (; n != null; n = n.siguiente)
+                if (n.dispersion == dispersion && n.llave.equals(llave))
+                    return n;
+            return null;
+        }
+
+        /* Agrega una llave que no está en el segmento. Se llama con el
+         * candado. */
+        public void inserta(K llave, int dispersion, V valor) {
+            AtomicReferenceArray<Nodo> t = tabla;
+            int i = dispersion & (t.length() - 1);
+            t.set(i, new Nodo(llave, dispersion, valor, t.get(i)));
+            elementos++;
+            if ((double)elementos / t.length() >= MAXIMA_CARGA)
+                crece();
+        }
+
+        /* Quita un nodo del segmento, copiando los que lo preceden en su
+         * lista. Se llama con el candado. */
+        public void quita(Nodo nodo) {
+            AtomicReferenceArray<Nodo> t = tabla;
+            int i = nodo.dispersion & (t.length() - 1);
+            Nodo cabeza = nodo.siguiente;
+            for (Nodo n = t.get(i); n != nodo; n = n.siguiente)
+                cabeza = new Nodo(n.llave, n.dispersion, n.valor, cabeza);
+            t.set(i, cabeza);
+            elementos--;
+        }
+
+        /* Copia los nodos a una tabla del doble de tamaño y la publica. Se
+         * llama con el candado. */
+        private void crece() {
+            AtomicReferenceArray<Nodo> t = tabla;
+            AtomicReferenceArray<Nodo> nueva =
+                new AtomicReferenceArray<Nodo>(t.length() * 2);
+            int mascara = nueva.length() - 1;
+            for (int i = 0; i < t.length(); i++) {
+                for (Nodo n = t.get(i); n != null; n = n.siguiente) {
+                    int j = n.dispersion & mascara;
+                    nueva.set(j, new Nodo(n.llave, n.dispersion, n.valor,
+                                          nueva.get(j)));
+                }
+            }
+            tabla = nueva;
+        }
+
+        /* Vacía el segmento. */
+        public void limpia() {
+            candado.lock();
+            try {
+                tabla = new AtomicReferenceArray<Nodo>(tabla.length());
+                elementos = 0;
+            } finally {
+                candado.unlock();
+            }
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El índice del segmento actual. */
+        private int segmento;
+        /* La tabla del segmento actual. */
+        private AtomicReferenceArray<Nodo> tabla;
+        /* El índice de la siguiente lista en la tabla. */
+        private int indice;
+        /* El siguiente nodo. */
+        private Nodo siguiente;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            segmento = -1;
+            avanza();
+        }
+
+        /* Nos dice si hay un siguiente nodo. */
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa el siguiente nodo. */
+        public Nodo siguiente() {
+            if (siguiente == null)
+                throw new NoSuchElementException();
+            Nodo n = siguiente;
+            siguiente = n.siguiente;
+            if (siguiente == null)
+                avanza();
+            return n;
+        }
+
+        /* Avanza a la siguiente lista no vacía. */
+        private void avanza() {
+            while (siguiente == null) {
+                if (tabla == null || indice == tabla.length()) {
+                    if (++segmento == segmentos.length)
+                        return;
+                    tabla = segmentos[segmento].tabla;
+                    indice = 0;
+                } else {
+                    siguiente = tabla.get(indice++);
+                }
+            }
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<K> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public K next() {
+            return siguiente().llave;
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<V> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public V next() {
+            return siguiente().valor;
+        }
+    }
+
+    /** Máxima carga permitida en cada segmento. */
+    public static final double MAXIMA_CARGA = 0.72;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Número de segmentos por omisión. */
+    private static final int SEGMENTOS = 16;
+
+    /* Dispersor. */
+    private Dispersor<K> dispersor;
+    /* Los segmentos. */
+    private final Segmento[] segmentos;
+
+    /* Truco para crear un arreglo genérico. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Segmento[] nuevoArreglo(int n) {
+        return (Segmento[])Array.newInstance(Segmento.class, n);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, número de segmentos
+     * y dispersor predeterminados.
+     */
+    public DiccionarioConcurrente() {
+        this(MINIMA_CAPACIDAD, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial definida por el
+     * usuario, y un número de segmentos y dispersor predeterminados.
+     * @param capacidad la capacidad a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad) {
+        this(capacidad, (K llave) -> llave.hashCode());
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y número de
+     * segmentos predeterminados, y un dispersor definido por el usuario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(Dispersor<K> dispersor) {
+        this(MINIMA_CAPACIDAD, dispersor);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial y un método de
+     * dispersor definidos por el usuario, y un número de segmentos
+     * predeterminado.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor) {
+        this(capacidad, dispersor, SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario con una capacidad inicial, un método de
+     * dispersor y un número de segmentos definidos por el usuario. El número
+     * de segmentos se redondea a una potencia de dos, y es el número de hilos
+     * que pueden escribir al mismo tiempo sin competir.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @param dispersor el dispersor a utilizar.
+     * @param segmentos el número de segmentos.
+     * @throws IllegalArgumentException si el número de segmentos no está
+     *         entre 1 y 2<sup>16</sup>.
+     */
+    public DiccionarioConcurrente(int capacidad, Dispersor<K> dispersor,
+                                  int segmentos) {
+        if (segmentos < 1 || segmentos > (1 << 16))
+            throw new IllegalArgumentException();
+        this.dispersor = dispersor;
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        int s = 1;
+        while (s < segmentos)
+            s *= 2;
+        int c = 2;
+        while (c * s < capacidad * 2)
+            c *= 2;
+        this.segmentos = nuevoArreglo(s);
+        for (int i = 0; i < s; i++)
+            this.segmentos[i] = new Segmento(c);
+    }
+
+    /* Regresa el segmento de una dispersión. Los bits de en medio del
+     * producto dependen de todos los de la dispersión, y no se confunden con
+     * los bits bajos que escogen el índice dentro del segmento. */
+    private Segmento segmento(int dispersion) {
+        int i = ((dispersion * 0x9E3779B9) >>> 16) & (segmentos.length - 1);
+        return segmentos[i];
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya había sido utilizada antes para agregar un valor, el
+     * diccionario reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Segmento segmento = segmento(dispersion);
+        segmento.candado.lock();
+        try {
+            Nodo nodo = segmento.busca(llave, dispersion);
+            if (nodo != null)
+                nodo.valor = valor;
+            else
+                segmento.inserta(llave, dispersion, valor);
+        } finally {
+            segmento.candado.unlock();
+        }
+    }
+
+    /**
+     * Agrega un valor al diccionario sólo si la llave no está en él, de
+     * manera atómica.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @return el valor que ya estaba asociado a la llave, o
+     *         <code>null</code> si se agregó el valor recibido.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public V agregaSiAusente(K llave, V valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Segmento segmento = segmento(dispersion);
+        Nodo nodo = segmento.busca(llave, dispersion);
+        if (nodo != null)
+            return nodo.valor;
+        segmento.candado.lock();
+        try {
+            nodo = segmento.busca(llave, dispersion);
+            if (nodo != null)
+                return nodo.valor;
+            segmento.inserta(llave, dispersion, valor);
+            return null;
+        } finally {
+            segmento.candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor asociado a la llave; si la llave no está en el
+     * diccionario, calcula su valor con la función y lo agrega, de manera
+     * atómica. La función se llama con el candado del segmento de la llave,
+     * así que debe ser breve y no debe modificar el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param funcion la función que calcula el valor a partir de la llave.
+     * @return el valor asociado a la llave, o <code>null</code> si no estaba
+     *         y la función regresó <code>null</code>, en cuyo caso no se
+     *         agrega nada.
+     * @throws IllegalArgumentException si la llave o la función son nulas.
+     */
+    public V computeIfAbsent(K llave,
+                             Function<? super K, ? extends V> funcion) {
+        if (llave == null || funcion == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Segmento segmento = segmento(dispersion);
+        Nodo nodo = segmento.busca(llave, dispersion);
+        if (nodo != null)
+            return nodo.valor;
+        segmento.candado.lock();
+        try {
+            nodo = segmento.busca(llave, dispersion);
+            if (nodo != null)
+                return nodo.valor;
+            V valor = funcion.apply(llave);
+            if (valor != null)
+                segmento.inserta(llave, dispersion, valor);
+            return valor;
+        } finally {
+            segmento.candado.unlock();
+        }
+    }
+
+    /**
+     * Combina un valor con el asociado a la llave, de manera atómica. Si la
+     * llave no está en el diccionario, se agrega con el valor recibido; si
+     * está, su valor se reemplaza por el que regresa la función con el valor
+     * anterior y el recibido, y si la función regresa <code>null</code> la
+     * llave se elimina. La función se llama con el candado del segmento de la
+     * llave, así que debe ser breve y no debe modificar el diccionario.
+     * @param llave la llave del valor a combinar.
+     * @param valor el valor a combinar.
+     * @param funcion la función que combina el valor anterior con el nuevo.
+     * @return el nuevo valor asociado a la llave, o <code>null</code> si se
+     *         eliminó.
+     * @throws IllegalArgumentException si la llave, el valor o la función
+     *         son nulos.
+     */
+    public V merge(K llave, V valor,
+                   BiFunction<? super V, ? super V, ? extends V> funcion) {
+        if (llave == null || valor == null || funcion == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Segmento segmento = segmento(dispersion);
+        segmento.candado.lock();
+        try {
+            Nodo nodo = segmento.busca(llave, dispersion);
+            if (nodo == null) {
+                segmento.inserta(llave, dispersion, valor);
+                return valor;
+            }
+            V nuevo = funcion.apply(nodo.valor, valor);
+            if (nuevo == null)
+                segmento.quita(nodo);
+            else
+                nodo.valor = nuevo;
+            return nuevo;
+        } finally {
+            segmento.candado.unlock();
+        }
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public V get(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Nodo nodo = segmento(dispersion).busca(llave, dispersion);
+        if (nodo == null)
+            throw new NoSuchElementException();
+        return nodo.valor;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o un valor por omisión si la
+     * llave no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>omision</code>.
+     */
+    public V getOrDefault(K llave, V omision) {
+        if (llave == null)
+            return omision;
+        int dispersion = dispersor.dispersa(llave);
+        Nodo nodo = segmento(dispersion).busca(llave, dispersion);
+        return nodo == null ? omision : nodo.valor;
+    }
+
+    /**
+     * Busca el valor asociado a la llave.
+     * @param llave la llave para buscar el valor.
+     * @return un {@link Optional} con el valor correspondiente a la llave, o
+     *         vacío si la llave no está en el diccionario.
+     */
+    public Optional<V> buscaOpcional(K llave) {
+        return Optional.ofNullable(getOrDefault(llave, null));
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        if (llave == null)
+            return false;
+        int dispersion = dispersor.dispersa(llave);
+        return segmento(dispersion).busca(llave, dispersion) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        Segmento segmento = segmento(dispersion);
+        segmento.candado.lock();
+        try {
+            Nodo nodo = segmento.busca(llave, dispersion);
+            if (nodo == null)
+                throw new NoSuchElementException();
+            segmento.quita(nodo);
+        } finally {
+            segmento.candado.unlock();
+        }
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int c = 0;
+        for (Segmento segmento : segmentos) {
+            AtomicReferenceArray<Nodo> t = segmento.tabla;
+            for (int i = 0; i < t.length(); i++) {
+                int l = longitud(t.get(i));
+                if (l > 1)
+                    c += l - 1;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int c = 0;
+        for (Segmento segmento : segmentos) {
+            AtomicReferenceArray<Nodo> t = segmento.tabla;
+            for (int i = 0; i < t.length(); i++)
+                c = Math.max(c, longitud(t.get(i)) - 1);
+        }
+        return c;
+    }
+
+    /* Regresa la longitud de una lista de nodos. */
+    private int longitud(Nodo nodo) {
+        int l = 0;
+        for (; nodo != null; nodo = nodo.siguiente)
+            l++;
+        return l;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        long capacidad = 0;
+        for (Segmento segmento : segmentos)
+            capacidad += segmento.tabla.length();
+        return (double)getElementos() / capacidad;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        int n = 0;
+        for (Segmento segmento : segmentos)
+            n += segmento.elementos;
+        return n;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        for (Segmento segmento : segmentos)
+            if (segmento.elementos != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa el número de segmentos del diccionario.
+     * @return el número de segmentos del diccionario.
+     */
+    public int getSegmentos() {
+        return segmentos.length;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        for (Segmento segmento : segmentos)
+            segmento.limpia();
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        Iterador iterador = new Iterador();
+        if (iterador.hasNext())
+            sb.append(" ");
+        while (iterador.hasNext()) {
+            Nodo nodo = iterador.siguiente();
+            sb.append("'").append(nodo.llave).append("': '")
+                .append(nodo.valor).append("', ");
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioConcurrente, y tiene las mismas llaves asociadas a
+     *         los mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        @SuppressWarnings("unchecked") DiccionarioConcurrente<K, V> d =
+            (DiccionarioConcurrente<K, V>)o;
+        if (getElementos() != d.getElementos())
+            return false;
+        Iterador iterador = new Iterador();
+        while (iterador.hasNext()) {
+            Nodo nodo = iterador.siguiente();
+            V valor = d.getOrDefault(nodo.llave, null);
+            if (valor == null || !valor.equals(nodo.valor))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un código de dispersión para el diccionario, consistente con
+     * {@link #equals}: la suma de <code>llave.hashCode() ^
+     * valor.hashCode()</code> de todas las entradas. Como el iterador, no
+     * toma los candados.
+     * @return un código de dispersión para el diccionario.
+     */
+    @Override public int hashCode() {
+        int h = 0;
+        Iterador iterador = new Iterador();
+        while (iterador.hasNext()) {
+            Nodo nodo = iterador.siguiente();
+            h += nodo.llave.hashCode() ^ nodo.valor.hashCode();
+        }
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<K> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario. El
+     * diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new IteradorValores();
+    }
+}
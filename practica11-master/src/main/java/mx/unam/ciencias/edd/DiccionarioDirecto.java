@@ -0,0 +1,608 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios de bytes a bytes fuera del montículo de
+ * Java.</p>
+ *
+ * <p>Las llaves y los valores se copian a bloques de memoria directa
+ * ({@link ByteBuffer#allocateDirect}), uno tras otro; las llaves y los
+ * valores pueden ser de ancho fijo, o de cualquier longitud, en cuyo caso
+ * cada registro lleva sus longitudes como prefijo. El índice también está en
+ * memoria directa: un arreglo de direcciones con direccionamiento abierto y
+ * sondeo lineal, junto con la dispersión de cada llave, para no volver a
+ * dispersar al crecer ni comparar llaves con dispersiones distintas. Así el
+ * recolector de basura sólo ve un puñado de objetos sin importar cuántas
+ * entradas haya.</p>
+ *
+ * <p>Las llaves se dispersan por omisión con {@link
+ * Dispersores#dispersaBJ(ByteBuffer)} directamente sobre el búfer recibido,
+ * y siempre se leen los bytes entre su posición y su límite sin modificarlos.
+ * Reemplazar un valor por otro de distinta longitud, o eliminar una llave,
+ * deja basura en los bloques; cuando la basura es más de la mitad, los
+ * registros vivos se copian a bloques nuevos.</p>
+ *
+ * <p>Los valores que regresa {@link #get(ByteBuffer)} y los iteradores son
+ * vistas de sólo lectura de la memoria del diccionario, y dejan de ser
+ * válidos en cuanto el diccionario se modifica.</p>
+ */
+public class DiccionarioDirecto implements Iterable<ByteBuffer> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El índice del siguiente lugar ocupado. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -1;
+            avanza();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < direcciones.capacity();
+        }
+
+        /* Regresa la dirección de la siguiente entrada. */
+        public long siguiente() {
+            if (indice >= direcciones.capacity())
+                throw new NoSuchElementException();
+            long direccion = direcciones.get(indice) - 1;
+            avanza();
+            return direccion;
+        }
+
+        /* Avanza al siguiente lugar ocupado. */
+        private void avanza() {
+            do {
+                indice++;
+            } while (indice < direcciones.capacity() &&
+                     direcciones.get(indice) == 0);
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<ByteBuffer> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public ByteBuffer next() {
+            long direccion = siguiente();
+            ByteBuffer bloque = bloque(direccion);
+            int i = (int)direccion;
+            return vista(bloque, i + prefijo, longitudLlave(bloque, i));
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<ByteBuffer> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public ByteBuffer next() {
+            return valor(siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el índice. */
+    public static final double MAXIMA_CARGA = 0.75;
+
+    /* Capacidad mínima del índice; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad máxima del índice; sus dos búferes ocupan 1.5 GiB. */
+    private static final int MAXIMA_CAPACIDAD = 1 << 27;
+    /* Tamaño del primer bloque de datos. */
+    private static final int PRIMER_BLOQUE = 1 << 16;
+    /* Tamaño máximo de un bloque de datos, y de un registro. */
+    private static final int BLOQUE = 1 << 24;
+    /* Ancho que indica longitudes variables. */
+    private static final int VARIABLE = -1;
+
+    /* Dispersor. */
+    private Dispersor<ByteBuffer> dispersor;
+    /* El ancho de las llaves, o VARIABLE. */
+    private int anchoLlave;
+    /* El ancho de los valores, o VARIABLE. */
+    private int anchoValor;
+    /* Los bytes de las longitudes al principio de cada registro. */
+    private int prefijo;
+    /* La dispersión de la llave en cada lugar del índice. */
+    private IntBuffer dispersiones;
+    /* La dirección más uno del registro en cada lugar; 0 si está libre. */
+    private LongBuffer direcciones;
+    /* Corrimiento para reducir una dispersión a un lugar del índice. */
+    private int corrimiento;
+    /* Los bloques de datos. */
+    private ByteBuffer[] bloques;
+    /* El número de bloques en uso. */
+    private int usados;
+    /* Los bytes ocupados por registros, vivos o no. */
+    private long ocupados;
+    /* Los bytes ocupados por registros que ya no están en el índice. */
+    private long basura;
+    /* Número de entradas. */
+    private int elementos;
+
+    /**
+     * Construye un diccionario de llaves y valores de longitud variable, con
+     * una capacidad inicial y dispersor predeterminados.
+     */
+    public DiccionarioDirecto() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario de llaves y valores de longitud variable, con
+     * una capacidad inicial definida por el usuario y un dispersor
+     * predeterminado.
+     * @param capacidad el número de entradas que caben sin crecer el índice.
+     */
+    public DiccionarioDirecto(int capacidad) {
+        this(capacidad, Dispersores::dispersaBJ);
+    }
+
+    /**
+     * Construye un diccionario de llaves y valores de longitud variable, con
+     * una capacidad inicial y un dispersor definidos por el usuario.
+     * @param capacidad el número de entradas que caben sin crecer el índice.
+     * @param dispersor el dispersor a utilizar; no debe modificar la posición
+     *        ni el límite del búfer que recibe.
+     */
+    public DiccionarioDirecto(int capacidad, Dispersor<ByteBuffer> dispersor) {
+        this(VARIABLE, VARIABLE, capacidad, dispersor);
+    }
+
+    /**
+     * Construye un diccionario de llaves y valores de ancho fijo, con una
+     * capacidad inicial definida por el usuario y un dispersor
+     * predeterminado.
+     * @param anchoLlave el número de bytes de cada llave.
+     * @param anchoValor el número de bytes de cada valor.
+     * @param capacidad el número de entradas que caben sin crecer el índice.
+     * @throws IllegalArgumentException si algún ancho es negativo, o si un
+     *         registro no cabe en un bloque.
+     */
+    public DiccionarioDirecto(int anchoLlave, int anchoValor, int capacidad) {
+        this(ancho(anchoLlave), ancho(anchoValor), capacidad,
+             Dispersores::dispersaBJ);
+    }
+
+    /* Construye un diccionario con los anchos, capacidad y dispersor. */
+    private DiccionarioDirecto(int anchoLlave, int anchoValor, int capacidad,
+                               Dispersor<ByteBuffer> dispersor) {
+        if ((long)anchoLlave + anchoValor > BLOQUE)
+            throw new IllegalArgumentException();
+        this.anchoLlave = anchoLlave;
+        this.anchoValor = anchoValor;
+        prefijo = (anchoLlave == VARIABLE ? 4 : 0) +
+            (anchoValor == VARIABLE ? 4 : 0);
+        this.dispersor = dispersor;
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        long a = 1;
+        while (a * MAXIMA_CARGA <= capacidad)
+            a *= 2;
+        if (a > MAXIMA_CAPACIDAD)
+            throw new IllegalArgumentException();
+        inicializa((int)a);
+        bloques = new ByteBuffer[1];
+        bloques[0] = ByteBuffer.allocateDirect(PRIMER_BLOQUE);
+        usados = 1;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya estaba en el diccionario, su valor se reemplaza. Se copian
+     * los bytes restantes de ambos búferes, sin modificar sus posiciones.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, no
+     *         tienen el ancho del diccionario, o no caben en un bloque.
+     * @throws IllegalStateException si el índice ya no puede crecer.
+     */
+    public void agrega(ByteBuffer llave, ByteBuffer valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        int lk = llave.remaining();
+        int lv = valor.remaining();
+        if ((anchoLlave != VARIABLE && lk != anchoLlave) ||
+            (anchoValor != VARIABLE && lv != anchoValor) ||
+            tamano(lk, lv) > BLOQUE)
+            throw new IllegalArgumentException();
+        int dispersion = dispersor.dispersa(llave);
+        int i = busca(llave, dispersion);
+        if (i >= 0) {
+            long direccion = direcciones.get(i) - 1;
+            ByteBuffer bloque = bloque(direccion);
+            int j = (int)direccion;
+            if (longitudValor(bloque, j) == lv) {
+                int fin = bloque.position();
+                ((Buffer)bloque).position(j + prefijo + lk);
+                bloque.put(valor.duplicate());
+                ((Buffer)bloque).position(fin);
+                return;
+            }
+            basura += tamano(lk, longitudValor(bloque, j));
+            direcciones.put(i, escribe(llave, valor) + 1);
+            compactaSiHaceFalta();
+            return;
+        }
+        if (elementos + 1 >= MAXIMA_CARGA * direcciones.capacity()) {
+            crece();
+            i = busca(llave, dispersion);
+        }
+        i = -i - 1;
+        dispersiones.put(i, dispersion);
+        direcciones.put(i, escribe(llave, valor) + 1);
+        elementos++;
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, no
+     *         tienen el ancho del diccionario, o no caben en un bloque.
+     * @throws IllegalStateException si el índice ya no puede crecer.
+     */
+    public void agrega(byte[] llave, byte[] valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        agrega(ByteBuffer.wrap(llave), ByteBuffer.wrap(valor));
+    }
+
+    /**
+     * Regresa una vista de sólo lectura del valor asociado a la llave
+     * proporcionada. La vista deja de ser válida en cuanto se modifica el
+     * diccionario.
+     * @param llave la llave para buscar el valor.
+     * @return una vista del valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public ByteBuffer get(ByteBuffer llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i < 0)
+            throw new NoSuchElementException();
+        return valor(direcciones.get(i) - 1);
+    }
+
+    /**
+     * Regresa una copia del valor asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return una copia del valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public byte[] get(byte[] llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        ByteBuffer valor = get(ByteBuffer.wrap(llave));
+        byte[] copia = new byte[valor.remaining()];
+        valor.get(copia);
+        return copia;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(ByteBuffer llave) {
+        return llave != null && busca(llave, dispersor.dispersa(llave)) >= 0;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(byte[] llave) {
+        return llave != null && contiene(ByteBuffer.wrap(llave));
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * llaves siguientes que no están en su lugar se recorren hacia atrás en
+     * el índice.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(ByteBuffer llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i < 0)
+            throw new NoSuchElementException();
+        long direccion = direcciones.get(i) - 1;
+        ByteBuffer bloque = bloque(direccion);
+        basura += tamano(longitudLlave(bloque, (int)direccion),
+                         longitudValor(bloque, (int)direccion));
+        int mascara = direcciones.capacity() - 1;
+        for (int j = (i + 1) & mascara; direcciones.get(j) != 0;
+             j = (j + 1) & mascara) {
+            /* La llave en j puede ocupar el lugar i si i no está entre su
+             * lugar y j. */
+            int k = indice(dispersiones.get(j));
+            if (((j - k) & mascara) >= ((j - i) & mascara)) {
+                dispersiones.put(i, dispersiones.get(j));
+                direcciones.put(i, direcciones.get(j));
+                i = j;
+            }
+        }
+        direcciones.put(i, 0);
+        elementos--;
+        compactaSiHaceFalta();
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(byte[] llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        elimina(ByteBuffer.wrap(llave));
+    }
+
+    /**
+     * Nos dice la carga del índice del diccionario.
+     * @return la carga del índice del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / direcciones.capacity();
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de bytes de memoria directa que ocupa el diccionario,
+     * contando el índice y los bloques de datos completos.
+     * @return el número de bytes de memoria directa del diccionario.
+     */
+    public long getMemoriaDirecta() {
+        long m = 12L * direcciones.capacity();
+        for (int i = 0; i < usados; i++)
+            m += bloques[i].capacity();
+        return m;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío. Se conservan el
+     * índice y el primer bloque de datos.
+     */
+    public void limpia() {
+        inicializa(direcciones.capacity());
+        for (int i = 1; i < usados; i++)
+            bloques[i] = null;
+        ((Buffer)bloques[0]).clear();
+        usados = 1;
+        ocupados = basura = 0;
+    }
+
+    /**
+     * Regresa un iterador para iterar vistas de las llaves del diccionario.
+     * El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public Iterator<ByteBuffer> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar vistas de los valores del diccionario.
+     * El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    @Override public Iterator<ByteBuffer> iterator() {
+        return new IteradorValores();
+    }
+
+    /* Crea un índice vacío de la capacidad recibida, que es potencia de 2. */
+    private void inicializa(int capacidad) {
+        dispersiones = ByteBuffer.allocateDirect(4 * capacidad)
+            .order(ByteOrder.nativeOrder()).asIntBuffer();
+        direcciones = ByteBuffer.allocateDirect(8 * capacidad)
+            .order(ByteOrder.nativeOrder()).asLongBuffer();
+        corrimiento = Integer.numberOfLeadingZeros(capacidad) + 1;
+        elementos = 0;
+    }
+
+    /* Regresa el lugar del índice de una dispersión. */
+    private int indice(int dispersion) {
+        return (dispersion * 0x9E3779B9) >>> corrimiento;
+    }
+
+    /* Regresa el lugar de la llave en el índice, o -(p + 1) si no está, donde
+     * p es el lugar libre donde se insertaría. */
+    private int busca(ByteBuffer llave, int dispersion) {
+        int mascara = direcciones.capacity() - 1;
+        int i = indice(dispersion);
+        long d;
+        while ((d = direcciones.get(i)) != 0) {
+            if (dispersiones.get(i) == dispersion && iguales(d - 1, llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -i - 1;
+    }
+
+    /* Duplica la capacidad del índice, usando las dispersiones guardadas. */
+    private void crece() {
+        if (direcciones.capacity() == MAXIMA_CAPACIDAD)
+            throw new IllegalStateException("Diccionario lleno");
+        IntBuffer dd = dispersiones;
+        LongBuffer ll = direcciones;
+        int n = elementos;
+        inicializa(ll.capacity() * 2);
+        int mascara = direcciones.capacity() - 1;
+        for (int i = 0; i < ll.capacity(); i++) {
+            if (ll.get(i) == 0)
+                continue;
+            int j = indice(dd.get(i));
+            while (direcciones.get(j) != 0)
+                j = (j + 1) & mascara;
+            dispersiones.put(j, dd.get(i));
+            direcciones.put(j, ll.get(i));
+        }
+        elementos = n;
+    }
+
+    /* Regresa el ancho recibido, o lanza IllegalArgumentException si es
+     * negativo. */
+    private static int ancho(int ancho) {
+        if (ancho < 0)
+            throw new IllegalArgumentException();
+        return ancho;
+    }
+
+    /* Regresa el bloque de una dirección. */
+    private ByteBuffer bloque(long direccion) {
+        return bloques[(int)(direccion >>> 32)];
+    }
+
+    /* Regresa el tamaño de un registro con llave y valor de las
+     * longitudes recibidas. */
+    private long tamano(int lk, int lv) {
+        return (long)prefijo + lk + lv;
+    }
+
+    /* Regresa la longitud de la llave del registro en i del bloque. */
+    private int longitudLlave(ByteBuffer bloque, int i) {
+        return anchoLlave != VARIABLE ? anchoLlave : bloque.getInt(i);
+    }
+
+    /* Regresa la longitud del valor del registro en i del bloque. */
+    private int longitudValor(ByteBuffer bloque, int i) {
+        if (anchoValor != VARIABLE)
+            return anchoValor;
+        return bloque.getInt(anchoLlave == VARIABLE ? i + 4 : i);
+    }
+
+    /* Regresa una vista de sólo lectura del valor en una dirección. */
+    private ByteBuffer valor(long direccion) {
+        ByteBuffer bloque = bloque(direccion);
+        int i = (int)direccion;
+        int lk = longitudLlave(bloque, i);
+        return vista(bloque, i + prefijo + lk, longitudValor(bloque, i));
+    }
+
+    /* Regresa una vista de sólo lectura de n bytes del bloque a partir de
+     * i. */
+    private ByteBuffer vista(ByteBuffer bloque, int i, int n) {
+        ByteBuffer vista = bloque.duplicate();
+        ((Buffer)vista).limit(i + n).position(i);
+        return vista.slice().asReadOnlyBuffer();
+    }
+
+    /* Nos dice si la llave en una dirección es igual a los bytes restantes
+     * del búfer. */
+    private boolean iguales(long direccion, ByteBuffer llave) {
+        ByteBuffer bloque = bloque(direccion);
+        int i = (int)direccion;
+        int n = llave.remaining();
+        if (longitudLlave(bloque, i) != n)
+            return false;
+        i += prefijo;
+        int j = llave.position();
+        for (int k = 0; k < n; k++)
+            if (bloque.get(i + k) != llave.get(j + k))
+                return false;
+        return true;
+    }
+
+    /* Escribe un registro al final del último bloque, o en un bloque nuevo
+     * si no cabe, y regresa su dirección. */
+    private long escribe(ByteBuffer llave, ByteBuffer valor) {
+        int lk = llave.remaining();
+        int lv = valor.remaining();
+        int n = (int)tamano(lk, lv);
+        ByteBuffer bloque = bloques[usados - 1];
+        if (bloque.remaining() < n)
+            bloque = nuevoBloque(n);
+        long direccion = ((long)(usados - 1) << 32) | bloque.position();
+        if (anchoLlave == VARIABLE)
+            bloque.putInt(lk);
+        if (anchoValor == VARIABLE)
+            bloque.putInt(lv);
+        bloque.put(llave.duplicate());
+        bloque.put(valor.duplicate());
+        ocupados += n;
+        return direccion;
+    }
+
+    /* Agrega un bloque con espacio para al menos n bytes, del doble de
+     * tamaño que el último hasta llegar a BLOQUE. */
+    private ByteBuffer nuevoBloque(int n) {
+        int tamano = Math.max(n, Math.min(BLOQUE,
+                                          bloques[usados - 1].capacity() * 2));
+        if (usados == bloques.length) {
+            ByteBuffer[] b = new ByteBuffer[bloques.length * 2];
+            System.arraycopy(bloques, 0, b, 0, usados);
+            bloques = b;
+        }
+        bloques[usados] = ByteBuffer.allocateDirect(tamano);
+        return bloques[usados++];
+    }
+
+    /* Copia los registros vivos a bloques nuevos si más de la mitad de los
+     * bytes ocupados son basura. */
+    private void compactaSiHaceFalta() {
+        if (basura < PRIMER_BLOQUE || basura * 2 < ocupados)
+            return;
+        ByteBuffer[] anteriores = bloques;
+        bloques = new ByteBuffer[1];
+        bloques[0] = ByteBuffer.allocateDirect(
+            (int)Math.min(BLOQUE, Math.max(PRIMER_BLOQUE, ocupados - basura)));
+        usados = 1;
+        ocupados = basura = 0;
+        for (int i = 0; i < direcciones.capacity(); i++) {
+            long d = direcciones.get(i) - 1;
+            if (d == -1)
+                continue;
+            ByteBuffer bloque = anteriores[(int)(d >>> 32)];
+            int j = (int)d;
+            int inicio = j + prefijo;
+            int fin = inicio + longitudLlave(bloque, j);
+            ByteBuffer llave = bloque.duplicate();
+            ((Buffer)llave).limit(fin).position(inicio);
+            ByteBuffer valor = bloque.duplicate();
+            ((Buffer)valor).limit(fin + longitudValor(bloque, j))
+                .position(fin);
+            direcciones.put(i, escribe(llave, valor) + 1);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para diccionarios de enteros largos a enteros largos.</p>
+ *
+ * <p>Las llaves y los valores se guardan directamente en dos arreglos de
+ * <code>long</code>, con direccionamiento abierto y sondeo lineal, así que
+ * ninguna operación crea objetos: no hay {@link Long}, entradas ni nodos de
+ * lista, y cada entrada ocupa dieciséis bytes entre la carga máxima. Los
+ * lugares libres se marcan con la llave 0; la entrada con llave 0, si existe,
+ * se guarda aparte. Al eliminar, las llaves siguientes se recorren hacia
+ * atrás, así que no hacen falta lápidas.</p>
+ */
+public class DiccionarioLargo {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El índice de la siguiente entrada; -1 para la llave 0. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            indice = -2;
+            avanza();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < llaves.length;
+        }
+
+        /* Regresa el índice de la siguiente entrada. */
+        public int siguiente() {
+            if (indice >= llaves.length)
+                throw new NoSuchElementException();
+            int i = indice;
+            avanza();
+            return i;
+        }
+
+        /* Avanza a la siguiente posición ocupada. */
+        private void avanza() {
+            if (indice == -2 && hayCero) {
+                indice = -1;
+                return;
+            }
+            do {
+                indice++;
+            } while (indice < llaves.length && (indice < 0 ||
+                                                 llaves[indice] == 0));
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements PrimitiveIterator.OfLong {
+
+        /* Regresa el siguiente elemento. */
+        @Override public long nextLong() {
+            int i = siguiente();
+            return i == -1 ? 0 : llaves[i];
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements PrimitiveIterator.OfLong {
+
+        /* Regresa el siguiente elemento. */
+        @Override public long nextLong() {
+            int i = siguiente();
+            return i == -1 ? valorCero : valores[i];
+        }
+    }
+
+    /** Máxima carga permitida por el diccionario. */
+    public static final double MAXIMA_CARGA = 0.75;
+
+    /* Capacidad mínima; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad máxima de los arreglos. */
+    private static final int MAXIMA_CAPACIDAD = 1 << 30;
+
+    /* Las llaves; 0 marca un lugar libre. */
+    private long[] llaves;
+    /* Los valores. */
+    private long[] valores;
+    /* Si la llave 0 está en el diccionario. */
+    private boolean hayCero;
+    /* El valor de la llave 0. */
+    private long valorCero;
+    /* Corrimiento para reducir una llave a un índice. */
+    private int corrimiento;
+    /* Número de entradas en los arreglos, sin contar la llave 0. */
+    private int elementos;
+
+    /**
+     * Construye un diccionario con una capacidad inicial predeterminada.
+     */
+    public DiccionarioLargo() {
+        this(MINIMA_CAPACIDAD);
+    }
+
+    /**
+     * Construye un diccionario con espacio para el número de entradas
+     * recibido sin tener que crecer.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @throws IllegalArgumentException si la capacidad no cabe en los
+     *         arreglos.
+     */
+    public DiccionarioLargo(int capacidad) {
+        if (capacidad < MINIMA_CAPACIDAD)
+            capacidad = MINIMA_CAPACIDAD;
+        long a = 1;
+        while (a * MAXIMA_CARGA <= capacidad)
+            a *= 2;
+        if (a > MAXIMA_CAPACIDAD)
+            throw new IllegalArgumentException();
+        inicializa((int)a);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya estaba en el diccionario, su valor se reemplaza.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalStateException si el diccionario ya no puede crecer.
+     */
+    public void agrega(long llave, long valor) {
+        if (llave == 0) {
+            hayCero = true;
+            valorCero = valor;
+            return;
+        }
+        int i = busca(llave);
+        if (i >= 0) {
+            valores[i] = valor;
+            return;
+        }
+        inserta(-i - 1, llave, valor);
+    }
+
+    /**
+     * Suma un incremento al valor asociado a la llave; si la llave no está
+     * en el diccionario, se agrega con el incremento como valor.
+     * @param llave la llave del valor a incrementar.
+     * @param incremento el incremento.
+     * @return el nuevo valor asociado a la llave.
+     * @throws IllegalStateException si el diccionario ya no puede crecer.
+     */
+    public long suma(long llave, long incremento) {
+        if (llave == 0) {
+            valorCero = hayCero ? valorCero + incremento : incremento;
+            hayCero = true;
+            return valorCero;
+        }
+        int i = busca(llave);
+        if (i >= 0)
+            return valores[i] += incremento;
+        inserta(-i - 1, llave, incremento);
+        return incremento;
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public long get(long llave) {
+        if (llave == 0) {
+            if (!hayCero)
+                throw new NoSuchElementException();
+            return valorCero;
+        }
+        int i = busca(llave);
+        if (i < 0)
+            throw new NoSuchElementException();
+        return valores[i];
+    }
+
+    /**
+     * Regresa el valor asociado a la llave, o un valor por omisión si la
+     * llave no está en el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @param omision el valor a regresar si la llave no está.
+     * @return el valor correspondiente a la llave, o <code>omision</code>.
+     */
+    public long getOrDefault(long llave, long omision) {
+        if (llave == 0)
+            return hayCero ? valorCero : omision;
+        int i = busca(llave);
+        return i < 0 ? omision : valores[i];
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(long llave) {
+        return llave == 0 ? hayCero : busca(llave) >= 0;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+     * llaves siguientes que no están en su índice se recorren hacia atrás.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     */
+    public void elimina(long llave) {
+        if (llave == 0) {
+            if (!hayCero)
+                throw new NoSuchElementException();
+            hayCero = false;
+            return;
+        }
+        int i = busca(llave);
+        if (i < 0)
+            throw new NoSuchElementException();
+        int mascara = llaves.length - 1;
+        for (int j = (i + 1) & mascara; llaves[j] != 0;
+             j = (j + 1) & mascara) {
+            /* La llave en j puede ocupar el lugar i si i no está entre su
+             * índice y j. */
+            int k = indice(llaves[j]);
+            if (((j - k) & mascara) >= ((j - i) & mascara)) {
+                llaves[i] = llaves[j];
+                valores[i] = valores[j];
+                i = j;
+            }
+        }
+        llaves[i] = 0;
+        elementos--;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario; esto es, cuántas
+     * llaves no están en su índice.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+        int c = 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0 && indice(llaves[i]) != i)
+                c++;
+        return c;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el diccionario; esto es, la máxima distancia de una llave a su
+     * índice.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+        int c = 0;
+        int mascara = llaves.length - 1;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0)
+                c = Math.max(c, (i - indice(llaves[i])) & mascara);
+        return c;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / llaves.length;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return hayCero ? elementos + 1 : elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return getElementos() == 0;
+    }
+
+    /**
+     * Limpia el diccionario de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        inicializa(llaves.length);
+    }
+
+    /**
+     * Regresa una representación en cadena del diccionario.
+     * @return una representación en cadena del diccionario.
+     */
+    @Override public String toString() {
+        StringBuilder s = new StringBuilder("{");
+        if (!esVacia())
+            s.append(" ");
+        if (hayCero)
+            s.append("'0': '").append(valorCero).append("', ");
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0)
+                s.append("'").append(llaves[i]).append("': '")
+                    .append(valores[i]).append("', ");
+        s.append("}");
+        return s.toString();
+    }
+
+    /**
+     * Nos dice si el diccionario es igual al objeto recibido.
+     * @param o el objeto que queremos saber si es igual al diccionario.
+     * @return <code>true</code> si el objeto recibido es instancia de
+     *         DiccionarioLargo, y tiene las mismas llaves asociadas a los
+     *         mismos valores.
+     */
+    @Override public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass())
+            return false;
+        DiccionarioLargo d = (DiccionarioLargo)o;
+        if (getElementos() != d.getElementos())
+            return false;
+        if (hayCero != d.hayCero || (hayCero && valorCero != d.valorCero))
+            return false;
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] == 0)
+                continue;
+            int j = d.busca(llaves[i]);
+            if (j < 0 || d.valores[j] != valores[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa un código de dispersión para el diccionario, consistente con
+     * {@link #equals}: la suma de <code>Long.hashCode(llave) ^
+     * Long.hashCode(valor)</code> de todas las entradas, que no depende del
+     * orden en que estén guardadas.
+     * @return un código de dispersión para el diccionario.
+     */
+    @Override public int hashCode() {
+        int h = hayCero ? Long.hashCode(valorCero) : 0;
+        for (int i = 0; i < llaves.length; i++)
+            if (llaves[i] != 0)
+                h += Long.hashCode(llaves[i]) ^ Long.hashCode(valores[i]);
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para iterar las llaves del diccionario, sin
+     * ningún orden específico y sin crear objetos por llave.
+     * @return un iterador para iterar las llaves del diccionario.
+     */
+    public PrimitiveIterator.OfLong iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del diccionario, sin
+     * ningún orden específico y sin crear objetos por valor.
+     * @return un iterador para iterar los valores del diccionario.
+     */
+    public PrimitiveIterator.OfLong iteradorValores() {
+        return new IteradorValores();
+    }
+
+    /* Crea arreglos vacíos de la capacidad recibida, que es potencia de 2. */
+    private void inicializa(int capacidad) {
+        llaves = new long[capacidad];
+        valores = new long[capacidad];
+        corrimiento = Long.numberOfLeadingZeros(capacidad) + 1;
+        hayCero = false;
+        elementos = 0;
+    }
+
+    /* Regresa el índice de una llave: los bits más altos de su producto por
+     * la razón áurea. */
+    private int indice(long llave) {
+        return (int)((llave * 0x9E3779B97F4A7C15L) >>> corrimiento);
+    }
+
+    /* Regresa la posición de una llave distinta de 0, o -(p + 1) si no está,
+     * donde p es el lugar libre donde se insertaría. */
+    private int busca(long llave) {
+        int mascara = llaves.length - 1;
+        int i = indice(llave);
+        while (llaves[i] != 0) {
+            if (llaves[i] == llave)
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -i - 1;
+    }
+
+    /* Inserta una llave que no está en el lugar libre recibido, creciendo
+     * primero si es necesario. */
+    private void inserta(int i, long llave, long valor) {
+        if (elementos + 1 >= MAXIMA_CARGA * llaves.length) {
+            crece();
+            i = -busca(llave) - 1;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        elementos++;
+    }
+
+    /* Duplica la capacidad del diccionario, reinsertando sus entradas. */
+    private void crece() {
+        if (llaves.length == MAXIMA_CAPACIDAD)
+            throw new IllegalStateException("Diccionario lleno");
+        long[] ll = llaves;
+        long[] vv = valores;
+        boolean c = hayCero;
+        int n = elementos;
+        inicializa(ll.length * 2);
+        for (int i = 0; i < ll.length; i++) {
+            if (ll[i] != 0) {
+                int j = -busca(ll[i]) - 1;
+                llaves[j] = ll[i];
+                valores[j] = vv[i];
+            }
+        }
+        hayCero = c;
+        elementos = n;
+    }
+}
@@ -0,0 +1,991 @@
+package mx.unam.ciencias.edd;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios persistentes de bytes (o cadenas) a bytes (o
+ * cadenas), guardados en disco y leídos por medio de archivos mapeados a
+ * memoria ({@link MappedByteBuffer}).</p>
+ *
+ * <p>El diccionario usa dos archivos. El archivo de datos es una bitácora a
+ * la que sólo se agregan registros: cada vez que se agrega una llave se
+ * escribe un registro con la llave y su valor al final, y cada vez que se
+ * elimina se escribe una lápida. El archivo de índice, con el mismo nombre
+ * más <code>.indice</code>, es una tabla de dispersión con direccionamiento
+ * abierto y sondeo lineal que guarda, para cada llave, su dispersión y la
+ * dirección de su último registro. Como el índice se mapea tal cual, el
+ * diccionario se puede usar en cuanto se abre, sin leer ni dispersar sus
+ * entradas.</p>
+ *
+ * <p>Las llaves se dispersan con el algoritmo elegido al crear el diccionario
+ * ({@link AlgoritmoDispersor#BJ_STRING} por omisión), que se guarda en el
+ * índice. Las cadenas se codifican en UTF-8. Los registros reemplazados y las
+ * lápidas son basura; cuando la basura es más de la mitad de la bitácora,
+ * los registros vivos se copian a una bitácora nueva que reemplaza a la
+ * anterior.</p>
+ *
+ * <p>Si el diccionario no se cerró, o si el índice no corresponde a la
+ * bitácora, al abrirlo se reconstruye el índice recorriendo la bitácora. Los
+ * cambios llegan al sistema operativo en cuanto se hacen; {@link
+ * #sincroniza} los obliga a llegar al disco. Los valores que regresa {@link
+ * #get(ByteBuffer)} y los iteradores son vistas de sólo lectura de los
+ * archivos, y dejan de ser válidos en cuanto el diccionario se modifica o se
+ * cierra. Los errores de entrada/salida se lanzan como {@link
+ * UncheckedIOException}.</p>
+ */
+public class DiccionarioMapeado implements Closeable, Iterable<ByteBuffer> {
+
+    /* Clase interna privada para la bitácora de registros. */
+    private static class Bitacora {
+
+        /* El canal del archivo. */
+        private FileChannel canal;
+        /* Los segmentos mapeados del archivo. */
+        private MappedByteBuffer[] segmentos;
+        /* El número de segmentos mapeados. */
+        private int usados;
+        /* La dirección donde se escribirá el siguiente registro. */
+        private long fin;
+
+        /* Abre la bitácora del archivo, creándola si no existe. */
+        public Bitacora(Path archivo) throws IOException {
+            canal = FileChannel.open(archivo, StandardOpenOption.READ,
+                                     StandardOpenOption.WRITE,
+                                     StandardOpenOption.CREATE);
+            segmentos = new MappedByteBuffer[1];
+            long tamano = canal.size();
+            if (tamano == 0) {
+                mapea(0, INICIO);
+                segmentos[0].putInt(0, MAGICO_DATOS);
+                segmentos[0].putInt(4, VERSION);
+                avanza(INICIO);
+                return;
+            }
+            /* La cabecera se lee antes de mapear, pues mapear alarga el
+             * archivo. */
+            ByteBuffer cabecera = ByteBuffer.allocate(INICIO);
+            while (cabecera.hasRemaining() &&
+                   canal.read(cabecera, cabecera.position()) > 0)
+                ;
+            fin = cabecera.getLong(8);
+            if (cabecera.hasRemaining() ||
+                cabecera.getInt(0) != MAGICO_DATOS ||
+                cabecera.getInt(4) != VERSION ||
+                fin < INICIO || fin > tamano) {
+                canal.close();
+                throw new IOException("Bitácora inválida");
+            }
+            int ultimo = (int)(fin >>> BITS_SEGMENTO);
+            for (int k = 0; k < ultimo; k++)
+                mapea(k, SEGMENTO);
+            mapea(ultimo, fin & (SEGMENTO - 1));
+        }
+
+        /* Regresa el segmento de una dirección. */
+        public ByteBuffer segmento(long direccion) {
+            return segmentos[(int)(direccion >>> BITS_SEGMENTO)];
+        }
+
+        /* Escribe un registro al final de la bitácora y regresa su
+         * dirección; si el valor es nulo, escribe una lápida. */
+        public long agrega(ByteBuffer llave, ByteBuffer valor)
+            throws IOException {
+            int lk = llave.remaining();
+            int lv = valor == null ? BORRADO : valor.remaining();
+            int n = 8 + lk + (valor == null ? 0 : lv);
+            int k = (int)(fin >>> BITS_SEGMENTO);
+            int o = (int)(fin & (SEGMENTO - 1));
+            if (SEGMENTO - o < n) {
+                if (SEGMENTO - o >= 8)
+                    asegura(k, o + 4).putInt(o, RELLENO);
+                k++;
+                o = 0;
+            }
+            MappedByteBuffer s = asegura(k, o + n);
+            s.putInt(o, lk);
+            s.putInt(o + 4, lv);
+            ((Buffer)s).position(o + 8);
+            s.put(llave.duplicate());
+            if (valor != null)
+                s.put(valor.duplicate());
+            long direccion = ((long)k << BITS_SEGMENTO) | o;
+            avanza(direccion + n);
+            return direccion;
+        }
+
+        /* Obliga a que los segmentos mapeados lleguen al disco. */
+        public void fuerza() {
+            for (int k = 0; k < usados; k++)
+                segmentos[k].force();
+        }
+
+        /* Cierra el canal; si se pide, antes recorta el archivo a su fin,
+         * pues mapear más allá del fin lo alarga. */
+        public void cierra(boolean recorta) throws IOException {
+            try {
+                if (recorta)
+                    canal.truncate(fin);
+            } finally {
+                canal.close();
+            }
+        }
+
+        /* Mueve el fin de la bitácora y lo guarda en la cabecera. */
+        private void avanza(long fin) {
+            this.fin = fin;
+            segmentos[0].putLong(8, fin);
+        }
+
+        /* Regresa el segmento k, mapeado con al menos n bytes. */
+        private MappedByteBuffer asegura(int k, long n) throws IOException {
+            if (k >= usados || segmentos[k].capacity() < n)
+                mapea(k, n);
+            return segmentos[k];
+        }
+
+        /* Mapea el segmento k con la menor potencia de 2 de bytes, a partir
+         * de PRIMER_MAPEO, que sea mayor o igual a n. */
+        private void mapea(int k, long n) throws IOException {
+            long t = PRIMER_MAPEO;
+            while (t < n)
+                t *= 2;
+            if (k == segmentos.length) {
+                MappedByteBuffer[] s = new MappedByteBuffer[k * 2];
+                System.arraycopy(segmentos, 0, s, 0, k);
+                segmentos = s;
+            }
+            segmentos[k] = canal.map(FileChannel.MapMode.READ_WRITE,
+                                     (long)k << BITS_SEGMENTO,
+                                     Math.min(t, SEGMENTO));
+            usados = Math.max(usados, k + 1);
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador {
+
+        /* El índice del siguiente lugar ocupado. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        public Iterador() {
+            verifica();
+            indice = -1;
+            avanza();
+        }
+
+        /* Nos dice si hay una siguiente entrada. */
+        public boolean hasNext() {
+            return indice < capacidad;
+        }
+
+        /* Regresa la dirección de la siguiente entrada. */
+        public long siguiente() {
+            if (indice >= capacidad)
+                throw new NoSuchElementException();
+            long direccion = direccionEn(indice) - 1;
+            avanza();
+            return direccion;
+        }
+
+        /* Avanza al siguiente lugar ocupado. */
+        private void avanza() {
+            do {
+                indice++;
+            } while (indice < capacidad && direccionEn(indice) == 0);
+        }
+    }
+
+    /* Clase interna privada para iteradores de llaves. */
+    private class IteradorLlaves extends Iterador
+        implements Iterator<ByteBuffer> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public ByteBuffer next() {
+            long direccion = siguiente();
+            ByteBuffer s = datos.segmento(direccion);
+            int o = desplazamiento(direccion);
+            return vista(s, o + 8, s.getInt(o));
+        }
+    }
+
+    /* Clase interna privada para iteradores de valores. */
+    private class IteradorValores extends Iterador
+        implements Iterator<ByteBuffer> {
+
+        /* Regresa el siguiente elemento. */
+        @Override public ByteBuffer next() {
+            return valor(siguiente());
+        }
+    }
+
+    /** Máxima carga permitida por el índice. */
+    public static final double MAXIMA_CARGA = 0.75;
+
+    /* Capacidad mínima del índice; decidida arbitrariamente a 2^6. */
+    private static final int MINIMA_CAPACIDAD = 64;
+    /* Capacidad máxima del índice, para que quepa en un solo mapeo. */
+    private static final int MAXIMA_CAPACIDAD = 1 << 27;
+    /* Bits del desplazamiento dentro de un segmento de la bitácora. */
+    private static final int BITS_SEGMENTO = 30;
+    /* Tamaño de un segmento de la bitácora, y máximo de un registro. */
+    private static final int SEGMENTO = 1 << BITS_SEGMENTO;
+    /* Tamaño del primer mapeo de un segmento. */
+    private static final int PRIMER_MAPEO = 1 << 16;
+    /* Basura mínima, en bytes, para compactar automáticamente. */
+    private static final long MINIMA_BASURA = 1 << 20;
+    /* Número mágico del índice ("EDDI"). */
+    private static final int MAGICO_INDICE = 0x45444449;
+    /* Número mágico de la bitácora ("EDDB"). */
+    private static final int MAGICO_DATOS = 0x45444442;
+    /* Versión del formato de los archivos. */
+    private static final int VERSION = 1;
+    /* Estado del índice mientras el diccionario está abierto. */
+    private static final int ABIERTO = 1;
+    /* Estado del índice cuando el diccionario se cerró. */
+    private static final int CERRADO = 2;
+    /* Bytes de la cabecera del índice. */
+    private static final int CABECERA = 64;
+    /* Bytes de cada lugar del índice: dispersión y dirección más uno. */
+    private static final int LUGAR = 12;
+    /* Dirección del primer registro de la bitácora. */
+    private static final int INICIO = 16;
+    /* Longitud de valor que indica una lápida. */
+    private static final int BORRADO = -1;
+    /* Longitud de llave que indica el fin de un segmento. */
+    private static final int RELLENO = -1;
+
+    /* El archivo de la bitácora. */
+    private Path archivo;
+    /* El archivo del índice. */
+    private Path archivoIndice;
+    /* La bitácora. */
+    private Bitacora datos;
+    /* El índice mapeado. */
+    private MappedByteBuffer indice;
+    /* El número de lugares del índice. */
+    private int capacidad;
+    /* Corrimiento para reducir una dispersión a un lugar del índice. */
+    private int corrimiento;
+    /* El algoritmo de dispersión. */
+    private AlgoritmoDispersor algoritmo;
+    /* Dispersor. */
+    private Dispersor<ByteBuffer> dispersor;
+    /* Número de entradas. */
+    private int elementos;
+    /* Los bytes de la bitácora ocupados por registros muertos y lápidas. */
+    private long basura;
+
+    /**
+     * Abre el diccionario del archivo recibido, o lo crea si no existe. Un
+     * diccionario nuevo usa el algoritmo {@link AlgoritmoDispersor#BJ_STRING};
+     * uno existente, el algoritmo con el que se creó.
+     * @param archivo el archivo de la bitácora.
+     * @throws IllegalArgumentException si el archivo es nulo.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida, o
+     *         si el archivo no es una bitácora válida.
+     */
+    public DiccionarioMapeado(Path archivo) {
+        this(archivo, null);
+    }
+
+    /**
+     * Abre el diccionario del archivo recibido con el algoritmo de
+     * dispersión recibido, o lo crea si no existe. Si el diccionario existe
+     * pero se creó con otro algoritmo, su índice se reconstruye.
+     * @param archivo el archivo de la bitácora.
+     * @param algoritmo el algoritmo de dispersión; si es nulo se usa el del
+     *        diccionario existente, o {@link AlgoritmoDispersor#BJ_STRING}.
+     * @throws IllegalArgumentException si el archivo es nulo.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida, o
+     *         si el archivo no es una bitácora válida.
+     */
+    public DiccionarioMapeado(Path archivo, AlgoritmoDispersor algoritmo) {
+        if (archivo == null)
+            throw new IllegalArgumentException();
+        this.archivo = archivo;
+        archivoIndice = hermano(".indice");
+        try {
+            datos = new Bitacora(archivo);
+            if (abreIndice(algoritmo)) {
+                indice.putInt(8, ABIERTO);
+                indice.force();
+            } else {
+                this.algoritmo = algoritmo == null ?
+                    AlgoritmoDispersor.BJ_STRING : algoritmo;
+                dispersor = dispersor(this.algoritmo);
+                reconstruye();
+            }
+        } catch (IOException ioe) {
+            if (datos != null) {
+                try {
+                    datos.cierra(false);
+                } catch (IOException e) {
+                    ioe.addSuppressed(e);
+                }
+                datos = null;
+            }
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+     * la llave ya estaba en el diccionario, su valor se reemplaza. Se copian
+     * los bytes restantes de ambos búferes al final de la bitácora, sin
+     * modificar sus posiciones.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, o si
+     *         no caben en un segmento de la bitácora.
+     * @throws IllegalStateException si el diccionario está cerrado, o si el
+     *         índice ya no puede crecer.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void agrega(ByteBuffer llave, ByteBuffer valor) {
+        if (llave == null || valor == null ||
+            8L + llave.remaining() + valor.remaining() > SEGMENTO - INICIO)
+            throw new IllegalArgumentException();
+        verifica();
+        int dispersion = dispersor.dispersa(llave);
+        int i = busca(llave, dispersion);
+        try {
+            if (i >= 0) {
+                basura += tamano(direccionEn(i) - 1);
+                pon(i, dispersion, datos.agrega(llave, valor));
+                compactaSiHaceFalta();
+                return;
+            }
+            if (elementos + 1 >= MAXIMA_CARGA * capacidad) {
+                crece();
+                i = busca(llave, dispersion);
+            }
+            pon(-i - 1, dispersion, datos.agrega(llave, valor));
+            elementos++;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, o si
+     *         no caben en un segmento de la bitácora.
+     * @throws IllegalStateException si el diccionario está cerrado, o si el
+     *         índice ya no puede crecer.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void agrega(byte[] llave, byte[] valor) {
+        if (llave == null || valor == null)
+            throw new IllegalArgumentException();
+        agrega(ByteBuffer.wrap(llave), ByteBuffer.wrap(valor));
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave proporcionada.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos, o si
+     *         no caben en un segmento de la bitácora.
+     * @throws IllegalStateException si el diccionario está cerrado, o si el
+     *         índice ya no puede crecer.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void agrega(String llave, String valor) {
+        agrega(bytes(llave), bytes(valor));
+    }
+
+    /**
+     * Regresa una vista de sólo lectura del valor asociado a la llave
+     * proporcionada. La vista deja de ser válida en cuanto se modifica o se
+     * cierra el diccionario.
+     * @param llave la llave para buscar el valor.
+     * @return una vista del valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public ByteBuffer get(ByteBuffer llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        verifica();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i < 0)
+            throw new NoSuchElementException();
+        return valor(direccionEn(i) - 1);
+    }
+
+    /**
+     * Regresa una copia del valor asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return una copia del valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public byte[] get(byte[] llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        ByteBuffer valor = get(ByteBuffer.wrap(llave));
+        byte[] copia = new byte[valor.remaining()];
+        valor.get(copia);
+        return copia;
+    }
+
+    /**
+     * Regresa el valor asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no está en el diccionario.
+     */
+    public String get(String llave) {
+        return new String(get(bytes(llave)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public boolean contiene(ByteBuffer llave) {
+        verifica();
+        return llave != null && busca(llave, dispersor.dispersa(llave)) >= 0;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public boolean contiene(byte[] llave) {
+        return contiene(llave == null ? null : ByteBuffer.wrap(llave));
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <code>true</code> si la llave está en el diccionario,
+     *         <code>false</code> en otro caso.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public boolean contiene(String llave) {
+        return contiene(llave == null ? null : bytes(llave));
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada,
+     * escribiendo una lápida en la bitácora.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void elimina(ByteBuffer llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        verifica();
+        int i = busca(llave, dispersor.dispersa(llave));
+        if (i < 0)
+            throw new NoSuchElementException();
+        try {
+            basura += tamano(direccionEn(i) - 1) +
+                tamano(datos.agrega(llave, null));
+            quita(i);
+            compactaSiHaceFalta();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void elimina(byte[] llave) {
+        if (llave == null)
+            throw new IllegalArgumentException();
+        elimina(ByteBuffer.wrap(llave));
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws NoSuchElementException si la llave no se encuentra en
+     *         el diccionario.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void elimina(String llave) {
+        elimina(bytes(llave));
+    }
+
+    /**
+     * Nos dice la carga del índice del diccionario.
+     * @return la carga del índice del diccionario.
+     */
+    public double carga() {
+        return (double)elementos / capacidad;
+    }
+
+    /**
+     * Regresa el número de entradas en el diccionario.
+     * @return el número de entradas en el diccionario.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Nos dice si el diccionario es vacío.
+     * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el algoritmo de dispersión del diccionario.
+     * @return el algoritmo de dispersión del diccionario.
+     */
+    public AlgoritmoDispersor getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * Copia los registros vivos a una bitácora nueva que reemplaza a la
+     * anterior, descartando la basura. El diccionario lo hace solo cuando la
+     * basura es más de la mitad de la bitácora.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void compacta() {
+        verifica();
+        Path temporal = hermano(".compacta");
+        Path temporalIndice = hermano(".indice.compacta");
+        Bitacora nueva = null;
+        MappedByteBuffer nuevo;
+        try {
+            Files.deleteIfExists(temporal);
+            nueva = new Bitacora(temporal);
+            /* Las direcciones nuevas van a un índice aparte; el índice en uso
+             * sigue apuntando a la bitácora anterior hasta que la nueva la
+             * reemplaza. */
+            nuevo = mapeaIndice(temporalIndice, capacidad);
+            for (int i = 0; i < capacidad; i++) {
+                long d = direccionEn(i) - 1;
+                if (d == -1)
+                    continue;
+                ByteBuffer s = datos.segmento(d);
+                int o = desplazamiento(d);
+                int lk = s.getInt(o);
+                long direccion =
+                    nueva.agrega(vista(s, o + 8, lk),
+                                 vista(s, o + 8 + lk, s.getInt(o + 4)));
+                nuevo.putInt(CABECERA + LUGAR * i, dispersionEn(i));
+                nuevo.putLong(CABECERA + LUGAR * i + 4, direccion + 1);
+            }
+            nueva.fuerza();
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            if (nueva != null) {
+                try {
+                    nueva.cierra(false);
+                } catch (IOException ioe) {
+                    e.addSuppressed(ioe);
+                }
+            }
+            try {
+                Files.deleteIfExists(temporal);
+                Files.deleteIfExists(temporalIndice);
+            } catch (IOException ioe) {
+                e.addSuppressed(ioe);
+            }
+            if (e instanceof IOException)
+                throw new UncheckedIOException((IOException)e);
+            throw (RuntimeException)e;
+        }
+        /* La bitácora nueva ya está en su lugar; el índice que se guardó
+         * sigue marcado como abierto, así que si algo falla de aquí en
+         * adelante se reconstruye al abrir el diccionario. */
+        Bitacora anterior = datos;
+        datos = nueva;
+        indice = nuevo;
+        basura = 0;
+        try {
+            Files.move(temporalIndice, archivoIndice,
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            anterior.cierra(false);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Obliga a que los cambios del diccionario lleguen al disco.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public void sincroniza() {
+        verifica();
+        datos.fuerza();
+        escribeCabecera(ABIERTO);
+        indice.force();
+    }
+
+    /**
+     * Cierra el diccionario, llevando sus cambios al disco y marcando el
+     * índice como válido para la siguiente vez que se abra. Cerrar un
+     * diccionario cerrado no hace nada.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Override public void close() throws IOException {
+        if (datos == null)
+            return;
+        datos.fuerza();
+        escribeCabecera(ABIERTO);
+        indice.force();
+        indice.putInt(8, CERRADO);
+        indice.force();
+        Bitacora d = datos;
+        datos = null;
+        indice = null;
+        d.cierra(true);
+    }
+
+    /**
+     * Regresa un iterador para iterar vistas de las llaves del diccionario.
+     * El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar las llaves del diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    public Iterator<ByteBuffer> iteradorLlaves() {
+        return new IteradorLlaves();
+    }
+
+    /**
+     * Regresa un iterador para iterar vistas de los valores del diccionario.
+     * El diccionario se itera sin ningún orden específico.
+     * @return un iterador para iterar los valores del diccionario.
+     * @throws IllegalStateException si el diccionario está cerrado.
+     */
+    @Override public Iterator<ByteBuffer> iterator() {
+        return new IteradorValores();
+    }
+
+    /* Regresa el dispersor de búferes de un algoritmo. */
+    private static Dispersor<ByteBuffer>
+    dispersor(AlgoritmoDispersor algoritmo) {
+        switch (algoritmo) {
+        case XOR_STRING:
+            return Dispersores::dispersaXOR;
+        case BJ_STRING:
+            return Dispersores::dispersaBJ;
+        case DJB_STRING:
+            return Dispersores::dispersaDJB;
+        case MURMUR3_STRING:
+            return Dispersores::dispersaMurmur3;
+        case XXH32_STRING:
+            return Dispersores::dispersaXXH32;
+        case XXH64_STRING:
+            return b -> Long.hashCode(Dispersores.dispersaXXH64(b));
+        case WY_STRING:
+            return b -> Long.hashCode(Dispersores.dispersaWY(b));
+        default: throw new IllegalArgumentException("Algoritmo inválido");
+        }
+    }
+
+    /* Regresa los bytes UTF-8 de una cadena. */
+    private static byte[] bytes(String s) {
+        if (s == null)
+            throw new IllegalArgumentException();
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* Regresa el desplazamiento de una dirección dentro de su segmento. */
+    private static int desplazamiento(long direccion) {
+        return (int)(direccion & (SEGMENTO - 1));
+    }
+
+    /* Regresa una vista de sólo lectura de n bytes del segmento a partir de
+     * i. */
+    private static ByteBuffer vista(ByteBuffer segmento, int i, int n) {
+        ByteBuffer vista = segmento.duplicate();
+        ((Buffer)vista).limit(i + n).position(i);
+        return vista.slice().asReadOnlyBuffer();
+    }
+
+    /* Regresa un archivo junto a la bitácora, con su nombre y el sufijo. */
+    private Path hermano(String sufijo) {
+        return archivo.resolveSibling(archivo.getFileName() + sufijo);
+    }
+
+    /* Lanza IllegalStateException si el diccionario está cerrado. */
+    private void verifica() {
+        if (datos == null)
+            throw new IllegalStateException("Diccionario cerrado");
+    }
+
+    /* Mapea el índice existente si se cerró bien, corresponde a la bitácora
+     * y usa el algoritmo pedido; regresa si lo pudo usar. */
+    private boolean abreIndice(AlgoritmoDispersor pedido) throws IOException {
+        if (!Files.exists(archivoIndice))
+            return false;
+        MappedByteBuffer b;
+        long t;
+        try (FileChannel canal = FileChannel.open(
+                 archivoIndice, StandardOpenOption.READ,
+                 StandardOpenOption.WRITE)) {
+            t = canal.size();
+            if (t < CABECERA || t > Integer.MAX_VALUE)
+                return false;
+            b = canal.map(FileChannel.MapMode.READ_WRITE, 0, t);
+        }
+        int a = b.getInt(12);
+        int c = b.getInt(16);
+        int n = b.getInt(20);
+        if (b.getInt(0) != MAGICO_INDICE || b.getInt(4) != VERSION ||
+            b.getInt(8) != CERRADO || b.getLong(24) != datos.fin ||
+            a < 0 || a >= AlgoritmoDispersor.values().length ||
+            (pedido != null && pedido.ordinal() != a) ||
+            c < MINIMA_CAPACIDAD || c > MAXIMA_CAPACIDAD ||
+            Integer.bitCount(c) != 1 || t != CABECERA + (long)LUGAR * c ||
+            n < 0 || n >= c)
+            return false;
+        indice = b;
+        capacidad = c;
+        corrimiento = Integer.numberOfLeadingZeros(c) + 1;
+        algoritmo = AlgoritmoDispersor.values()[a];
+        dispersor = dispersor(algoritmo);
+        elementos = n;
+        basura = b.getLong(32);
+        return true;
+    }
+
+    /* Crea un índice vacío con la capacidad recibida, que es potencia de 2,
+     * y reemplaza con él al archivo del índice. Se crea aparte para no
+     * recortar un archivo que sigue mapeado. */
+    private void creaIndice(int capacidad) throws IOException {
+        Path temporal = hermano(".indice.nuevo");
+        MappedByteBuffer b = mapeaIndice(temporal, capacidad);
+        Files.move(temporal, archivoIndice,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+        indice = b;
+        this.capacidad = capacidad;
+        corrimiento = Integer.numberOfLeadingZeros(capacidad) + 1;
+    }
+
+    /* Crea en el archivo recibido un índice vacío con la capacidad
+     * recibida, marcado como abierto, y regresa su mapeo. */
+    private MappedByteBuffer mapeaIndice(Path archivo, int capacidad)
+        throws IOException {
+        MappedByteBuffer b;
+        try (FileChannel canal = FileChannel.open(
+                 archivo, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                 StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            b = canal.map(FileChannel.MapMode.READ_WRITE, 0,
+                          CABECERA + (long)LUGAR * capacidad);
+        }
+        b.putInt(0, MAGICO_INDICE);
+        b.putInt(4, VERSION);
+        b.putInt(8, ABIERTO);
+        b.putInt(12, algoritmo.ordinal());
+        b.putInt(16, capacidad);
+        return b;
+    }
+
+    /* Escribe los contadores y el estado en la cabecera del índice. */
+    private void escribeCabecera(int estado) {
+        indice.putInt(8, estado);
+        indice.putInt(20, elementos);
+        indice.putLong(24, datos.fin);
+        indice.putLong(32, basura);
+    }
+
+    /* Construye el índice recorriendo la bitácora. */
+    private void reconstruye() throws IOException {
+        creaIndice(MINIMA_CAPACIDAD);
+        elementos = 0;
+        basura = 0;
+        long p = INICIO;
+        while (p < datos.fin) {
+            ByteBuffer s = datos.segmento(p);
+            int o = desplazamiento(p);
+            if (SEGMENTO - o < 8 || s.getInt(o) == RELLENO) {
+                p = (p | (SEGMENTO - 1)) + 1;
+                continue;
+            }
+            if (p + 8 > datos.fin)
+                throw new IOException("Bitácora inválida");
+            int lk = s.getInt(o);
+            int lv = s.getInt(o + 4);
+            long n = 8L + lk + Math.max(lv, 0);
+            if (lk < 0 || lv < BORRADO || o + n > SEGMENTO ||
+                p + n > datos.fin)
+                throw new IOException("Bitácora inválida");
+            ByteBuffer llave = vista(s, o + 8, lk);
+            int dispersion = dispersor.dispersa(llave);
+            int i = busca(llave, dispersion);
+            if (lv == BORRADO) {
+                basura += n;
+                if (i >= 0) {
+                    basura += tamano(direccionEn(i) - 1);
+                    quita(i);
+                }
+            } else if (i >= 0) {
+                basura += tamano(direccionEn(i) - 1);
+                pon(i, dispersion, p);
+            } else {
+                if (elementos + 1 >= MAXIMA_CARGA * capacidad) {
+                    crece();
+                    i = busca(llave, dispersion);
+                }
+                pon(-i - 1, dispersion, p);
+                elementos++;
+            }
+            p += n;
+        }
+    }
+
+    /* Regresa la dispersión guardada en el lugar i del índice. */
+    private int dispersionEn(int i) {
+        return indice.getInt(CABECERA + LUGAR * i);
+    }
+
+    /* Regresa la dirección más uno guardada en el lugar i del índice; 0 si
+     * está libre. */
+    private long direccionEn(int i) {
+        return indice.getLong(CABECERA + LUGAR * i + 4);
+    }
+
+    /* Guarda una dispersión y una dirección en el lugar i del índice. */
+    private void pon(int i, int dispersion, long direccion) {
+        indice.putInt(CABECERA + LUGAR * i, dispersion);
+        indice.putLong(CABECERA + LUGAR * i + 4, direccion + 1);
+    }
+
+    /* Regresa el lugar del índice de una dispersión. */
+    private int lugar(int dispersion) {
+        return (dispersion * 0x9E3779B9) >>> corrimiento;
+    }
+
+    /* Regresa el lugar de la llave en el índice, o -(p + 1) si no está, donde
+     * p es el lugar libre donde se insertaría. */
+    private int busca(ByteBuffer llave, int dispersion) {
+        int mascara = capacidad - 1;
+        int i = lugar(dispersion);
+        long d;
+        while ((d = direccionEn(i)) != 0) {
+            if (dispersionEn(i) == dispersion && iguales(d - 1, llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -i - 1;
+    }
+
+    /* Vacía el lugar i del índice; las llaves siguientes que no están en su
+     * lugar se recorren hacia atrás. */
+    private void quita(int i) {
+        int mascara = capacidad - 1;
+        for (int j = (i + 1) & mascara; direccionEn(j) != 0;
+             j = (j + 1) & mascara) {
+            /* La llave en j puede ocupar el lugar i si i no está entre su
+             * lugar y j. */
+            int k = lugar(dispersionEn(j));
+            if (((j - k) & mascara) >= ((j - i) & mascara)) {
+                pon(i, dispersionEn(j), direccionEn(j) - 1);
+                i = j;
+            }
+        }
+        indice.putLong(CABECERA + LUGAR * i + 4, 0);
+        elementos--;
+    }
+
+    /* Duplica la capacidad del índice, usando las dispersiones guardadas. */
+    private void crece() throws IOException {
+        if (capacidad == MAXIMA_CAPACIDAD)
+            throw new IllegalStateException("Diccionario lleno");
+        MappedByteBuffer anterior = indice;
+        int c = capacidad;
+        creaIndice(c * 2);
+        int mascara = capacidad - 1;
+        for (int i = 0; i < c; i++) {
+            long d = anterior.getLong(CABECERA + LUGAR * i + 4);
+            if (d == 0)
+                continue;
+            int dispersion = anterior.getInt(CABECERA + LUGAR * i);
+            int j = lugar(dispersion);
+            while (direccionEn(j) != 0)
+                j = (j + 1) & mascara;
+            pon(j, dispersion, d - 1);
+        }
+    }
+
+    /* Regresa el tamaño del registro en una dirección. */
+    private long tamano(long direccion) {
+        ByteBuffer s = datos.segmento(direccion);
+        int o = desplazamiento(direccion);
+        return 8L + s.getInt(o) + Math.max(s.getInt(o + 4), 0);
+    }
+
+    /* Regresa una vista de sólo lectura del valor en una dirección. */
+    private ByteBuffer valor(long direccion) {
+        ByteBuffer s = datos.segmento(direccion);
+        int o = desplazamiento(direccion);
+        return vista(s, o + 8 + s.getInt(o), s.getInt(o + 4));
+    }
+
+    /* Nos dice si la llave en una dirección es igual a los bytes restantes
+     * del búfer. */
+    private boolean iguales(long direccion, ByteBuffer llave) {
+        ByteBuffer s = datos.segmento(direccion);
+        int i = desplazamiento(direccion);
+        int n = llave.remaining();
+        if (s.getInt(i) != n)
+            return false;
+        i += 8;
+        int j = llave.position();
+        for (int k = 0; k < n; k++)
+            if (s.get(i + k) != llave.get(j + k))
+                return false;
+        return true;
+    }
+
+    /* Compacta la bitácora si más de la mitad de sus bytes son basura. */
+    private void compactaSiHaceFalta() {
+        if (basura >= MINIMA_BASURA && basura * 2 >= datos.fin - INICIO)
+            compacta();
+    }
+}
@@ -0,0 +1,223 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Clase abstracta para dispersores de bytes que reciben la llave por
+ * partes. La llave se agrega con los métodos {@link #actualiza}, en tantas
+ * partes como se quiera, y {@link #termina} regresa la dispersión; para los
+ * mismos bytes, la dispersión es la misma que regresa el método
+ * correspondiente de {@link Dispersores} con la llave completa, sin importar
+ * cómo se partió. Así se pueden dispersar archivos o flujos de cualquier
+ * tamaño sin tenerlos completos en memoria.
+ *
+ * <p>Los dispersores se obtienen con {@link
+ * FabricaDispersores#dispersorIncremental}. Internamente se procesan
+ * bloques del tamaño que usa cada algoritmo, y sólo se copian los bytes que
+ * no completan un bloque. Un dispersor no debe usarse en varios hilos a la
+ * vez.</p>
+ */
+public abstract class DispersorIncremental {
+
+    /* Tamaño del búfer para leer canales, flujos y búferes directos. */
+    private static final int LECTURA = 1 << 20;
+    /* Tamaño de los pedazos que se copian de un búfer directo. */
+    private static final int COPIA = 1 << 16;
+    /* Tamaño máximo de cada mapeo de un archivo. */
+    private static final long MAPEO = 1L << 30;
+
+    /* Los bytes pendientes que no completan un bloque. */
+    private byte[] pendiente;
+    /* El número de bytes pendientes. */
+    private int pendientes;
+    /* El tamaño de bloque del algoritmo. */
+    private int tamano;
+    /* Si el último bloque debe quedarse pendiente aunque esté completo. */
+    private boolean estricto;
+    /* El número de bytes recibidos. */
+    private long longitud;
+    /* El búfer de lectura, creado la primera vez que se necesita. */
+    private byte[] lectura;
+
+    /* Construye un dispersor con el tamaño de bloque del algoritmo; si es
+     * estricto, un bloque sólo se procesa cuando se sabe que la llave tiene
+     * más bytes después de él. */
+    DispersorIncremental(int tamano, boolean estricto) {
+        this.tamano = tamano;
+        this.estricto = estricto;
+        pendiente = new byte[tamano];
+    }
+
+    /**
+     * Agrega los bytes de un arreglo a la llave.
+     * @param datos el arreglo con los bytes.
+     */
+    public void actualiza(byte[] datos) {
+        actualiza(datos, 0, datos.length);
+    }
+
+    /**
+     * Agrega los bytes de un rango de un arreglo a la llave.
+     * @param datos el arreglo con los bytes.
+     * @param inicio el índice del primer byte.
+     * @param longitud el número de bytes.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public void actualiza(byte[] datos, int inicio, int longitud) {
+        if (inicio < 0 || longitud < 0 || inicio > datos.length - longitud)
+            throw new ExcepcionIndiceInvalido("Rango inválido: " + inicio +
+                                              ", " + longitud);
+        this.longitud += longitud;
+        if (pendientes > 0) {
+            int k = Math.min(longitud, tamano - pendientes);
+            System.arraycopy(datos, inicio, pendiente, pendientes, k);
+            pendientes += k;
+            inicio += k;
+            longitud -= k;
+            if (pendientes < tamano || (estricto && longitud == 0))
+                return;
+            procesa(pendiente, 0, 1);
+            pendientes = 0;
+        }
+        int bloques = (estricto ? longitud - 1 : longitud) / tamano;
+        if (bloques > 0) {
+            procesa(datos, inicio, bloques);
+            inicio += bloques * tamano;
+            longitud -= bloques * tamano;
+        }
+        System.arraycopy(datos, inicio, pendiente, 0, longitud);
+        pendientes = longitud;
+    }
+
+    /**
+     * Agrega los bytes restantes de un búfer, directo o no, a la llave. Al
+     * terminar la posición del búfer es su límite.
+     * @param datos el búfer con los bytes.
+     */
+    public void actualiza(ByteBuffer datos) {
+        if (datos.hasArray()) {
+            actualiza(datos.array(), datos.arrayOffset() + datos.position(),
+                      datos.remaining());
+            ((Buffer)datos).position(datos.limit());
+            return;
+        }
+        byte[] b = lectura();
+        while (datos.hasRemaining()) {
+            int k = Math.min(datos.remaining(), COPIA);
+            datos.get(b, 0, k);
+            actualiza(b, 0, k);
+        }
+    }
+
+    /**
+     * Agrega a la llave los bytes de un canal hasta que se acaban, leyéndolos
+     * en bloques grandes. El canal no se cierra.
+     * @param canal el canal con los bytes.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void actualiza(ReadableByteChannel canal) {
+        ByteBuffer b = ByteBuffer.wrap(lectura());
+        try {
+            while (canal.read(b) >= 0) {
+                ((Buffer)b).flip();
+                actualiza(b);
+                ((Buffer)b).clear();
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Agrega a la llave los bytes de un flujo hasta que se acaban, leyéndolos
+     * en bloques grandes. El flujo no se cierra.
+     * @param flujo el flujo con los bytes.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void actualiza(InputStream flujo) {
+        byte[] b = lectura();
+        try {
+            int k;
+            while ((k = flujo.read(b)) >= 0)
+                actualiza(b, 0, k);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Agrega a la llave todos los bytes de un archivo, mapeándolo a memoria
+     * por pedazos de a lo más un gigabyte.
+     * @param archivo el archivo con los bytes.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void actualiza(Path archivo) {
+        try (FileChannel canal = FileChannel.open(archivo,
+                                                  StandardOpenOption.READ)) {
+            long total = canal.size();
+            for (long p = 0; p < total; p += MAPEO) {
+                long k = Math.min(MAPEO, total - p);
+                actualiza(canal.map(FileChannel.MapMode.READ_ONLY, p, k));
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Regresa la dispersión de todos los bytes recibidos desde que se creó o
+     * reinició el dispersor, y lo reinicia. Para los algoritmos de 32 bits
+     * la dispersión se extiende con signo, de manera que convertida a
+     * <code>int</code> es la que regresa {@link Dispersores}.
+     * @return la dispersión de los bytes recibidos.
+     */
+    public long termina() {
+        long r = concluye(pendiente, pendientes, longitud);
+        reinicia();
+        return r;
+    }
+
+    /**
+     * Descarta los bytes recibidos y deja el dispersor como recién creado.
+     */
+    public void reinicia() {
+        pendientes = 0;
+        longitud = 0;
+        inicia();
+    }
+
+    /**
+     * Regresa el número de bytes recibidos desde que se creó o reinició el
+     * dispersor.
+     * @return el número de bytes recibidos.
+     */
+    public long getLongitud() {
+        return longitud;
+    }
+
+    /* Regresa el búfer de lectura. */
+    private byte[] lectura() {
+        if (lectura == null)
+            lectura = new byte[LECTURA];
+        return lectura;
+    }
+
+    /* Deja el estado del algoritmo como al inicio. */
+    abstract void inicia();
+
+    /* Procesa bloques completos del arreglo a partir de i. */
+    abstract void procesa(byte[] a, int i, int bloques);
+
+    /* Regresa la dispersión con los n bytes que no completaron un bloque y
+     * la longitud total de la llave. */
+    abstract long concluye(byte[] resto, int n, long longitud);
+}
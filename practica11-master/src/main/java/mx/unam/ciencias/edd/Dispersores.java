@@ -1,10 +1,36 @@
 package mx.unam.ciencias.edd;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
- * Clase para métodos estáticos con dispersores de bytes.
+ * Clase para métodos estáticos con dispersores de bytes. Cada dispersor
+ * recibe un arreglo completo, un rango de un arreglo, o un {@link ByteBuffer}
+ * del que se dispersan los bytes entre su posición y su límite sin
+ * modificarlos; para los mismos bytes, las tres versiones regresan lo
+ * mismo. Para dispersar una llave que llega por partes se usa un {@link
+ * DispersorIncremental}.
  */
 public class Dispersores {
 
+    /* Primos de xxHash32. */
+    private static final int XXH32_P1 = 0x9E3779B1;
+    private static final int XXH32_P2 = 0x85EBCA77;
+    private static final int XXH32_P3 = 0xC2B2AE3D;
+    private static final int XXH32_P4 = 0x27D4EB2F;
+    private static final int XXH32_P5 = 0x165667B1;
+    /* Primos de xxHash64. */
+    private static final long XXH64_P1 = 0x9E3779B185EBCA87L;
+    private static final long XXH64_P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XXH64_P3 = 0x165667B19E3779F9L;
+    private static final long XXH64_P4 = 0x85EBCA77C2B2AE63L;
+    private static final long XXH64_P5 = 0x27D4EB2F165667C5L;
+    /* Secretos predeterminados de wyhash. */
+    private static final long WY_P0 = 0x2d358dccaa6c78a5L;
+    private static final long WY_P1 = 0x8bb84b93962eacc9L;
+    private static final long WY_P2 = 0x4b33a62ed433d4a3L;
+    private static final long WY_P3 = 0x4d5a2da51de1aa47L;
+
     /* Constructor privado para evitar instanciación. */
     private Dispersores() {}
 
@@ -13,80 +39,555 @@ public class Dispersores {
      * @param llave la llave a dispersar.
      * @return la dispersión de XOR de la llave.
      */
-    public static int dispersaXOR(byte[] llave)
-    {
-        int l = llave.length;
+    public static int dispersaXOR(byte[] llave) {
+        return xor(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión XOR sobre los bytes de un rango de un arreglo,
+     * sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de XOR de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaXOR(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return xor(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión XOR sobre los bytes restantes de un búfer,
+     * directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión de XOR de la llave.
+     */
+    public static int dispersaXOR(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return xor(llave.array(), llave.arrayOffset() + i,
+                       llave.remaining());
+        return xor(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(byte[] llave) {
+        return bj(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los bytes de un rango de un
+     * arreglo, sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Bob Jenkins de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaBJ(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return bj(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión de Bob Jenkins sobre los bytes restantes de un
+     * búfer, directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión de Bob Jenkins de la llave.
+     */
+    public static int dispersaBJ(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return bj(llave.array(), llave.arrayOffset() + i,
+                      llave.remaining());
+        return bj(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein.
+     * @param llave la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(byte[] llave) {
+        return djb(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre los bytes de un rango
+     * de un arreglo, sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaDJB(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return djb(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión Daniel J. Bernstein sobre los bytes restantes de
+     * un búfer, directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión de Daniel Bernstein de la llave.
+     */
+    public static int dispersaDJB(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return djb(llave.array(), llave.arrayOffset() + i,
+                       llave.remaining());
+        return djb(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) de Austin
+     * Appleby, con semilla 0. Lee la llave cuatro bytes a la vez.
+     * @param llave la llave a dispersar.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(byte[] llave) {
+        return murmur3(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) de Austin
+     * Appleby, con semilla 0 sobre los bytes de un rango de un arreglo, sin
+     * copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión MurmurHash3 de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaMurmur3(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return murmur3(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión MurmurHash3 de 32 bits (x86_32) de Austin
+     * Appleby, con semilla 0 sobre los bytes restantes de un búfer, directo o
+     * no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión MurmurHash3 de la llave.
+     */
+    public static int dispersaMurmur3(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return murmur3(llave.array(), llave.arrayOffset() + i,
+                           llave.remaining());
+        return murmur3(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión xxHash de 32 bits de Yann Collet, con semilla 0.
+     * Lee la llave cuatro bytes a la vez.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash32 de la llave.
+     */
+    public static int dispersaXXH32(byte[] llave) {
+        return xxh32(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión xxHash de 32 bits de Yann Collet, con semilla 0
+     * sobre los bytes de un rango de un arreglo, sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión xxHash32 de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static int dispersaXXH32(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return xxh32(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión xxHash de 32 bits de Yann Collet, con semilla 0
+     * sobre los bytes restantes de un búfer, directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión xxHash32 de la llave.
+     */
+    public static int dispersaXXH32(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return xxh32(llave.array(), llave.arrayOffset() + i,
+                         llave.remaining());
+        return xxh32(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión xxHash de 64 bits de Yann Collet, con semilla 0.
+     * Lee la llave ocho bytes a la vez.
+     * @param llave la llave a dispersar.
+     * @return la dispersión xxHash64 de la llave.
+     */
+    public static long dispersaXXH64(byte[] llave) {
+        return xxh64(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión xxHash de 64 bits de Yann Collet, con semilla 0
+     * sobre los bytes de un rango de un arreglo, sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión xxHash64 de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static long dispersaXXH64(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return xxh64(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión xxHash de 64 bits de Yann Collet, con semilla 0
+     * sobre los bytes restantes de un búfer, directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión xxHash64 de la llave.
+     */
+    public static long dispersaXXH64(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return xxh64(llave.array(), llave.arrayOffset() + i,
+                         llave.remaining());
+        return xxh64(llave, i, llave.remaining());
+    }
+
+    /**
+     * Función de dispersión wyhash (versión final4) de Wang Yi, con semilla
+     * 0 y los secretos predeterminados. Lee la llave ocho bytes a la vez.
+     * @param llave la llave a dispersar.
+     * @return la dispersión wyhash de la llave.
+     */
+    public static long dispersaWY(byte[] llave) {
+        return wy(llave, 0, llave.length);
+    }
+
+    /**
+     * Función de dispersión wyhash (versión final4) de Wang Yi, con semilla
+     * 0 y los secretos predeterminados sobre los bytes de un rango de un
+     * arreglo, sin copiarlos.
+     * @param llave el arreglo con la llave a dispersar.
+     * @param inicio el índice del primer byte de la llave.
+     * @param longitud el número de bytes de la llave.
+     * @return la dispersión wyhash de la llave.
+     * @throws ExcepcionIndiceInvalido si el rango no está dentro del
+     *         arreglo.
+     */
+    public static long dispersaWY(byte[] llave, int inicio, int longitud) {
+        verificaRango(llave, inicio, longitud);
+        return wy(llave, inicio, longitud);
+    }
+
+    /**
+     * Función de dispersión wyhash (versión final4) de Wang Yi, con semilla
+     * 0 y los secretos predeterminados sobre los bytes restantes de un búfer,
+     * directo o no.
+     * @param llave el búfer con la llave a dispersar.
+     * @return la dispersión wyhash de la llave.
+     */
+    public static long dispersaWY(ByteBuffer llave) {
+        int i = llave.position();
+        if (llave.hasArray())
+            return wy(llave.array(), llave.arrayOffset() + i,
+                      llave.remaining());
+        return wy(llave, i, llave.remaining());
+    }
+
+    /* Lanza ExcepcionIndiceInvalido si el rango no está dentro del
+     * arreglo. */
+    private static void verificaRango(byte[] a, int inicio, int longitud) {
+        if (inicio < 0 || longitud < 0 || inicio > a.length - longitud)
+            throw new ExcepcionIndiceInvalido("Rango inválido: " + inicio +
+                                              ", " + longitud);
+    }
+
+    /* XOR de los n bytes de la llave a partir de i. */
+    private static int xor(byte[] llave, int i, int n) {
         int r = 0;
-        int i = 0;
+        for (; n > 3; i += 4, n -= 4)
+            r ^= combina(llave[i], llave[i+1], llave[i+2], llave[i+3]);
+        switch (n) {
+        case 1: r ^= combina(llave[i], (byte)0, (byte)0, (byte)0);
+            break;
+        case 2: r ^= combina(llave[i], llave[i+1], (byte)0, (byte)0);
+            break;
+        case 3: r ^= combina(llave[i], llave[i+1], llave[i+2], (byte)0);
+            break;
+        }
+        return r;
+    }
+
+    /* Bob Jenkins de los n bytes de la llave a partir de i. */
+    private static int bj(byte[] llave, int i, int n) {
+        int a = 0x9e3779b9;
+        int b = a;
+        int c = 0xffffffff;
+        int disponible = n;
+        for (; disponible >= 12; i += 12, disponible -= 12) {
+            a += entero(llave, i);
+            b += entero(llave, i+4);
+            c += entero(llave, i+8);
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a <<  8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a <<  16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a <<  10);
+            c -= a; c -= b; c ^= (b >>> 15);
+        }
+        c += n;
+        switch (disponible) {
+        case 11: c += ((llave[i+10] & 0xFF) << 24);
+        case 10: c += ((llave[i+9] & 0xFF) << 16);
+        case  9: c += ((llave[i+8] & 0xFF) << 8);
+        case  8: b += ((llave[i+7] & 0xFF) << 24);
+        case  7: b += ((llave[i+6] & 0xFF) << 16);
+        case  6: b += ((llave[i+5] & 0xFF) << 8);
+        case  5: b += (llave[i+4] & 0xFF);
+        case  4: a += ((llave[i+3] & 0xFF) << 24);
+        case  3: a += ((llave[i+2] & 0xFF) << 16);
+        case  2: a += ((llave[i+1] & 0xFF) << 8);
+        case  1: a += (llave[i] & 0xFF);
+        }
+        a -= b; a -= c; a ^= (c >>> 13);
+        b -= c; b -= a; b ^= (a <<  8);
+        c -= a; c -= b; c ^= (b >>> 13);
+        a -= b; a -= c; a ^= (c >>> 12);
+        b -= c; b -= a; b ^= (a <<  16);
+        c -= a; c -= b; c ^= (b >>> 5);
+        a -= b; a -= c; a ^= (c >>> 3);
+        b -= c; b -= a; b ^= (a <<  10);
+        c -= a; c -= b; c ^= (b >>> 15);
+        return c;
+    }
+
+    /* Daniel J. Bernstein de los n bytes de la llave a partir de i. */
+    private static int djb(byte[] llave, int i, int n) {
+        int h = 5381;
+        for (int fin = i + n; i < fin; i++)
+            h += (h << 5) + (llave[i] & 0xFF);
+        return h;
+    }
+
+    /* MurmurHash3 de los n bytes de la llave a partir de i. */
+    private static int murmur3(byte[] llave, int i, int n) {
+        int h = 0;
+        int fin = i + (n & ~3);
+        for (; i < fin; i += 4) {
+            h ^= murmur3Mezcla(entero(llave, i));
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+        int k = 0;
+        switch (n & 3) {
+        case 3: k ^= (llave[i+2] & 0xFF) << 16;
+        case 2: k ^= (llave[i+1] & 0xFF) << 8;
+        case 1: k ^= (llave[i] & 0xFF);
+            h ^= murmur3Mezcla(k);
+        }
+        h ^= n;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /* xxHash32 de los n bytes de la llave a partir de i. */
+    private static int xxh32(byte[] llave, int i, int n) {
+        int fin = i + n;
+        int h;
+        if (n >= 16) {
+            int v1 = XXH32_P1 + XXH32_P2;
+            int v2 = XXH32_P2;
+            int v3 = 0;
+            int v4 = -XXH32_P1;
+            for (int limite = fin - 16; i <= limite; i += 16) {
+                v1 = xxh32Ronda(v1, entero(llave, i));
+                v2 = xxh32Ronda(v2, entero(llave, i+4));
+                v3 = xxh32Ronda(v3, entero(llave, i+8));
+                v4 = xxh32Ronda(v4, entero(llave, i+12));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+                Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = XXH32_P5;
+        }
+        h += n;
+        for (; i + 4 <= fin; i += 4)
+            h = Integer.rotateLeft(h + entero(llave, i) * XXH32_P3, 17) *
+                XXH32_P4;
+        for (; i < fin; i++)
+            h = Integer.rotateLeft(h + (llave[i] & 0xFF) * XXH32_P5, 11) *
+                XXH32_P1;
+        h ^= h >>> 15;
+        h *= XXH32_P2;
+        h ^= h >>> 13;
+        h *= XXH32_P3;
+        return h ^ (h >>> 16);
+    }
 
-        while (l > 3)
-        {
-            r ^= combina(llave[i],llave[i+1],llave[i+2],llave[i+3]);
+    /* xxHash64 de los n bytes de la llave a partir de i. */
+    private static long xxh64(byte[] llave, int i, int n) {
+        int fin = i + n;
+        long h;
+        if (n >= 32) {
+            long v1 = XXH64_P1 + XXH64_P2;
+            long v2 = XXH64_P2;
+            long v3 = 0;
+            long v4 = -XXH64_P1;
+            for (int limite = fin - 32; i <= limite; i += 32) {
+                v1 = xxh64Ronda(v1, largo(llave, i));
+                v2 = xxh64Ronda(v2, largo(llave, i+8));
+                v3 = xxh64Ronda(v3, largo(llave, i+16));
+                v4 = xxh64Ronda(v4, largo(llave, i+24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = xxh64Combina(h, v1);
+            h = xxh64Combina(h, v2);
+            h = xxh64Combina(h, v3);
+            h = xxh64Combina(h, v4);
+        } else {
+            h = XXH64_P5;
+        }
+        h += n;
+        for (; i + 8 <= fin; i += 8)
+            h = Long.rotateLeft(h ^ xxh64Ronda(0, largo(llave, i)), 27) *
+                XXH64_P1 + XXH64_P4;
+        if (i + 4 <= fin) {
+            h = Long.rotateLeft(h ^ (entero(llave, i) & 0xFFFFFFFFL) *
+                                XXH64_P1, 23) * XXH64_P2 + XXH64_P3;
             i += 4;
-            l -= 4;
         }
-        switch (l)
-        {
-            case 1: r ^= combina(llave[i],(byte) 0,(byte) 0,(byte) 0);
+        for (; i < fin; i++)
+            h = Long.rotateLeft(h ^ (llave[i] & 0xFF) * XXH64_P5, 11) *
+                XXH64_P1;
+        h ^= h >>> 33;
+        h *= XXH64_P2;
+        h ^= h >>> 29;
+        h *= XXH64_P3;
+        return h ^ (h >>> 32);
+    }
+
+    /* wyhash de los n bytes de la llave a partir de i. */
+    private static long wy(byte[] llave, int i, int n) {
+        long semilla = wyMezcla(WY_P0, WY_P1);
+        long a, b;
+        if (n <= 16) {
+            if (n >= 4) {
+                int c = (n >>> 3) << 2;
+                int f = i + n - 4;
+                a = (entero(llave, i) & 0xFFFFFFFFL) << 32 |
+                    (entero(llave, i + c) & 0xFFFFFFFFL);
+                b = (entero(llave, f) & 0xFFFFFFFFL) << 32 |
+                    (entero(llave, f - c) & 0xFFFFFFFFL);
+            } else if (n > 0) {
+                a = (llave[i] & 0xFFL) << 16 |
+                    (llave[i + (n >>> 1)] & 0xFFL) << 8 |
+                    (llave[i + n - 1] & 0xFFL);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            int r = n;
+            if (r > 48) {
+                long s1 = semilla;
+                long s2 = semilla;
+                do {
+                    semilla = wyMezcla(largo(llave, i) ^ WY_P1,
+                                       largo(llave, i+8) ^ semilla);
+                    s1 = wyMezcla(largo(llave, i+16) ^ WY_P2,
+                                  largo(llave, i+24) ^ s1);
+                    s2 = wyMezcla(largo(llave, i+32) ^ WY_P3,
+                                  largo(llave, i+40) ^ s2);
+                    i += 48;
+                    r -= 48;
+                } while (r > 48);
+                semilla ^= s1 ^ s2;
+            }
+            for (; r > 16; i += 16, r -= 16)
+                semilla = wyMezcla(largo(llave, i) ^ WY_P1,
+                                   largo(llave, i+8) ^ semilla);
+            a = largo(llave, i + r - 16);
+            b = largo(llave, i + r - 8);
+        }
+        a ^= WY_P1;
+        b ^= semilla;
+        long bajo = a * b;
+        long alto = multiplicaAlto(a, b);
+        return wyMezcla(bajo ^ WY_P0 ^ n, alto ^ WY_P1);
+    }
+
+    /* XOR de los n bytes del búfer a partir de i. */
+    private static int xor(ByteBuffer llave, int i, int n) {
+        int r = 0;
+        for (; n > 3; i += 4, n -= 4)
+            r ^= combina(llave.get(i), llave.get(i+1),
+                         llave.get(i+2), llave.get(i+3));
+        switch (n) {
+        case 1: r ^= combina(llave.get(i), (byte)0, (byte)0, (byte)0);
             break;
-            case 2: r ^= combina(llave[i],llave[i+1],(byte) 0,(byte) 0);
+        case 2: r ^= combina(llave.get(i), llave.get(i+1), (byte)0, (byte)0);
             break;
-            case 3: r ^= combina(llave[i],llave[i+1],llave[i+2],(byte) 0);
+        case 3: r ^= combina(llave.get(i), llave.get(i+1), llave.get(i+2),
+                             (byte)0);
             break;
         }
-        return  r;
+        return r;
     }
 
-    /**
-     * Función de dispersión de Bob Jenkins.
-     * @param llave la llave a dispersar.
-     * @return la dispersión de Bob Jenkins de la llave.
-     */
-    public static int dispersaBJ(byte[] llave)
-    {
+    /* Bob Jenkins de los n bytes del búfer a partir de i. */
+    private static int bj(ByteBuffer llave, int i, int n) {
         int a = 0x9e3779b9;
         int b = a;
         int c = 0xffffffff;
-        int i = 0;
-        int disponible = llave.length;
-        int j = disponible;
-        while (disponible >= 12)
-        {
-            a += ((llave[i] & 0xFF) | ((llave[i+1] & 0xFF) << 8) | (llave[i+2] & 0xFF) << 16 | (llave[i+3] & 0xFF) << 24);
-            b += ((llave[i+4] & 0xFF) | ((llave[i+5] & 0xFF) << 8) | (llave[i+6] & 0xFF) << 16 | (llave[i+7] & 0xFF) << 24);
-            c += ((llave[i+8] & 0xFF) | ((llave[i+9] & 0xFF) << 8) | (llave[i+10] & 0xFF) << 16 | (llave[i+11] & 0xFF) << 24);
-
-            int [] arry = mezcla(a,b,c);
-            a = arry[0];
-            b = arry[1]; 
-            c = arry[2];
-            i += 12;
-            disponible -= 12;
-        }
-
-        c += j;
-        switch (disponible)
-        {
-            case 11: c += ((llave[i+10] & 0xFF) << 24);
-            case 10: c += ((llave[i+9] & 0xFF) << 16);
-            case  9: c += ((llave[i+8] & 0xFF) << 8);
-            case  8: b += ((llave[i+7] & 0xFF) << 24);
-            case  7: b += ((llave[i+6] & 0xFF) << 16);
-            case  6: b += ((llave[i+5] & 0xFF) << 8);
-            case  5: b += (llave[i+4] & 0xFF);       
-            case  4: a += ((llave[i+3] & 0xFF) << 24);
-            case  3: a += ((llave[i+2] & 0xFF) << 16);
-            case  2: a += ((llave[i+1] & 0xFF) << 8);
-            case  1: a += (llave[i] & 0xFF);
-        }
-
-        int [] arry = mezcla(a,b,c);
-        return arry[2];
-    }
-
-    private static int [] mezcla(int a,int b,int c)
-    {
-        int [] arry = new int [3];
+        int disponible = n;
+        for (; disponible >= 12; i += 12, disponible -= 12) {
+            a += entero(llave, i);
+            b += entero(llave, i+4);
+            c += entero(llave, i+8);
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a <<  8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a <<  16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a <<  10);
+            c -= a; c -= b; c ^= (b >>> 15);
+        }
+        c += n;
+        switch (disponible) {
+        case 11: c += ((llave.get(i+10) & 0xFF) << 24);
+        case 10: c += ((llave.get(i+9) & 0xFF) << 16);
+        case  9: c += ((llave.get(i+8) & 0xFF) << 8);
+        case  8: b += ((llave.get(i+7) & 0xFF) << 24);
+        case  7: b += ((llave.get(i+6) & 0xFF) << 16);
+        case  6: b += ((llave.get(i+5) & 0xFF) << 8);
+        case  5: b += (llave.get(i+4) & 0xFF);
+        case  4: a += ((llave.get(i+3) & 0xFF) << 24);
+        case  3: a += ((llave.get(i+2) & 0xFF) << 16);
+        case  2: a += ((llave.get(i+1) & 0xFF) << 8);
+        case  1: a += (llave.get(i) & 0xFF);
+        }
         a -= b; a -= c; a ^= (c >>> 13);
         b -= c; b -= a; b ^= (a <<  8);
         c -= a; c -= b; c ^= (b >>> 13);
@@ -96,25 +597,558 @@ public class Dispersores {
         a -= b; a -= c; a ^= (c >>> 3);
         b -= c; b -= a; b ^= (a <<  10);
         c -= a; c -= b; c ^= (b >>> 15);
-        arry[0] = a;
-        arry[1] = b;
-        arry[2] = c;
-        return arry;
+        return c;
     }
 
-    /**
-     * Función de dispersión Daniel J. Bernstein.
-     * @param llave la llave a dispersar.
-     * @return la dispersión de Daniel Bernstein de la llave.
-     */
-    public static int dispersaDJB(byte[] llave)
-    {
+    /* Daniel J. Bernstein de los n bytes del búfer a partir de i. */
+    private static int djb(ByteBuffer llave, int i, int n) {
         int h = 5381;
-        for (int i=0; i<llave.length; i++)
-        {
-            h += (h << 5) + (llave[i] & 0xFF);
+        for (int fin = i + n; i < fin; i++)
+            h += (h << 5) + (llave.get(i) & 0xFF);
+        return h;
+    }
+
+    /* MurmurHash3 de los n bytes del búfer a partir de i. */
+    private static int murmur3(ByteBuffer llave, int i, int n) {
+        int h = 0;
+        int fin = i + (n & ~3);
+        for (; i < fin; i += 4) {
+            h ^= murmur3Mezcla(entero(llave, i));
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+        int k = 0;
+        switch (n & 3) {
+        case 3: k ^= (llave.get(i+2) & 0xFF) << 16;
+        case 2: k ^= (llave.get(i+1) & 0xFF) << 8;
+        case 1: k ^= (llave.get(i) & 0xFF);
+            h ^= murmur3Mezcla(k);
+        }
+        h ^= n;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /* xxHash32 de los n bytes del búfer a partir de i. */
+    private static int xxh32(ByteBuffer llave, int i, int n) {
+        int fin = i + n;
+        int h;
+        if (n >= 16) {
+            int v1 = XXH32_P1 + XXH32_P2;
+            int v2 = XXH32_P2;
+            int v3 = 0;
+            int v4 = -XXH32_P1;
+            for (int limite = fin - 16; i <= limite; i += 16) {
+                v1 = xxh32Ronda(v1, entero(llave, i));
+                v2 = xxh32Ronda(v2, entero(llave, i+4));
+                v3 = xxh32Ronda(v3, entero(llave, i+8));
+                v4 = xxh32Ronda(v4, entero(llave, i+12));
+            }
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+                Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = XXH32_P5;
+        }
+        h += n;
+        for (; i + 4 <= fin; i += 4)
+            h = Integer.rotateLeft(h + entero(llave, i) * XXH32_P3, 17) *
+                XXH32_P4;
+        for (; i < fin; i++)
+            h = Integer.rotateLeft(h + (llave.get(i) & 0xFF) * XXH32_P5, 11) *
+                XXH32_P1;
+        h ^= h >>> 15;
+        h *= XXH32_P2;
+        h ^= h >>> 13;
+        h *= XXH32_P3;
+        return h ^ (h >>> 16);
+    }
+
+    /* xxHash64 de los n bytes del búfer a partir de i. */
+    private static long xxh64(ByteBuffer llave, int i, int n) {
+        int fin = i + n;
+        long h;
+        if (n >= 32) {
+            long v1 = XXH64_P1 + XXH64_P2;
+            long v2 = XXH64_P2;
+            long v3 = 0;
+            long v4 = -XXH64_P1;
+            for (int limite = fin - 32; i <= limite; i += 32) {
+                v1 = xxh64Ronda(v1, largo(llave, i));
+                v2 = xxh64Ronda(v2, largo(llave, i+8));
+                v3 = xxh64Ronda(v3, largo(llave, i+16));
+                v4 = xxh64Ronda(v4, largo(llave, i+24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = xxh64Combina(h, v1);
+            h = xxh64Combina(h, v2);
+            h = xxh64Combina(h, v3);
+            h = xxh64Combina(h, v4);
+        } else {
+            h = XXH64_P5;
+        }
+        h += n;
+        for (; i + 8 <= fin; i += 8)
+            h = Long.rotateLeft(h ^ xxh64Ronda(0, largo(llave, i)), 27) *
+                XXH64_P1 + XXH64_P4;
+        if (i + 4 <= fin) {
+            h = Long.rotateLeft(h ^ (entero(llave, i) & 0xFFFFFFFFL) *
+                                XXH64_P1, 23) * XXH64_P2 + XXH64_P3;
+            i += 4;
+        }
+        for (; i < fin; i++)
+            h = Long.rotateLeft(h ^ (llave.get(i) & 0xFF) * XXH64_P5, 11) *
+                XXH64_P1;
+        h ^= h >>> 33;
+        h *= XXH64_P2;
+        h ^= h >>> 29;
+        h *= XXH64_P3;
+        return h ^ (h >>> 32);
+    }
+
+    /* wyhash de los n bytes del búfer a partir de i. */
+    private static long wy(ByteBuffer llave, int i, int n) {
+        long semilla = wyMezcla(WY_P0, WY_P1);
+        long a, b;
+        if (n <= 16) {
+            if (n >= 4) {
+                int c = (n >>> 3) << 2;
+                int f = i + n - 4;
+                a = (entero(llave, i) & 0xFFFFFFFFL) << 32 |
+                    (entero(llave, i + c) & 0xFFFFFFFFL);
+                b = (entero(llave, f) & 0xFFFFFFFFL) << 32 |
+                    (entero(llave, f - c) & 0xFFFFFFFFL);
+            } else if (n > 0) {
+                a = (llave.get(i) & 0xFFL) << 16 |
+                    (llave.get(i + (n >>> 1)) & 0xFFL) << 8 |
+                    (llave.get(i + n - 1) & 0xFFL);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            int r = n;
+            if (r > 48) {
+                long s1 = semilla;
+                long s2 = semilla;
+                do {
+                    semilla = wyMezcla(largo(llave, i) ^ WY_P1,
+                                       largo(llave, i+8) ^ semilla);
+                    s1 = wyMezcla(largo(llave, i+16) ^ WY_P2,
+                                  largo(llave, i+24) ^ s1);
+                    s2 = wyMezcla(largo(llave, i+32) ^ WY_P3,
+                                  largo(llave, i+40) ^ s2);
+                    i += 48;
+                    r -= 48;
+                } while (r > 48);
+                semilla ^= s1 ^ s2;
+            }
+            for (; r > 16; i += 16, r -= 16)
+                semilla = wyMezcla(largo(llave, i) ^ WY_P1,
+                                   largo(llave, i+8) ^ semilla);
+            a = largo(llave, i + r - 16);
+            b = largo(llave, i + r - 8);
+        }
+        a ^= WY_P1;
+        b ^= semilla;
+        long bajo = a * b;
+        long alto = multiplicaAlto(a, b);
+        return wyMezcla(bajo ^ WY_P0 ^ n, alto ^ WY_P1);
+    }
+
+    /* Dispersor incremental XOR. */
+    static final class IncrementalXOR extends DispersorIncremental {
+        /* El XOR de los bloques procesados. */
+        private int r;
+
+        IncrementalXOR() {
+            super(4, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            r = 0;
+        }
+
+        @Override void procesa(byte[] a, int i, int bloques) {
+            for (int fin = i + 4 * bloques; i < fin; i += 4)
+                r ^= combina(a[i], a[i+1], a[i+2], a[i+3]);
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            return r ^ xor(resto, 0, n);
+        }
+    }
+
+    /* Dispersor incremental de Bob Jenkins. */
+    static final class IncrementalBJ extends DispersorIncremental {
+        /* El estado de Bob Jenkins. */
+        private int a, b, c;
+
+        IncrementalBJ() {
+            super(12, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            a = b = 0x9e3779b9;
+            c = 0xffffffff;
+        }
+
+        @Override void procesa(byte[] llave, int i, int bloques) {
+            int a = this.a, b = this.b, c = this.c;
+            for (int fin = i + 12 * bloques; i < fin; i += 12) {
+                a += entero(llave, i);
+                b += entero(llave, i+4);
+                c += entero(llave, i+8);
+                a -= b; a -= c; a ^= (c >>> 13);
+                b -= c; b -= a; b ^= (a <<  8);
+                c -= a; c -= b; c ^= (b >>> 13);
+                a -= b; a -= c; a ^= (c >>> 12);
+                b -= c; b -= a; b ^= (a <<  16);
+                c -= a; c -= b; c ^= (b >>> 5);
+                a -= b; a -= c; a ^= (c >>> 3);
+                b -= c; b -= a; b ^= (a <<  10);
+                c -= a; c -= b; c ^= (b >>> 15);
+            }
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        @Override long concluye(byte[] llave, int n, long longitud) {
+            int a = this.a, b = this.b, c = this.c + (int)longitud;
+            switch (n) {
+            case 11: c += ((llave[10] & 0xFF) << 24);
+            case 10: c += ((llave[9] & 0xFF) << 16);
+            case  9: c += ((llave[8] & 0xFF) << 8);
+            case  8: b += ((llave[7] & 0xFF) << 24);
+            case  7: b += ((llave[6] & 0xFF) << 16);
+            case  6: b += ((llave[5] & 0xFF) << 8);
+            case  5: b += (llave[4] & 0xFF);
+            case  4: a += ((llave[3] & 0xFF) << 24);
+            case  3: a += ((llave[2] & 0xFF) << 16);
+            case  2: a += ((llave[1] & 0xFF) << 8);
+            case  1: a += (llave[0] & 0xFF);
+            }
+            a -= b; a -= c; a ^= (c >>> 13);
+            b -= c; b -= a; b ^= (a <<  8);
+            c -= a; c -= b; c ^= (b >>> 13);
+            a -= b; a -= c; a ^= (c >>> 12);
+            b -= c; b -= a; b ^= (a <<  16);
+            c -= a; c -= b; c ^= (b >>> 5);
+            a -= b; a -= c; a ^= (c >>> 3);
+            b -= c; b -= a; b ^= (a <<  10);
+            c -= a; c -= b; c ^= (b >>> 15);
+            return c;
+        }
+    }
+
+    /* Dispersor incremental de Daniel J. Bernstein. */
+    static final class IncrementalDJB extends DispersorIncremental {
+        /* La dispersión de los bytes procesados. */
+        private int h;
+
+        IncrementalDJB() {
+            super(1, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            h = 5381;
         }
-        return h;  
+
+        @Override void procesa(byte[] a, int i, int bloques) {
+            int h = this.h;
+            for (int fin = i + bloques; i < fin; i++)
+                h += (h << 5) + (a[i] & 0xFF);
+            this.h = h;
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            return h;
+        }
+    }
+
+    /* Dispersor incremental MurmurHash3. */
+    static final class IncrementalMurmur3 extends DispersorIncremental {
+        /* La dispersión de los bloques procesados. */
+        private int h;
+
+        IncrementalMurmur3() {
+            super(4, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            h = 0;
+        }
+
+        @Override void procesa(byte[] a, int i, int bloques) {
+            int h = this.h;
+            for (int fin = i + 4 * bloques; i < fin; i += 4) {
+                h ^= murmur3Mezcla(entero(a, i));
+                h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+            }
+            this.h = h;
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            int h = this.h;
+            int k = 0;
+            switch (n) {
+            case 3: k ^= (resto[2] & 0xFF) << 16;
+            case 2: k ^= (resto[1] & 0xFF) << 8;
+            case 1: k ^= (resto[0] & 0xFF);
+                h ^= murmur3Mezcla(k);
+            }
+            h ^= (int)longitud;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /* Dispersor incremental xxHash32. */
+    static final class IncrementalXXH32 extends DispersorIncremental {
+        /* Los acumuladores de xxHash32. */
+        private int v1, v2, v3, v4;
+
+        IncrementalXXH32() {
+            super(16, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            v1 = XXH32_P1 + XXH32_P2;
+            v2 = XXH32_P2;
+            v3 = 0;
+            v4 = -XXH32_P1;
+        }
+
+        @Override void procesa(byte[] a, int i, int bloques) {
+            int v1 = this.v1, v2 = this.v2, v3 = this.v3, v4 = this.v4;
+            for (int fin = i + 16 * bloques; i < fin; i += 16) {
+                v1 = xxh32Ronda(v1, entero(a, i));
+                v2 = xxh32Ronda(v2, entero(a, i+4));
+                v3 = xxh32Ronda(v3, entero(a, i+8));
+                v4 = xxh32Ronda(v4, entero(a, i+12));
+            }
+            this.v1 = v1;
+            this.v2 = v2;
+            this.v3 = v3;
+            this.v4 = v4;
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            int h;
+            if (longitud >= 16)
+                h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) +
+                    Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+            else
+                h = XXH32_P5;
+            h += (int)longitud;
+            int i = 0;
+            for (; i + 4 <= n; i += 4)
+                h = Integer.rotateLeft(h + entero(resto, i) * XXH32_P3, 17) *
+                    XXH32_P4;
+            for (; i < n; i++)
+                h = Integer.rotateLeft(h + (resto[i] & 0xFF) * XXH32_P5, 11) *
+                    XXH32_P1;
+            h ^= h >>> 15;
+            h *= XXH32_P2;
+            h ^= h >>> 13;
+            h *= XXH32_P3;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /* Dispersor incremental xxHash64. */
+    static final class IncrementalXXH64 extends DispersorIncremental {
+        /* Los acumuladores de xxHash64. */
+        private long v1, v2, v3, v4;
+
+        IncrementalXXH64() {
+            super(32, false);
+            inicia();
+        }
+
+        @Override void inicia() {
+            v1 = XXH64_P1 + XXH64_P2;
+            v2 = XXH64_P2;
+            v3 = 0;
+            v4 = -XXH64_P1;
+        }
+
+        @Override void procesa(byte[] a, int i, int bloques) {
+            long v1 = this.v1, v2 = this.v2, v3 = this.v3, v4 = this.v4;
+            for (int fin = i + 32 * bloques; i < fin; i += 32) {
+                v1 = xxh64Ronda(v1, largo(a, i));
+                v2 = xxh64Ronda(v2, largo(a, i+8));
+                v3 = xxh64Ronda(v3, largo(a, i+16));
+                v4 = xxh64Ronda(v4, largo(a, i+24));
+            }
+            this.v1 = v1;
+            this.v2 = v2;
+            this.v3 = v3;
+            this.v4 = v4;
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            long h;
+            if (longitud >= 32) {
+                h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+                    Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+                h = xxh64Combina(h, v1);
+                h = xxh64Combina(h, v2);
+                h = xxh64Combina(h, v3);
+                h = xxh64Combina(h, v4);
+            } else {
+                h = XXH64_P5;
+            }
+            h += longitud;
+            int i = 0;
+            for (; i + 8 <= n; i += 8)
+                h = Long.rotateLeft(h ^ xxh64Ronda(0, largo(resto, i)), 27) *
+                    XXH64_P1 + XXH64_P4;
+            if (i + 4 <= n) {
+                h = Long.rotateLeft(h ^ (entero(resto, i) & 0xFFFFFFFFL) *
+                                    XXH64_P1, 23) * XXH64_P2 + XXH64_P3;
+                i += 4;
+            }
+            for (; i < n; i++)
+                h = Long.rotateLeft(h ^ (resto[i] & 0xFF) * XXH64_P5, 11) *
+                    XXH64_P1;
+            h ^= h >>> 33;
+            h *= XXH64_P2;
+            h ^= h >>> 29;
+            h *= XXH64_P3;
+            return h ^ (h >>> 32);
+        }
+    }
+
+    /* Dispersor incremental wyhash. Como wyhash lee los últimos 16 bytes de
+     * la llave aunque ya se hayan procesado, se guardan los últimos 16 bytes
+     * del último bloque. */
+    static final class IncrementalWY extends DispersorIncremental {
+        /* La semilla y los acumuladores de wyhash. */
+        private long semilla, s1, s2;
+        /* Los últimos 16 bytes procesados seguidos del resto. */
+        private byte[] cola = new byte[64];
+
+        IncrementalWY() {
+            super(48, true);
+            inicia();
+        }
+
+        @Override void inicia() {
+            semilla = s1 = s2 = wyMezcla(WY_P0, WY_P1);
+        }
+
+        @Override void procesa(byte[] llave, int i, int bloques) {
+            long semilla = this.semilla, s1 = this.s1, s2 = this.s2;
+            for (int fin = i + 48 * bloques; i < fin; i += 48) {
+                semilla = wyMezcla(largo(llave, i) ^ WY_P1,
+                                   largo(llave, i+8) ^ semilla);
+                s1 = wyMezcla(largo(llave, i+16) ^ WY_P2,
+                              largo(llave, i+24) ^ s1);
+                s2 = wyMezcla(largo(llave, i+32) ^ WY_P3,
+                              largo(llave, i+40) ^ s2);
+            }
+            System.arraycopy(llave, i - 16, cola, 0, 16);
+            this.semilla = semilla;
+            this.s1 = s1;
+            this.s2 = s2;
+        }
+
+        @Override long concluye(byte[] resto, int n, long longitud) {
+            if (longitud <= 16)
+                return wy(resto, 0, n);
+            long semilla = this.semilla;
+            if (longitud > 48)
+                semilla ^= s1 ^ s2;
+            System.arraycopy(resto, 0, cola, 16, n);
+            int i = 16;
+            for (; n > 16; i += 16, n -= 16)
+                semilla = wyMezcla(largo(cola, i) ^ WY_P1,
+                                   largo(cola, i+8) ^ semilla);
+            long a = largo(cola, i + n - 16) ^ WY_P1;
+            long b = largo(cola, i + n - 8) ^ semilla;
+            long bajo = a * b;
+            long alto = multiplicaAlto(a, b);
+            return wyMezcla(bajo ^ WY_P0 ^ longitud, alto ^ WY_P1);
+        }
+    }
+
+    /* Mezcla un bloque de MurmurHash3. */
+    private static int murmur3Mezcla(int k) {
+        return Integer.rotateLeft(k * 0xcc9e2d51, 15) * 0x1b873593;
+    }
+
+    /* Una ronda de xxHash32. */
+    private static int xxh32Ronda(int v, int k) {
+        return Integer.rotateLeft(v + k * XXH32_P2, 13) * XXH32_P1;
+    }
+
+    /* Una ronda de xxHash64. */
+    private static long xxh64Ronda(long v, long k) {
+        return Long.rotateLeft(v + k * XXH64_P2, 31) * XXH64_P1;
+    }
+
+    /* Combina un acumulador al final de las rondas de xxHash64. */
+    private static long xxh64Combina(long h, long v) {
+        return (h ^ xxh64Ronda(0, v)) * XXH64_P1 + XXH64_P4;
+    }
+
+    /* Multiplica a por b a 128 bits y regresa el xor de sus dos mitades. */
+    private static long wyMezcla(long a, long b) {
+        return (a * b) ^ multiplicaAlto(a, b);
+    }
+
+    /* Regresa los 64 bits altos del producto sin signo de a y b. */
+    private static long multiplicaAlto(long a, long b) {
+        long a0 = a & 0xFFFFFFFFL;
+        long a1 = a >>> 32;
+        long b0 = b & 0xFFFFFFFFL;
+        long b1 = b >>> 32;
+        long p01 = a0 * b1;
+        long p10 = a1 * b0;
+        long medio = ((a0 * b0) >>> 32) + (p01 & 0xFFFFFFFFL) +
+            (p10 & 0xFFFFFFFFL);
+        return a1 * b1 + (p01 >>> 32) + (p10 >>> 32) + (medio >>> 32);
+    }
+
+    /* Regresa el entero de cuatro bytes del arreglo a partir de i, en orden
+     * little-endian. */
+    private static int entero(byte[] a, int i) {
+        return (a[i] & 0xFF) | (a[i+1] & 0xFF) << 8 |
+            (a[i+2] & 0xFF) << 16 | (a[i+3] & 0xFF) << 24;
+    }
+
+    /* Regresa el entero largo de ocho bytes del arreglo a partir de i, en
+     * orden little-endian. */
+    private static long largo(byte[] a, int i) {
+        return (entero(a, i) & 0xFFFFFFFFL) | (long)entero(a, i+4) << 32;
+    }
+
+    /* Regresa el entero de cuatro bytes de un búfer a partir de i, en orden
+     * little-endian sin importar el orden del búfer. */
+    private static int entero(ByteBuffer b, int i) {
+        int v = b.getInt(i);
+        return b.order() == ByteOrder.LITTLE_ENDIAN ? v :
+            Integer.reverseBytes(v);
+    }
+
+    /* Regresa el entero largo de ocho bytes de un búfer a partir de i, en
+     * orden little-endian sin importar el orden del búfer. */
+    private static long largo(ByteBuffer b, int i) {
+        long v = b.getLong(i);
+        return b.order() == ByteOrder.LITTLE_ENDIAN ? v :
+            Long.reverseBytes(v);
     }
 
     private static int combina(byte a,byte b,byte c,byte d) 
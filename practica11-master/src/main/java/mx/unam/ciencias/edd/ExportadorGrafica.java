@@ -0,0 +1,188 @@
+package mx.unam.ciencias.edd;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase para exportar gráficas. Los vértices y las aristas se escriben
+ * conforme se recorren, en tiempo <i>O</i>(<i>n</i>+<i>m</i>) y sin construir
+ * cadenas intermedias, por lo que la memoria adicional no depende del tamaño
+ * de la gráfica.
+ */
+public class ExportadorGrafica {
+
+    /* Constructor privado para evitar instanciación. */
+    private ExportadorGrafica() {}
+
+    /**
+     * Escribe la gráfica en el flujo de salida recibido, codificada en UTF-8.
+     * El flujo se vacía, pero no se cierra.
+     * @param <T> tipo de los elementos de la gráfica.
+     * @param grafica la gráfica a exportar.
+     * @param formato el formato de exportación.
+     * @param salida el flujo de salida.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    public static <T> void exporta(Grafica<T> grafica, FormatoGrafica formato,
+                                   OutputStream salida) throws IOException {
+        Writer escritor = new BufferedWriter(
+            new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        exporta(grafica, formato, escritor);
+        escritor.flush();
+    }
+
+    /**
+     * Escribe la gráfica en el escritor recibido. Se recomienda usar un
+     * escritor con búfer. El escritor no se vacía ni se cierra.
+     * @param <T> tipo de los elementos de la gráfica.
+     * @param grafica la gráfica a exportar.
+     * @param formato el formato de exportación.
+     * @param escritor el escritor.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    public static <T> void exporta(Grafica<T> grafica, FormatoGrafica formato,
+                                   Writer escritor) throws IOException {
+        try {
+            switch (formato) {
+            case DOT:
+                exportaDOT(grafica, escritor);
+                break;
+            case GRAPHML:
+                exportaGraphML(grafica, escritor);
+                break;
+            case LISTA_ARISTAS:
+                exportaListaAristas(grafica, escritor);
+                break;
+            default: throw new IllegalArgumentException("Formato inválido");
+            }
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /* Escribe la gráfica en formato DOT. */
+    private static <T> void exportaDOT(Grafica<T> grafica, Writer escritor)
+        throws IOException {
+        escritor.write("graph {\n");
+        for (T elemento : grafica) {
+            escritor.write("  \"");
+            escapaDOT(elemento, escritor);
+            escritor.write("\";\n");
+        }
+        grafica.paraCadaArista((a, b, peso) -> {
+                try {
+                    escritor.write("  \"");
+                    escapaDOT(a, escritor);
+                    escritor.write("\" -- \"");
+                    escapaDOT(b, escritor);
+                    escritor.write("\" [weight=");
+                    escritor.write(Double.toString(peso));
+                    escritor.write("];\n");
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        escritor.write("}\n");
+    }
+
+    /* Escribe la gráfica en formato GraphML. */
+    private static <T> void exportaGraphML(Grafica<T> grafica, Writer escritor)
+        throws IOException {
+        escritor.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        escritor.write("<graphml " +
+                       "xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        escritor.write("  <key id=\"peso\" for=\"edge\" " +
+                       "attr.name=\"peso\" attr.type=\"double\"/>\n");
+        escritor.write("  <graph edgedefault=\"undirected\">\n");
+        for (T elemento : grafica) {
+            escritor.write("    <node id=\"");
+            escapaXML(elemento, escritor);
+            escritor.write("\"/>\n");
+        }
+        grafica.paraCadaArista((a, b, peso) -> {
+                try {
+                    escritor.write("    <edge source=\"");
+                    escapaXML(a, escritor);
+                    escritor.write("\" target=\"");
+                    escapaXML(b, escritor);
+                    escritor.write("\"><data key=\"peso\">");
+                    escritor.write(Double.toString(peso));
+                    escritor.write("</data></edge>\n");
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        escritor.write("  </graph>\n");
+        escritor.write("</graphml>\n");
+    }
+
+    /* Escribe las aristas de la gráfica, una por renglón, con sus extremos y
+     * su peso separados por tabuladores; los extremos se escapan para que
+     * no partan el renglón. */
+    private static <T> void exportaListaAristas(Grafica<T> grafica,
+                                                Writer escritor) {
+        grafica.paraCadaArista((a, b, peso) -> {
+                try {
+                    escapaLista(a, escritor);
+                    escritor.write('\t');
+                    escapaLista(b, escritor);
+                    escritor.write('\t');
+                    escritor.write(Double.toString(peso));
+                    escritor.write('\n');
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+    }
+
+    /* Escribe el elemento escapando comillas y diagonales invertidas. */
+    private static void escapaDOT(Object elemento, Writer escritor)
+        throws IOException {
+        String s = String.valueOf(elemento);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\')
+                escritor.write('\\');
+            escritor.write(c);
+        }
+    }
+
+    /* Escribe el elemento escapando tabuladores, saltos de línea, retornos
+     * de carro y diagonales invertidas como en Java. */
+    private static void escapaLista(Object elemento, Writer escritor)
+        throws IOException {
+        String s = String.valueOf(elemento);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '\t': escritor.write("\\t"); break;
+            case '\n': escritor.write("\\n"); break;
+            case '\r': escritor.write("\\r"); break;
+            case '\\': escritor.write("\\\\"); break;
+            default: escritor.write(c);
+            }
+        }
+    }
+
+    /* Escribe el elemento escapando los caracteres especiales de XML. */
+    private static void escapaXML(Object elemento, Writer escritor)
+        throws IOException {
+        String s = String.valueOf(elemento);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '&': escritor.write("&amp;"); break;
+            case '<': escritor.write("&lt;"); break;
+            case '>': escritor.write("&gt;"); break;
+            case '"': escritor.write("&quot;"); break;
+            case '\'': escritor.write("&apos;"); break;
+            default: escritor.write(c);
+            }
+        }
+    }
+}
@@ -5,11 +5,31 @@ package mx.unam.ciencias.edd;
  */
 public class FabricaDispersores {
 
+    /* Interfaz para dispersores de un rango de un arreglo de bytes. */
+    @FunctionalInterface
+    private interface DispersorBytes {
+        public int dispersa(byte[] llave, int i, int n);
+    }
+
+    /* Tamaño máximo del búfer de cada hilo; las cadenas que no caben se
+     * codifican por pedazos. */
+    private static final int MAXIMO_BUFFER = 1 << 16;
+
+    /* Búfer de cada hilo para codificar cadenas. */
+    private static final ThreadLocal<byte[]> BUFFER =
+        ThreadLocal.withInitial(() -> new byte[256]);
+
     /* Constructor privado para evitar instanciación. */
     private FabricaDispersores() {}
 
     /**
-     * Regresa una instancia de {@link Dispersor} para cadenas.
+     * Regresa una instancia de {@link Dispersor} para cadenas. Las cadenas
+     * se dispersan codificadas en UTF-8; los bytes se escriben en un búfer
+     * de cada hilo que se reutiliza, por lo que dispersar no crea objetos.
+     * Las cadenas que no caben en el búfer se codifican por pedazos y se
+     * dispersan con un {@link DispersorIncremental} del hilo, con el mismo
+     * resultado. Los algoritmos de 64 bits se reducen a 32 con {@link
+     * Long#hashCode(long)}.
      * @param algoritmo el algoritmo de dispersor que se desea.
      * @return una instancia de {@link Dispersor} para cadenas.
      * @throws IllegalArgumentException si recibe un identificador no
@@ -19,12 +39,118 @@ public class FabricaDispersores {
     dispersorCadena(AlgoritmoDispersor algoritmo) {
         switch (algoritmo) {
         case XOR_STRING:
-            return c -> Dispersores.dispersaXOR(c.getBytes());
+            return cadena(algoritmo, Dispersores::dispersaXOR);
+        case BJ_STRING:
+            return cadena(algoritmo, Dispersores::dispersaBJ);
+        case DJB_STRING:
+            return cadena(algoritmo, Dispersores::dispersaDJB);
+        case MURMUR3_STRING:
+            return cadena(algoritmo, Dispersores::dispersaMurmur3);
+        case XXH32_STRING:
+            return cadena(algoritmo, Dispersores::dispersaXXH32);
+        case XXH64_STRING:
+            return cadena(algoritmo, (b, i, n) ->
+                          Long.hashCode(Dispersores.dispersaXXH64(b, i, n)));
+        case WY_STRING:
+            return cadena(algoritmo, (b, i, n) ->
+                          Long.hashCode(Dispersores.dispersaWY(b, i, n)));
+        default: throw new IllegalArgumentException("Algoritmo inválido");
+        }
+    }
+
+    /**
+     * Regresa un {@link DispersorIncremental} nuevo para bytes, que recibe
+     * la llave por partes. A diferencia de {@link #dispersorCadena}, los
+     * algoritmos de 64 bits regresan su dispersión completa.
+     * @param algoritmo el algoritmo de dispersor que se desea.
+     * @return un {@link DispersorIncremental} nuevo.
+     * @throws IllegalArgumentException si recibe un identificador no
+     *         reconocido.
+     */
+    public static DispersorIncremental
+    dispersorIncremental(AlgoritmoDispersor algoritmo) {
+        switch (algoritmo) {
+        case XOR_STRING:
+            return new Dispersores.IncrementalXOR();
         case BJ_STRING:
-            return c -> Dispersores.dispersaBJ(c.getBytes());
+            return new Dispersores.IncrementalBJ();
         case DJB_STRING:
-            return c -> Dispersores.dispersaDJB(c.getBytes());
+            return new Dispersores.IncrementalDJB();
+        case MURMUR3_STRING:
+            return new Dispersores.IncrementalMurmur3();
+        case XXH32_STRING:
+            return new Dispersores.IncrementalXXH32();
+        case XXH64_STRING:
+            return new Dispersores.IncrementalXXH64();
+        case WY_STRING:
+            return new Dispersores.IncrementalWY();
         default: throw new IllegalArgumentException("Algoritmo inválido");
         }
     }
+
+    /* Regresa un dispersor de cadenas que codifica cada cadena en el búfer
+     * del hilo y dispersa sus bytes; las cadenas que no caben se dispersan
+     * por pedazos con el dispersor incremental del algoritmo. */
+    private static Dispersor<String> cadena(AlgoritmoDispersor algoritmo,
+                                            DispersorBytes dispersor) {
+        ThreadLocal<DispersorIncremental> incremental =
+            ThreadLocal.withInitial(() -> dispersorIncremental(algoritmo));
+        return c -> {
+            /* Cada carácter ocupa a lo más tres bytes; los pares sustitutos
+             * ocupan cuatro por dos caracteres. */
+            int l = c.length();
+            byte[] b = BUFFER.get();
+            if (3L * l > b.length && b.length < MAXIMO_BUFFER) {
+                b = new byte[MAXIMO_BUFFER];
+                BUFFER.set(b);
+            }
+            if (3L * l <= b.length)
+                return dispersor.dispersa(b, 0, codifica(c, 0, l, b));
+            DispersorIncremental d = incremental.get();
+            for (int i = 0; i < l; ) {
+                int f = Math.min(l, i + MAXIMO_BUFFER / 3);
+                /* Un par sustituto no se parte entre dos pedazos. */
+                if (f < l && Character.isHighSurrogate(c.charAt(f - 1)))
+                    f--;
+                d.actualiza(b, 0, codifica(c, i, f, b));
+                i = f;
+            }
+            long h = d.termina();
+            return algoritmo == AlgoritmoDispersor.XXH64_STRING ||
+                algoritmo == AlgoritmoDispersor.WY_STRING ?
+                Long.hashCode(h) : (int)h;
+        };
+    }
+
+    /* Codifica en UTF-8 en el arreglo los caracteres de la cadena entre i y
+     * f - 1, y regresa el número de bytes; como String#getBytes, un
+     * sustituto sin pareja se codifica como '?'. */
+    private static int codifica(String s, int i, int f, byte[] b) {
+        int n = 0;
+        for (; i < f; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[n++] = (byte)c;
+            } else if (c < 0x800) {
+                b[n++] = (byte)(0xC0 | (c >>> 6));
+                b[n++] = (byte)(0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < f &&
+                    Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int p = Character.toCodePoint(c, s.charAt(++i));
+                    b[n++] = (byte)(0xF0 | (p >>> 18));
+                    b[n++] = (byte)(0x80 | ((p >>> 12) & 0x3F));
+                    b[n++] = (byte)(0x80 | ((p >>> 6) & 0x3F));
+                    b[n++] = (byte)(0x80 | (p & 0x3F));
+                } else {
+                    b[n++] = (byte)'?';
+                }
+            } else {
+                b[n++] = (byte)(0xE0 | (c >>> 12));
+                b[n++] = (byte)(0x80 | ((c >>> 6) & 0x3F));
+                b[n++] = (byte)(0x80 | (c & 0x3F));
+            }
+        }
+        return n;
+    }
 }
@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para los distintos formatos de exportación de gráficas.
+ */
+public enum FormatoGrafica {
+    /** Formato DOT de Graphviz. */
+    DOT,
+    /** Formato GraphML. */
+    GRAPHML,
+    /**
+     * Lista de aristas, una por renglón, con sus extremos y su peso
+     * separados por tabuladores. En los extremos, los tabuladores, saltos
+     * de línea, retornos de carro y diagonales invertidas se escriben como
+     * <code>\t</code>, <code>\n</code>, <code>\r</code> y
+     * <code>\\</code>.
+     */
+    LISTA_ARISTAS;
+}
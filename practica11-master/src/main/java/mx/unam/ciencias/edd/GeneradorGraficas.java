@@ -0,0 +1,223 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+
+/**
+ * Clase para generar gráficas sintéticas. Todas las gráficas generadas tienen
+ * como elementos a los enteros de 0 a <i>n</i>-1, y ningún lazo ni aristas
+ * múltiples.
+ */
+public class GeneradorGraficas {
+
+    /* Constructor privado para evitar instanciación. */
+    private GeneradorGraficas() {}
+
+    /**
+     * Genera una gráfica de Erdős–Rényi <i>G</i>(<i>n</i>, <i>p</i>): cada
+     * una de las posibles aristas existe con probabilidad <i>p</i>, y tiene
+     * un peso entero entre 1 y 100.
+     * @param n el número de vértices.
+     * @param p la probabilidad de cada arista.
+     * @param random el generador de números aleatorios.
+     * @return una gráfica de Erdős–Rényi.
+     * @throws IllegalArgumentException si <i>n</i> es negativo o <i>p</i> no
+     *         está entre 0 y 1.
+     */
+    public static Grafica<Integer> erdosRenyi(int n, double p, Random random)
+    {
+        return erdosRenyi(n, p, random, true);
+    }
+
+    /**
+     * Genera una gráfica de Erdős–Rényi <i>G</i>(<i>n</i>, <i>p</i>): cada
+     * una de las posibles aristas existe con probabilidad <i>p</i>. Los
+     * pesos son enteros entre 1 y 100, o fraccionarios entre 1 y 100.
+     * @param n el número de vértices.
+     * @param p la probabilidad de cada arista.
+     * @param random el generador de números aleatorios.
+     * @param enteros si los pesos deben ser enteros.
+     * @return una gráfica de Erdős–Rényi.
+     * @throws IllegalArgumentException si <i>n</i> es negativo o <i>p</i> no
+     *         está entre 0 y 1.
+     */
+    public static Grafica<Integer> erdosRenyi(int n, double p, Random random,
+                                              boolean enteros)
+    {
+        if (n < 0 || p < 0 || p > 1)
+        throw new IllegalArgumentException();
+        Grafica<Integer> grafica = vertices(n);
+        Lista<Integer> extremos = new Lista<Integer>();
+        for (int i = 0; i < n; i++)
+        {
+            for (int j = i+1; j < n; j++)
+            {
+                if (random.nextDouble() < p)
+                {
+                    extremos.agrega(i);
+                    extremos.agrega(j);
+                }
+            }
+        }
+        int m = extremos.getLongitud() / 2;
+        Integer[] a = new Integer[m];
+        Integer[] b = new Integer[m];
+        double[] pesos = new double[m];
+        int k = 0;
+        for (Integer extremo : extremos)
+        {
+            if (k % 2 == 0)
+                a[k/2] = extremo;
+            else
+            {
+                b[k/2] = extremo;
+                pesos[k/2] = enteros ? 1 + random.nextInt(100)
+                    : 1 + random.nextDouble() * 99;
+            }
+            k++;
+        }
+        grafica.conectaTodos(a, b, pesos);
+        return grafica;
+    }
+
+    /**
+     * Genera una rejilla bidimensional de <i>filas</i> × <i>columnas</i>
+     * vértices; el vértice en la fila <i>i</i> y la columna <i>j</i> es el
+     * entero <i>i</i>·<i>columnas</i>+<i>j</i>, y está conectado a sus
+     * vecinos horizontales y verticales.
+     * @param filas el número de filas.
+     * @param columnas el número de columnas.
+     * @return una rejilla bidimensional.
+     * @throws IllegalArgumentException si alguna dimensión es negativa.
+     */
+    public static Grafica<Integer> rejilla(int filas, int columnas)
+    {
+        if (filas < 0 || columnas < 0)
+        throw new IllegalArgumentException();
+        Grafica<Integer> grafica = vertices(filas * columnas);
+        for (int i = 0; i < filas; i++)
+        {
+            for (int j = 0; j < columnas; j++)
+            {
+                int v = i * columnas + j;
+                if (j + 1 < columnas)
+                    grafica.conecta(v, v + 1);
+                if (i + 1 < filas)
+                    grafica.conecta(v, v + columnas);
+            }
+        }
+        return grafica;
+    }
+
+    /**
+     * Genera una gráfica de Barabási–Albert por conexión preferencial: se
+     * comienza con una gráfica completa de <i>m</i>+1 vértices, y cada vértice
+     * nuevo se conecta a <i>m</i> vértices distintos elegidos con probabilidad
+     * proporcional a su grado.
+     * @param n el número de vértices.
+     * @param m el número de aristas de cada vértice nuevo.
+     * @param random el generador de números aleatorios.
+     * @return una gráfica de Barabási–Albert.
+     * @throws IllegalArgumentException si <i>m</i> es menor que uno, o si
+     *         <i>n</i> es menor o igual que <i>m</i>.
+     */
+    public static Grafica<Integer> barabasiAlbert(int n, int m, Random random)
+    {
+        if (m < 1 || n <= m)
+        throw new IllegalArgumentException();
+        Grafica<Integer> grafica = vertices(n);
+        /* Cada vértice aparece en el arreglo tantas veces como su grado. */
+        int[] extremos = new int[2 * (m * (m+1) / 2 + (n - m - 1) * m)];
+        int e = 0;
+        for (int i = 0; i <= m; i++)
+        {
+            for (int j = i+1; j <= m; j++)
+            {
+                grafica.conecta(i, j);
+                extremos[e++] = i;
+                extremos[e++] = j;
+            }
+        }
+        int[] elegidos = new int[m];
+        for (int v = m+1; v < n; v++)
+        {
+            int c = 0;
+            while (c < m)
+            {
+                int u = extremos[random.nextInt(e)];
+                boolean repetido = false;
+                for (int i = 0; i < c && !repetido; i++)
+                    repetido = elegidos[i] == u;
+                if (!repetido)
+                    elegidos[c++] = u;
+            }
+            for (int i = 0; i < m; i++)
+            {
+                grafica.conecta(v, elegidos[i]);
+                extremos[e++] = v;
+                extremos[e++] = elegidos[i];
+            }
+        }
+        return grafica;
+    }
+
+    /**
+     * Genera una gráfica R-MAT con 2<sup><i>escala</i></sup> vértices: cada
+     * arista se coloca descendiendo recursivamente por los cuadrantes de la
+     * matriz de adyacencias con probabilidades <i>a</i>, <i>b</i>, <i>c</i> y
+     * 1-<i>a</i>-<i>b</i>-<i>c</i>. Los lazos y las aristas repetidas se
+     * descartan, por lo que la gráfica puede tener menos aristas de las
+     * pedidas.
+     * @param escala el logaritmo base 2 del número de vértices.
+     * @param aristas el número de aristas a generar.
+     * @param a la probabilidad del cuadrante superior izquierdo.
+     * @param b la probabilidad del cuadrante superior derecho.
+     * @param c la probabilidad del cuadrante inferior izquierdo.
+     * @param random el generador de números aleatorios.
+     * @return una gráfica R-MAT.
+     * @throws IllegalArgumentException si la escala no está entre 0 y 30, si
+     *         el número de aristas es negativo, o si las probabilidades no
+     *         son válidas.
+     */
+    public static Grafica<Integer> rmat(int escala, int aristas,
+                                        double a, double b, double c,
+                                        Random random)
+    {
+        if (escala < 0 || escala > 30 || aristas < 0 ||
+            a < 0 || b < 0 || c < 0 || a + b + c > 1)
+        throw new IllegalArgumentException();
+        Grafica<Integer> grafica = vertices(1 << escala);
+        for (int k = 0; k < aristas; k++)
+        {
+            int u = 0, v = 0;
+            for (int bit = escala - 1; bit >= 0; bit--)
+            {
+                double r = random.nextDouble();
+                if (r < a)
+                    continue;
+                if (r < a + b)
+                    v |= 1 << bit;
+                else if (r < a + b + c)
+                    u |= 1 << bit;
+                else
+                {
+                    u |= 1 << bit;
+                    v |= 1 << bit;
+                }
+            }
+            if (u != v && !grafica.sonVecinos(u, v))
+                grafica.conecta(u, v, 1 + random.nextInt(100));
+        }
+        return grafica;
+    }
+
+    /* Regresa una gráfica con los vértices de 0 a n-1 y sin aristas. */
+    private static Grafica<Integer> vertices(int n)
+    {
+        Lista<Integer> elementos = new Lista<Integer>();
+        for (int i = 0; i < n; i++)
+            elementos.agrega(i);
+        Grafica<Integer> grafica = new Grafica<Integer>();
+        grafica.agregaTodos(elementos);
+        return grafica;
+    }
+}
@@ -1,7 +1,9 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 /**
  * Clase para gráficas. Una gráfica es un conjunto de vértices y aristas, tales
@@ -138,10 +140,149 @@ public class Grafica<T> implements Coleccion<T> {
         public boolean seSiguen(Grafica.Vertice v, Grafica.Vecino a);
     }
 
+    /* Clase interna privada para trayectorias sobre una instantánea de la
+     * gráfica; los vértices se representan con su índice en la instantánea. */
+    private static class Trayectoria {
+
+        /* Los índices de los vértices de la trayectoria. */
+        public int[] nodos;
+        /* El peso total de la trayectoria. */
+        public double costo;
+        /* Índice del vértice donde la trayectoria se desvió de su padre. */
+        public int desvio;
+
+        /* Construye una nueva trayectoria. */
+        public Trayectoria(int[] nodos, double costo, int desvio) {
+            this.nodos = nodos;
+            this.costo = costo;
+            this.desvio = desvio;
+        }
+
+        /* Dos trayectorias son iguales si pasan por los mismos vértices. */
+        @Override public boolean equals(Object objeto) {
+            if (objeto == null || getClass() != objeto.getClass())
+                return false;
+            Trayectoria t = (Trayectoria)objeto;
+            return Arrays.equals(nodos, t.nodos);
+        }
+
+        /* Regresa la dispersión de los vértices de la trayectoria. */
+        @Override public int hashCode() {
+            return Arrays.hashCode(nodos);
+        }
+    }
+
+    /* Clase interna privada para instantáneas de sólo lectura de la gráfica,
+     * que pueden recorrerse desde varios hilos a la vez. */
+    private class Instantanea {
+
+        /* Los vértices, indexados. */
+        public Vertice[] vertices;
+        /* Los índices de los vecinos de cada vértice. */
+        public int[][] vecinos;
+        /* Los pesos de las aristas a cada vecino. */
+        public double[][] pesos;
+        /* Los índices de los vértices. */
+        public Diccionario<Vertice, Integer> indices;
+
+        /* Construye la instantánea de la gráfica. */
+        @SuppressWarnings("unchecked")
+        public Instantanea() {
+            int n = getElementos();
+            this.vertices = (Vertice[])new Grafica.Vertice[n];
+            this.vecinos = new int[n][];
+            this.pesos = new double[n][];
+            this.indices = new Diccionario<Vertice, Integer>(n);
+            int i = 0;
+            for (Vertice vertice : Grafica.this.vertices)
+            {
+                this.vertices[i] = vertice;
+                this.indices.agrega(vertice, i++);
+            }
+            for (i = 0; i < n; i++)
+            {
+                Lista<Vecino> l = this.vertices[i].vecinos;
+                this.vecinos[i] = new int[l.getLongitud()];
+                this.pesos[i] = new double[l.getLongitud()];
+                int j = 0;
+                for (Vecino vecino : l)
+                {
+                    this.vecinos[i][j] = this.indices.get(vecino.vecino);
+                    this.pesos[i][j++] = vecino.peso;
+                }
+            }
+        }
+
+        /* Calcula una trayectoria de peso mínimo de s a t sin pasar por los
+         * vértices excluidos ni usar las aristas de s a los vértices
+         * prohibidos. Regresa null si no hay trayectoria. No modifica la
+         * gráfica, así que puede llamarse concurrentemente. */
+        @SuppressWarnings("unchecked")
+        public int[] dijkstra(int s, int t, boolean[] excluidos,
+                              boolean[] prohibidos) {
+            int n = vertices.length;
+            ValorIndexable<Integer>[] valores = new ValorIndexable[n];
+            Lista<ValorIndexable<Integer>> l =
+                new Lista<ValorIndexable<Integer>>();
+            for (int i = 0; i < n; i++)
+            {
+                if (excluidos[i])
+                    continue;
+                valores[i] = new ValorIndexable<Integer>(i, i == s ? 0 :
+                                                         Double.MAX_VALUE);
+                l.agrega(valores[i]);
+            }
+            int[] anterior = new int[n];
+            MonticuloMinimo<ValorIndexable<Integer>> monticulo =
+                new MonticuloMinimo<ValorIndexable<Integer>>(l);
+            while (!monticulo.esVacia())
+            {
+                ValorIndexable<Integer> v = monticulo.elimina();
+                int u = v.getElemento();
+                if (v.getValor() == Double.MAX_VALUE)
+                    return null;
+                if (u == t)
+                    break;
+                for (int j = 0; j < vecinos[u].length; j++)
+                {
+                    int w = vecinos[u][j];
+                    if (excluidos[w] || (u == s && prohibidos[w]) ||
+                        !monticulo.contiene(valores[w]))
+                        continue;
+                    double d = v.getValor() + pesos[u][j];
+                    if (d < valores[w].getValor())
+                    {
+                        valores[w].setValor(d);
+                        anterior[w] = u;
+                        monticulo.reordena(valores[w]);
+                    }
+                }
+            }
+            int longitud = 1;
+            for (int u = t; u != s; u = anterior[u])
+                longitud++;
+            int[] trayectoria = new int[longitud];
+            for (int u = t; u != s; u = anterior[u])
+                trayectoria[--longitud] = u;
+            trayectoria[0] = s;
+            return trayectoria;
+        }
+
+        /* Regresa el peso de la arista entre u y w. */
+        public double peso(int u, int w) {
+            for (int j = 0; j < vecinos[u].length; j++)
+                if (vecinos[u][j] == w)
+                    return pesos[u][j];
+            throw new IllegalArgumentException();
+        }
+    }
+
     /* Vértices. */
     private Lista<Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Si todos los pesos son enteros; null si hay que volver a calcularlo. */
+    private Boolean enteros;
 
     /**
      * Constructor único.
@@ -200,6 +341,7 @@ public class Grafica<T> implements Coleccion<T> {
         va.vecinos.agrega(new Vecino(vb,1));
         vb.vecinos.agrega(new Vecino(va,1));
         aristas++;
+        enteros = null;
     }
 
     /**
@@ -223,6 +365,131 @@ public class Grafica<T> implements Coleccion<T> {
         va.vecinos.agrega(new Vecino(vb,peso));
         vb.vecinos.agrega(new Vecino(va,peso));
         aristas++;
+        enteros = null;
+    }
+
+    /**
+     * Agrega todos los elementos del iterable a la gráfica. Los elementos se
+     * validan todos antes de agregar cualquiera, buscándolos en un diccionario
+     * en lugar de recorrer la lista de vértices por cada uno, así que si
+     * alguno es inválido la gráfica no se modifica.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si algún elemento es <code>null</code>,
+     *         ya había sido agregado a la gráfica, o está repetido.
+     */
+    public void agregaTodos(Iterable<T> elementos)
+    {
+        Diccionario<T, Vertice> indice = indice();
+        Lista<Vertice> nuevos = new Lista<Vertice>();
+        for (T elemento : elementos)
+        {
+            if (elemento == null || indice.contiene(elemento))
+            throw new IllegalArgumentException();
+            Vertice vertice = new Vertice(elemento);
+            indice.agrega(elemento, vertice);
+            nuevos.agrega(vertice);
+        }
+        for (Vertice vertice : nuevos)
+            vertices.agrega(vertice);
+    }
+
+    /**
+     * Conecta los pares de elementos recibidos; la <i>i</i>-ésima arista
+     * conecta a <code>a[i]</code> con <code>b[i]</code> y tiene peso
+     * <code>pesos[i]</code>. Todas las aristas se validan antes de agregar
+     * cualquiera, así que si alguna es inválida la gráfica no se modifica. Los
+     * vértices se buscan en un diccionario, y las aristas repetidas se
+     * detectan marcando los vecinos de cada vértice involucrado, por lo que el
+     * tiempo es lineal en el tamaño del lote más los vértices y las aristas de
+     * los vértices involucrados, en lugar de hacer un recorrido de la gráfica
+     * por cada arista. Al terminar el método, todos los vértices tendrán color
+     * {@link Color#NINGUNO}.
+     * @param a los primeros elementos a conectar.
+     * @param b los segundos elementos a conectar.
+     * @param pesos los pesos de las nuevas aristas.
+     * @throws NoSuchElementException si algún elemento no está en la gráfica.
+     * @throws IllegalArgumentException si los arreglos son de distinta
+     *         longitud, si algún par ya está conectado o está repetido, si
+     *         a[i] es igual a b[i], o si algún peso es negativo.
+     */
+    public void conectaTodos(T[] a, T[] b, double[] pesos)
+    {
+        if (a.length != b.length || a.length != pesos.length)
+        throw new IllegalArgumentException();
+        int n = a.length;
+        Diccionario<T, Vertice> indice = indice();
+        /* Cada arista se agrupa bajo su extremo con menor índice. */
+        Diccionario<Vertice, Lista<Integer>> grupos =
+            new Diccionario<Vertice, Lista<Integer>>(n);
+        Lista<Vertice> menores = new Lista<Vertice>();
+        @SuppressWarnings("unchecked") Vertice[] va =
+            (Vertice[])new Grafica.Vertice[n];
+        @SuppressWarnings("unchecked") Vertice[] vb =
+            (Vertice[])new Grafica.Vertice[n];
+        for (int i = 0; i < n; i++)
+        {
+            if (a[i] == null || b[i] == null ||
+                !indice.contiene(a[i]) || !indice.contiene(b[i]))
+            throw new NoSuchElementException();
+            if (a[i].equals(b[i]) || pesos[i] < 0)
+            throw new IllegalArgumentException();
+            va[i] = indice.get(a[i]);
+            vb[i] = indice.get(b[i]);
+            Vertice menor = va[i].indice < vb[i].indice ? va[i] : vb[i];
+            if (!grupos.contiene(menor))
+            {
+                grupos.agrega(menor, new Lista<Integer>());
+                menores.agrega(menor);
+            }
+            grupos.get(menor).agrega(i);
+        }
+        for (Vertice vertice : vertices)
+            vertice.color = Color.NINGUNO;
+        try {
+            for (Vertice menor : menores)
+            {
+                for (Vecino vecino : menor.vecinos)
+                    vecino.vecino.color = Color.ROJO;
+                for (int i : grupos.get(menor))
+                {
+                    Vertice otro = va[i] == menor ? vb[i] : va[i];
+                    if (otro.color == Color.ROJO)
+                    throw new IllegalArgumentException();
+                    otro.color = Color.ROJO;
+                }
+                for (Vecino vecino : menor.vecinos)
+                    vecino.vecino.color = Color.NINGUNO;
+                for (int i : grupos.get(menor))
+                    (va[i] == menor ? vb[i] : va[i]).color = Color.NINGUNO;
+            }
+        } catch (IllegalArgumentException iae) {
+            for (Vertice vertice : vertices)
+                vertice.color = Color.NINGUNO;
+            throw iae;
+        }
+        for (int i = 0; i < n; i++)
+        {
+            va[i].vecinos.agrega(new Vecino(vb[i], pesos[i]));
+            vb[i].vecinos.agrega(new Vecino(va[i], pesos[i]));
+        }
+        aristas += n;
+        enteros = null;
+    }
+
+    /* Regresa un diccionario de los elementos a sus vértices, con capacidad
+     * para el número de vértices; además numera los vértices en su campo de
+     * índice, en el orden de la lista. */
+    private Diccionario<T, Vertice> indice()
+    {
+        Diccionario<T, Vertice> indice =
+            new Diccionario<T, Vertice>(getElementos());
+        int i = 0;
+        for (Vertice vertice : vertices)
+        {
+            vertice.indice = i++;
+            indice.agrega(vertice.elemento, vertice);
+        }
+        return indice;
     }
 
     /**
@@ -250,6 +517,7 @@ public class Grafica<T> implements Coleccion<T> {
         va.vecinos.elimina(vea);
         vb.vecinos.elimina(veb);
         aristas--;
+        enteros = null;
     }
 
     /**
@@ -301,6 +569,7 @@ public class Grafica<T> implements Coleccion<T> {
                 {
                     vertice.vecinos.elimina(vecino);
                     aristas--;
+                    enteros = null;
                 }
             }
         }
@@ -383,6 +652,7 @@ public class Grafica<T> implements Coleccion<T> {
             if (vecinob.vecino.equals(c))
                 vecinob.peso = peso;
         }
+        enteros = null;
     }
 
     /**
@@ -461,6 +731,32 @@ public class Grafica<T> implements Coleccion<T> {
             accion.actua(vertice);
     }
 
+    /**
+     * Realiza la acción recibida en cada una de las aristas de la gráfica,
+     * exactamente una vez por arista, en tiempo <i>O</i>(<i>n</i>+<i>m</i>) y
+     * sin memoria adicional. Al terminar el método, todos los vértices tendrán
+     * color {@link Color#NINGUNO}.
+     * @param accion la acción a realizar.
+     */
+    public void paraCadaArista(AccionAristaGrafica<T> accion)
+    {
+        for (Vertice vertice : vertices)
+            vertice.color = Color.ROJO;
+        try {
+            for (Vertice vertice : vertices)
+            {
+                vertice.color = Color.NEGRO;
+                for (Vecino vecino : vertice.vecinos)
+                    if (vecino.vecino.color == Color.ROJO)
+                        accion.actua(vertice.elemento, vecino.vecino.elemento,
+                                     vecino.peso);
+            }
+        } finally {
+            for (Vertice vertice : vertices)
+                vertice.color = Color.NINGUNO;
+        }
+    }
+
     /**
      * Realiza la acción recibida en todos los vértices de la gráfica, en el
      * orden determinado por BFS, comenzando por el vértice correspondiente al
@@ -529,6 +825,7 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
         this.vertices.limpia();
         this.aristas = 0;
+        this.enteros = null;
     }
 
     /**
@@ -658,7 +955,9 @@ public class Grafica<T> implements Coleccion<T> {
 
     /**
      * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
-     * de destino.
+     * de destino. El montículo se elige a partir de los pesos y la densidad de
+     * la gráfica, como en {@link #dijkstra(Object,Object,TipoMonticuloDijkstra)} con
+     * {@link TipoMonticuloDijkstra#AUTOMATICO}.
      * @param origen el vértice origen.
      * @param destino el vértice destino.
      * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
@@ -668,11 +967,38 @@ public class Grafica<T> implements Coleccion<T> {
      *         la gráfica.
      */
     public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino)
+    {
+        return dijkstra(origen, destino, TipoMonticuloDijkstra.AUTOMATICO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino, usando el montículo especificado. Con <i>n</i> vértices y
+     * <i>m</i> aristas, {@link MonticuloArreglo} toma tiempo
+     * <i>O</i>(<i>n</i><sup>2</sup>) y {@link MonticuloMinimo} tiempo
+     * <i>O</i>(<i>m</i> log <i>n</i>). Si todos los pesos son enteros,
+     * {@link MonticuloRadix} usa las distancias como llaves enteras y no
+     * compara vértices. Con {@link TipoMonticuloDijkstra#AUTOMATICO} se usa el
+     * montículo radix si todos los pesos son enteros; si no, el montículo con
+     * arreglo si <i>m</i> &gt; <i>n</i><sup>2</sup>/log <i>n</i>, y el
+     * montículo mínimo en otro caso.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param tipo el montículo a usar.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si se pide el montículo radix y algún
+     *         peso no es entero.
+     */
+    public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino,
+                                             TipoMonticuloDijkstra tipo)
     {
         if (!contiene(origen) || !contiene(destino))
         throw new NoSuchElementException();
         Lista<VerticeGrafica<T>> l = new Lista<VerticeGrafica<T>>();
-        MonticuloMinimo<Vertice> monticulomin = new MonticuloMinimo<Vertice>(vertices);
         Vertice a = (Vertice) vertice(origen);
         Vertice b = (Vertice) vertice(destino);
         for (Vertice vertice : vertices)
@@ -680,14 +1006,17 @@ public class Grafica<T> implements Coleccion<T> {
             vertice.distancia = Double.MAX_VALUE;
         }
         a.distancia = 0;
-        while (!monticulomin.esVacia())
+        MonticuloDijkstra<Vertice> monticulo = monticuloDijkstra(tipo);
+        while (!monticulo.esVacia())
         {
-            Vertice ve = monticulomin.elimina();
+            Vertice ve = monticulo.elimina();
             for (Vecino vecino : ve.vecinos)
             {
                 if (vecino.vecino.distancia > (ve.distancia + vecino.peso))
+                {
                     vecino.vecino.distancia = ve.distancia + vecino.peso;
-                    monticulomin.reordena(vecino.vecino);
+                    monticulo.reordena(vecino.vecino);
+                }
             }
         }
         if (b.distancia == Double.MAX_VALUE)
@@ -706,4 +1035,198 @@ public class Grafica<T> implements Coleccion<T> {
         }
         return l.reversa();
     }
+
+    /* Construye el montículo de Dijkstra del tipo recibido con todos los
+     * vértices de la gráfica. */
+    private MonticuloDijkstra<Vertice>
+    monticuloDijkstra(TipoMonticuloDijkstra tipo)
+    {
+        switch (tipo) {
+        case ARREGLO:
+            return new MonticuloArreglo<Vertice>(vertices);
+        case MINIMO:
+            return new MonticuloMinimo<Vertice>(vertices);
+        case EMPAREJAMIENTO:
+            return new MonticuloEmparejamiento<Vertice>(vertices);
+        case RADIX:
+            if (!pesosEnteros())
+            throw new IllegalArgumentException();
+            return new MonticuloRadix<Vertice>(vertices, v ->
+                v.distancia == Double.MAX_VALUE ? Long.MAX_VALUE :
+                (long)v.distancia);
+        case AUTOMATICO:
+            return monticuloDijkstra(tipoAutomatico());
+        default: throw new IllegalArgumentException("Montículo inválido");
+        }
+    }
+
+    /* Regresa el montículo que usa Dijkstra con AUTOMATICO: radix si los
+     * pesos son enteros; si no, con arreglo si la gráfica es densa y mínimo
+     * en otro caso. */
+    TipoMonticuloDijkstra tipoAutomatico()
+    {
+        if (pesosEnteros())
+            return TipoMonticuloDijkstra.RADIX;
+        return esDensa() ? TipoMonticuloDijkstra.ARREGLO
+            : TipoMonticuloDijkstra.MINIMO;
+    }
+
+    /* Nos dice si todos los pesos son enteros, y lo bastante chicos para que
+     * cualquier trayectoria tenga un peso entero exacto. El resultado se
+     * guarda hasta que cambien las aristas. */
+    private boolean pesosEnteros()
+    {
+        if (enteros == null)
+            enteros = calculaPesosEnteros();
+        return enteros;
+    }
+
+    /* Recorre las aristas para saber si todos los pesos son enteros. */
+    private boolean calculaPesosEnteros()
+    {
+        double total = 0;
+        for (Vertice vertice : vertices)
+        {
+            for (Vecino vecino : vertice.vecinos)
+            {
+                if (vecino.peso != Math.rint(vecino.peso))
+                    return false;
+                total += vecino.peso;
+            }
+        }
+        return total < (double)(1L << 53);
+    }
+
+    /* Nos dice si la gráfica es densa, es decir, si m > n²/log n. */
+    private boolean esDensa()
+    {
+        double n = getElementos();
+        if (n < 2)
+            return false;
+        return aristas * (Math.log(n) / Math.log(2)) > n * n;
+    }
+
+    /**
+     * Calcula las <i>k</i> trayectorias sin ciclos de peso mínimo entre el
+     * elemento de origen y el elemento de destino, usando el algoritmo de Yen.
+     * Las trayectorias desviadas de cada trayectoria se calculan en paralelo
+     * sobre una instantánea de la gráfica, y cada trayectoria sólo se desvía a
+     * partir del vértice donde ella misma se separó de su padre, por lo que los
+     * prefijos compartidos no se vuelven a calcular.
+     * @param origen el elemento de origen.
+     * @param destino el elemento de destino.
+     * @param k el número máximo de trayectorias que queremos.
+     * @return una lista con a lo más <i>k</i> trayectorias, en orden no
+     *         decreciente de peso. Si los vértices están en componentes conexas
+     *         distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si <i>k</i> es menor que uno.
+     */
+    public Lista<Lista<VerticeGrafica<T>>>
+    kTrayectoriasMinimas(T origen, T destino, int k)
+    {
+        if (!contiene(origen) || !contiene(destino))
+        throw new NoSuchElementException();
+        if (k < 1)
+        throw new IllegalArgumentException();
+        Lista<Lista<VerticeGrafica<T>>> l =
+            new Lista<Lista<VerticeGrafica<T>>>();
+        Instantanea instantanea = new Instantanea();
+        int n = instantanea.vertices.length;
+        int s = instantanea.indices.get(busca(origen));
+        int t = instantanea.indices.get(busca(destino));
+        int[] primera = instantanea.dijkstra(s, t, new boolean[n],
+                                             new boolean[n]);
+        if (primera == null)
+            return l;
+
+        Lista<Trayectoria> encontradas = new Lista<Trayectoria>();
+        Conjunto<Trayectoria> vistas = new Conjunto<Trayectoria>();
+        MonticuloMinimo<ValorIndexable<Trayectoria>> candidatas =
+            new MonticuloMinimo<ValorIndexable<Trayectoria>>();
+        Trayectoria actual =
+            new Trayectoria(primera, costo(instantanea, primera), 0);
+        vistas.agrega(actual);
+        while (true)
+        {
+            encontradas.agrega(actual);
+            if (encontradas.getLongitud() == k || actual.nodos.length == 1)
+                break;
+            Trayectoria anterior = actual;
+            double[] prefijos = new double[anterior.nodos.length];
+            for (int i = 1; i < prefijos.length; i++)
+                prefijos[i] = prefijos[i-1] + instantanea.peso(
+                    anterior.nodos[i-1], anterior.nodos[i]);
+            Trayectoria[] desviadas = IntStream
+                .range(anterior.desvio, anterior.nodos.length - 1)
+                .parallel()
+                .mapToObj(i -> desvia(instantanea, encontradas, anterior,
+                                      prefijos, i, t))
+                .toArray(Trayectoria[]::new);
+            for (Trayectoria desviada : desviadas)
+            {
+                if (desviada == null || vistas.contiene(desviada))
+                    continue;
+                vistas.agrega(desviada);
+                candidatas.agrega(new ValorIndexable<Trayectoria>(
+                                      desviada, desviada.costo));
+            }
+            if (candidatas.esVacia())
+                break;
+            actual = candidatas.elimina().getElemento();
+        }
+
+        for (Trayectoria trayectoria : encontradas)
+        {
+            Lista<VerticeGrafica<T>> lt = new Lista<VerticeGrafica<T>>();
+            for (int u : trayectoria.nodos)
+                lt.agrega(instantanea.vertices[u]);
+            l.agrega(lt);
+        }
+        return l;
+    }
+
+    /* Calcula la trayectoria que se desvía de la trayectoria anterior en su
+     * i-ésimo vértice; los prefijos contienen los pesos acumulados de la
+     * trayectoria anterior. Sólo lee estructuras compartidas. */
+    private Trayectoria desvia(Instantanea instantanea,
+                               Lista<Trayectoria> encontradas,
+                               Trayectoria anterior, double[] prefijos,
+                               int i, int t)
+    {
+        int n = instantanea.vertices.length;
+        int[] raiz = anterior.nodos;
+        boolean[] excluidos = new boolean[n];
+        boolean[] prohibidos = new boolean[n];
+        for (int j = 0; j < i; j++)
+            excluidos[raiz[j]] = true;
+        for (Trayectoria trayectoria : encontradas)
+        {
+            int[] nodos = trayectoria.nodos;
+            if (nodos.length <= i + 1)
+                continue;
+            boolean comparte = true;
+            for (int j = 0; j <= i && comparte; j++)
+                comparte = nodos[j] == raiz[j];
+            if (comparte)
+                prohibidos[nodos[i+1]] = true;
+        }
+        int[] rama = instantanea.dijkstra(raiz[i], t, excluidos, prohibidos);
+        if (rama == null)
+            return null;
+        int[] nodos = new int[i + rama.length];
+        System.arraycopy(raiz, 0, nodos, 0, i);
+        System.arraycopy(rama, 0, nodos, i, rama.length);
+        return new Trayectoria(nodos, prefijos[i] + costo(instantanea, rama),
+                               i);
+    }
+
+    /* Regresa el peso total de una trayectoria en la instantánea. */
+    private double costo(Instantanea instantanea, int[] nodos) {
+        double c = 0;
+        for (int i = 1; i < nodos.length; i++)
+            c += instantanea.peso(nodos[i-1], nodos[i]);
+        return c;
+    }
 }
@@ -0,0 +1,279 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos mínimos <i>d</i>-arios.</p>
+ *
+ * <p>Un montículo <i>d</i>-ario es como un {@link MonticuloMinimo}, pero cada
+ * vértice tiene hasta <i>d</i> hijos en lugar de dos; los hijos del elemento
+ * en la posición <i>i</i> están en las posiciones <i>d</i>·<i>i</i> + 1 a
+ * <i>d</i>·<i>i</i> + <i>d</i>. El árbol tiene altura log<sub><i>d</i></sub>
+ * <i>n</i>, así que agregar y reordenar hacia arriba hacen menos
+ * comparaciones, y eliminar revisa más hijos por nivel, pero contiguos en
+ * memoria; en montículos con millones de elementos eso se traduce en menos
+ * fallos de caché.</p>
+ *
+ * <p>La aridad se fija al construir el montículo y puede ser 2, 4 u 8.</p>
+ */
+public class MonticuloDario<T extends ComparableIndexable<T>>
+    implements Coleccion<T>, MonticuloDijkstra<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* Índice del iterador. */
+        private int indice;
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < elementos;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public T next() {
+            if (indice >= elementos)
+            throw new NoSuchElementException();
+            return arbol[indice++];
+        }
+    }
+
+    /* La aridad del montículo. */
+    private int aridad;
+    /* El número de elementos en el arreglo. */
+    private int elementos;
+    /* Usamos un truco para poder utilizar arreglos genéricos. */
+    private T[] arbol;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Constructor para un montículo vacío de la aridad recibida.
+     * @param aridad el número de hijos de cada vértice: 2, 4 u 8.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloDario(int aridad) {
+        this.aridad = valida(aridad);
+        arbol = nuevoArreglo(100); /* 100 es arbitrario. */
+    }
+
+    /**
+     * Constructor para montículo <i>d</i>-ario que recibe una colección. Es
+     * más barato construir un montículo con todos sus elementos de antemano
+     * (tiempo <i>O</i>(<i>n</i>)), que insertándolos uno por uno.
+     * @param aridad el número de hijos de cada vértice: 2, 4 u 8.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloDario(int aridad, Coleccion<T> coleccion) {
+        this(aridad, coleccion, coleccion.getElementos());
+    }
+
+    /**
+     * Constructor para montículo <i>d</i>-ario que recibe un iterable y el
+     * número de elementos en el mismo.
+     * @param aridad el número de hijos de cada vértice: 2, 4 u 8.
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     * @throws IllegalArgumentException si la aridad no es 2, 4 u 8.
+     */
+    public MonticuloDario(int aridad, Iterable<T> iterable, int n) {
+        this.aridad = valida(aridad);
+        arbol = nuevoArreglo(Math.max(n, 1));
+        for (T elemento : iterable) {
+            arbol[elementos] = elemento;
+            elemento.setIndice(elementos++);
+        }
+        for (int i = elementos > 1 ? (elementos - 2) / aridad : -1; i >= 0; i--)
+            baja(i);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     */
+    @Override public void agrega(T elemento) {
+        if (elementos == arbol.length) {
+            T[] arbolx2 = nuevoArreglo(elementos * 2);
+            System.arraycopy(arbol, 0, arbolx2, 0, elementos);
+            arbol = arbolx2;
+        }
+        arbol[elementos] = elemento;
+        sube(elementos++);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException();
+        T raiz = arbol[0];
+        quita(0);
+        return raiz;
+    }
+
+    /**
+     * Elimina un elemento del montículo.
+     * @param elemento a eliminar del montículo.
+     */
+    @Override public void elimina(T elemento) {
+        if (contiene(elemento))
+            quita(elemento.getIndice());
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el montículo.
+     * @param elemento el elemento que queremos saber si está contenido.
+     * @return <code>true</code> si el elemento está contenido,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        int indice = elemento.getIndice();
+        return indice >= 0 && indice < elementos && arbol[indice] == elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < elementos; i++) {
+            arbol[i].setIndice(-1);
+            arbol[i] = null;
+        }
+        elementos = 0;
+    }
+
+    /**
+     * Reordena un elemento en el árbol.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        if (!contiene(elemento))
+            return;
+        int i = elemento.getIndice();
+        if (i > 0 && elemento.compareTo(arbol[(i - 1) / aridad]) < 0)
+            sube(i);
+        else
+            baja(i);
+    }
+
+    /**
+     * Regresa la aridad del montículo.
+     * @return el número de hijos de cada vértice.
+     */
+    public int getAridad() {
+        return aridad;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del árbol, por niveles.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del árbol, por niveles.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+        throw new NoSuchElementException();
+        return arbol[i];
+    }
+
+    /**
+     * Regresa un iterador para iterar el montículo. El montículo se itera en
+     * orden BFS.
+     * @return un iterador para iterar el montículo.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /* Verifica la aridad y la regresa. */
+    private static int valida(int aridad) {
+        if (aridad != 2 && aridad != 4 && aridad != 8)
+            throw new IllegalArgumentException();
+        return aridad;
+    }
+
+    /* Quita el elemento en la posición i, moviendo el último a su lugar. */
+    private void quita(int i) {
+        T elemento = arbol[i];
+        T ultimo = arbol[--elementos];
+        arbol[elementos] = null;
+        elemento.setIndice(-1);
+        if (i == elementos)
+            return;
+        arbol[i] = ultimo;
+        if (ultimo.compareTo(elemento) < 0)
+            sube(i);
+        else
+            baja(i);
+    }
+
+    /* Sube el elemento en la posición i mientras sea menor que su padre. Los
+     * padres bajan a su lugar sin intercambios, y el elemento se escribe una
+     * sola vez al final. */
+    private void sube(int i) {
+        T elemento = arbol[i];
+        while (i > 0) {
+            int padre = (i - 1) / aridad;
+            if (arbol[padre].compareTo(elemento) <= 0)
+                break;
+            arbol[i] = arbol[padre];
+            arbol[i].setIndice(i);
+            i = padre;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+
+    /* Baja el elemento en la posición i mientras sea mayor que su hijo
+     * mínimo. Los hijos de cada vértice son contiguos en el arreglo. */
+    private void baja(int i) {
+        T elemento = arbol[i];
+        while (true) {
+            int primero = aridad * i + 1;
+            if (primero >= elementos)
+                break;
+            int ultimo = Math.min(primero + aridad, elementos);
+            int min = primero;
+            for (int j = primero + 1; j < ultimo; j++)
+                if (arbol[j].compareTo(arbol[min]) < 0)
+                    min = j;
+            if (arbol[min].compareTo(elemento) >= 0)
+                break;
+            arbol[i] = arbol[min];
+            arbol[i].setIndice(i);
+            i = min;
+        }
+        arbol[i] = elemento;
+        elemento.setIndice(i);
+    }
+}
@@ -0,0 +1,342 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de emparejamiento (<i>pairing heaps</i>).</p>
+ *
+ * <p>Un montículo de emparejamiento es un árbol general con la propiedad de
+ * montículo mínimo. Agregar, reordenar un elemento cuyo valor disminuyó y
+ * mezclar dos montículos enlazan dos árboles en tiempo constante; eliminar el
+ * mínimo empareja los hijos de la raíz en dos pasadas, en tiempo amortizado
+ * <i>O</i>(log <i>n</i>). Por eso conviene en el algoritmo de Dijkstra sobre
+ * gráficas densas, donde hay muchas más reordenaciones que eliminaciones.</p>
+ *
+ * <p>Los nodos se guardan además en un arreglo, y el índice de cada elemento
+ * es su posición en ese arreglo, lo que permite encontrar su nodo en tiempo
+ * constante.</p>
+ */
+public class MonticuloEmparejamiento<T extends ComparableIndexable<T>>
+    implements Coleccion<T>, MonticuloDijkstra<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* Índice del iterador. */
+        private int indice;
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return indice < elementos;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public T next() {
+            if (indice >= elementos)
+            throw new NoSuchElementException();
+            return nodos[indice++].elemento;
+        }
+    }
+
+    /* Clase interna privada para nodos. */
+    private class Nodo {
+
+        /* El elemento del nodo. */
+        public T elemento;
+        /* El primer hijo del nodo. */
+        public Nodo hijo;
+        /* El siguiente hermano del nodo. */
+        public Nodo hermano;
+        /* El hermano anterior del nodo, o su padre si es el primer hijo. */
+        public Nodo anterior;
+
+        /* Construye un nodo con un elemento. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* La raíz del montículo. */
+    private Nodo raiz;
+    /* Los nodos del montículo, indexados por el índice de sus elementos. */
+    private Nodo[] nodos;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Nodo[] nuevoArreglo(int n) {
+        return (Nodo[])Array.newInstance(Nodo.class, n);
+    }
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public MonticuloEmparejamiento() {
+        nodos = nuevoArreglo(100); /* 100 es arbitrario. */
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento que recibe una colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     */
+    public MonticuloEmparejamiento(Coleccion<T> coleccion) {
+        this(coleccion, coleccion.getElementos());
+    }
+
+    /**
+     * Constructor para montículo de emparejamiento que recibe un iterable y el
+     * número de elementos en el mismo. Como agregar toma tiempo constante,
+     * construir el montículo toma tiempo <i>O</i>(<i>n</i>).
+     * @param iterable el iterable a partir de la cuál queremos construir el
+     *                 montículo.
+     * @param n el número de elementos en el iterable.
+     */
+    public MonticuloEmparejamiento(Iterable<T> iterable, int n) {
+        nodos = nuevoArreglo(Math.max(n, 1));
+        for (T elemento : iterable)
+            agrega(elemento);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     */
+    @Override public void agrega(T elemento) {
+        if (elementos == nodos.length) {
+            Nodo[] nodosx2 = nuevoArreglo(elementos * 2);
+            System.arraycopy(nodos, 0, nodosx2, 0, elementos);
+            nodos = nodosx2;
+        }
+        Nodo nodo = new Nodo(elemento);
+        nodos[elementos] = nodo;
+        elemento.setIndice(elementos++);
+        raiz = enlaza(raiz, nodo);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (esVacia())
+        throw new IllegalStateException();
+        Nodo nodo = raiz;
+        raiz = empareja(nodo.hijo);
+        quita(nodo);
+        return nodo.elemento;
+    }
+
+    /**
+     * Elimina un elemento del montículo.
+     * @param elemento a eliminar del montículo.
+     */
+    @Override public void elimina(T elemento) {
+        if (!contiene(elemento))
+            return;
+        Nodo nodo = nodos[elemento.getIndice()];
+        if (nodo == raiz) {
+            elimina();
+            return;
+        }
+        corta(nodo);
+        raiz = enlaza(raiz, empareja(nodo.hijo));
+        quita(nodo);
+    }
+
+    /**
+     * Reordena un elemento en el montículo, en tiempo constante. El valor del
+     * elemento sólo debe haber disminuido (o seguir igual), como ocurre en el
+     * algoritmo de Dijkstra; si aumentó hay que eliminarlo y volverlo a
+     * agregar.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+        if (!contiene(elemento))
+            return;
+        Nodo nodo = nodos[elemento.getIndice()];
+        if (nodo == raiz)
+            return;
+        corta(nodo);
+        raiz = enlaza(raiz, nodo);
+    }
+
+    /**
+     * Mezcla el montículo recibido con éste, que se queda con todos los
+     * elementos de ambos; el montículo recibido queda vacío. Las raíces se
+     * enlazan en tiempo constante; además los nodos del montículo con menos
+     * elementos se reindexan en el arreglo del otro, en tiempo
+     * <i>O</i>(min(<i>n</i>, <i>m</i>)).
+     * @param monticulo el montículo a mezclar con éste.
+     */
+    public void mezcla(MonticuloEmparejamiento<T> monticulo) {
+        if (monticulo == this)
+            return;
+        if (monticulo.elementos > elementos) {
+            Nodo r = raiz; raiz = monticulo.raiz; monticulo.raiz = r;
+            Nodo[] a = nodos; nodos = monticulo.nodos; monticulo.nodos = a;
+            int n = elementos;
+            elementos = monticulo.elementos;
+            monticulo.elementos = n;
+        }
+        if (elementos + monticulo.elementos > nodos.length) {
+            Nodo[] nuevos = nuevoArreglo(2 * (elementos + monticulo.elementos));
+            System.arraycopy(nodos, 0, nuevos, 0, elementos);
+            nodos = nuevos;
+        }
+        for (int i = 0; i < monticulo.elementos; i++) {
+            Nodo nodo = monticulo.nodos[i];
+            nodos[elementos] = nodo;
+            nodo.elemento.setIndice(elementos++);
+        }
+        raiz = enlaza(raiz, monticulo.raiz);
+        monticulo.raiz = null;
+        monticulo.nodos = monticulo.nuevoArreglo(100);
+        monticulo.elementos = 0;
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el montículo.
+     * @param elemento el elemento que queremos saber si está contenido.
+     * @return <code>true</code> si el elemento está contenido,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        int indice = elemento.getIndice();
+        return indice >= 0 && indice < elementos &&
+            nodos[indice].elemento == elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        for (int i = 0; i < elementos; i++) {
+            nodos[i].elemento.setIndice(-1);
+            nodos[i] = null;
+        }
+        raiz = null;
+        elementos = 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del arreglo de nodos.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del arreglo de nodos.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+        throw new NoSuchElementException();
+        return nodos[i].elemento;
+    }
+
+    /**
+     * Regresa un iterador para iterar el montículo. El montículo se itera en
+     * el orden de su arreglo de nodos.
+     * @return un iterador para iterar el montículo.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /* Enlaza dos árboles; la raíz con el elemento mayor se vuelve el primer
+     * hijo de la otra. Regresa la raíz resultante. */
+    private Nodo enlaza(Nodo a, Nodo b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        if (b.elemento.compareTo(a.elemento) < 0) {
+            Nodo t = a;
+            a = b;
+            b = t;
+        }
+        b.hermano = a.hijo;
+        if (a.hijo != null)
+            a.hijo.anterior = b;
+        b.anterior = a;
+        a.hijo = b;
+        a.hermano = null;
+        a.anterior = null;
+        return a;
+    }
+
+    /* Empareja una lista de hermanos en dos pasadas: primero enlaza los
+     * árboles por pares de izquierda a derecha, y luego enlaza los pares
+     * resultantes de derecha a izquierda. Regresa la nueva raíz. */
+    private Nodo empareja(Nodo primero) {
+        if (primero == null)
+            return null;
+        /* Los pares se apilan usando el enlace de hermanos. */
+        Nodo pares = null;
+        Nodo a = primero;
+        while (a != null) {
+            Nodo b = a.hermano;
+            Nodo siguiente = b == null ? null : b.hermano;
+            a.hermano = a.anterior = null;
+            if (b != null)
+                b.hermano = b.anterior = null;
+            Nodo par = enlaza(a, b);
+            par.hermano = pares;
+            pares = par;
+            a = siguiente;
+        }
+        Nodo r = pares;
+        pares = pares.hermano;
+        r.hermano = null;
+        while (pares != null) {
+            Nodo s = pares;
+            pares = pares.hermano;
+            s.hermano = null;
+            r = enlaza(r, s);
+        }
+        return r;
+    }
+
+    /* Corta el subárbol de un nodo que no es la raíz. */
+    private void corta(Nodo nodo) {
+        if (nodo.anterior.hijo == nodo)
+            nodo.anterior.hijo = nodo.hermano;
+        else
+            nodo.anterior.hermano = nodo.hermano;
+        if (nodo.hermano != null)
+            nodo.hermano.anterior = nodo.anterior;
+        nodo.hermano = nodo.anterior = null;
+    }
+
+    /* Quita un nodo ya desenlazado del arreglo, moviendo el último a su
+     * lugar. */
+    private void quita(Nodo nodo) {
+        int indice = nodo.elemento.getIndice();
+        Nodo ultimo = nodos[--elementos];
+        nodos[indice] = ultimo;
+        ultimo.elemento.setIndice(indice);
+        nodos[elementos] = null;
+        nodo.elemento.setIndice(-1);
+        nodo.hijo = nodo.hermano = nodo.anterior = null;
+    }
+}
@@ -0,0 +1,361 @@
+package mx.unam.ciencias.edd;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>Clase para montículos mínimos en memoria externa.</p>
+ *
+ * <p>El montículo mantiene en memoria un {@link MonticuloMinimo} de a lo más
+ * cierta capacidad. Cuando se llena, sus elementos se escriben ordenados en
+ * un archivo temporal (una <i>corrida</i>) por medio de un {@link
+ * FileChannel}, y el montículo en memoria queda vacío. Eliminar compara el
+ * mínimo en memoria con el primer elemento de cada corrida, que se tienen en
+ * otro montículo mínimo, y saca el menor; las corridas se leen
+ * secuencialmente con un búfer. Cada corrida tiene un nivel: las que salen
+ * de memoria son de nivel cero, y cuando se juntan dieciséis corridas del
+ * mismo nivel se mezclan en una del siguiente. Así cada
+ * elemento se reescribe a lo más una vez por nivel, y el número de niveles
+ * es logarítmico en el número de corridas.</p>
+ *
+ * <p>Los elementos se escriben y leen con un {@link Serializador}; los que
+ * vienen de disco son objetos nuevos. Los errores de entrada/salida se lanzan
+ * como {@link UncheckedIOException}. Hay que cerrar el montículo para borrar
+ * sus archivos temporales.</p>
+ */
+public class MonticuloExterno<T extends ComparableIndexable<T>>
+    implements Closeable {
+
+    /* Tamaño de los búferes de lectura y escritura. */
+    private static final int BUFFER = 1 << 16;
+    /* Número de corridas del mismo nivel que se mezclan en una. */
+    private static final int MEZCLA = 16;
+    /* Número máximo de niveles; con MEZCLA = 16 alcanza para 2^64
+     * corridas. */
+    private static final int NIVELES = 16;
+
+    /* Clase interna privada para corridas en disco. */
+    private class Corrida implements ComparableIndexable<Corrida> {
+
+        /* El archivo de la corrida. */
+        private Path archivo;
+        /* El canal de lectura. */
+        private FileChannel canal;
+        /* El búfer de lectura. */
+        private ByteBuffer buffer;
+        /* El siguiente elemento de la corrida. */
+        private T cabeza;
+        /* El número de elementos que faltan por leer. */
+        private long restantes;
+        /* El índice de la corrida en el montículo de corridas. */
+        private int indice;
+        /* El nivel de la corrida: el número de mezclas que la produjeron. */
+        private int nivel;
+
+        /* Abre una corrida de n elementos del nivel recibido y lee su primer
+         * elemento. */
+        public Corrida(Path archivo, long n, int nivel) throws IOException {
+            this.archivo = archivo;
+            this.nivel = nivel;
+            canal = FileChannel.open(archivo, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(BUFFER);
+            ((Buffer)buffer).limit(0);
+            restantes = n;
+            indice = -1;
+            avanza();
+        }
+
+        /* Lee el siguiente elemento en la cabeza; regresa false si la corrida
+         * se terminó. */
+        public boolean avanza() throws IOException {
+            if (restantes == 0) {
+                cabeza = null;
+                return false;
+            }
+            asegura(4);
+            int n = buffer.getInt();
+            asegura(n);
+            int fin = buffer.position() + n;
+            cabeza = serializador.lee(buffer);
+            ((Buffer)buffer).position(fin);
+            restantes--;
+            return true;
+        }
+
+        /* Se asegura de que haya al menos n bytes por leer en el búfer. */
+        private void asegura(int n) throws IOException {
+            if (buffer.remaining() >= n)
+                return;
+            if (n > buffer.capacity()) {
+                ByteBuffer grande = ByteBuffer.allocate(n);
+                grande.put(buffer);
+                buffer = grande;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < n)
+                if (canal.read(buffer) < 0)
+                    throw new EOFException();
+            ((Buffer)buffer).flip();
+        }
+
+        /* Cierra la corrida y borra su archivo. */
+        public void cierra() throws IOException {
+            canal.close();
+            Files.deleteIfExists(archivo);
+        }
+
+        /* Regresa el índice. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Define el índice. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Compara dos corridas por su cabeza. */
+        @Override public int compareTo(Corrida corrida) {
+            return cabeza.compareTo(corrida.cabeza);
+        }
+    }
+
+    /* La capacidad del montículo en memoria. */
+    private int capacidad;
+    /* El serializador de los elementos. */
+    private Serializador<T> serializador;
+    /* El directorio de los archivos temporales. */
+    private Path directorio;
+    /* El montículo en memoria. */
+    private MonticuloMinimo<T> memoria;
+    /* Las corridas en disco, ordenadas por su cabeza. */
+    private MonticuloMinimo<Corrida> corridas;
+    /* El búfer de escritura. */
+    private ByteBuffer escritura;
+    /* El número de elementos en disco. */
+    private long enDisco;
+    /* El número de corridas de cada nivel. */
+    private int[] niveles;
+
+    /**
+     * Construye un montículo externo vacío que escribe sus corridas en el
+     * directorio temporal del sistema.
+     * @param capacidad el número máximo de elementos en memoria.
+     * @param serializador el serializador de los elementos.
+     * @throws IllegalArgumentException si la capacidad es menor que uno.
+     */
+    public MonticuloExterno(int capacidad, Serializador<T> serializador) {
+        this(capacidad, serializador,
+             Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Construye un montículo externo vacío que escribe sus corridas en el
+     * directorio recibido.
+     * @param capacidad el número máximo de elementos en memoria.
+     * @param serializador el serializador de los elementos.
+     * @param directorio el directorio para los archivos temporales.
+     * @throws IllegalArgumentException si la capacidad es menor que uno.
+     */
+    public MonticuloExterno(int capacidad, Serializador<T> serializador,
+                            Path directorio) {
+        if (capacidad < 1)
+            throw new IllegalArgumentException();
+        this.capacidad = capacidad;
+        this.serializador = serializador;
+        this.directorio = directorio;
+        memoria = new MonticuloMinimo<T>();
+        corridas = new MonticuloMinimo<Corrida>();
+        escritura = ByteBuffer.allocateDirect(BUFFER);
+        niveles = new int[NIVELES];
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo. Si el montículo en memoria
+     * está lleno, primero se escribe a disco como una corrida.
+     * @param elemento el elemento a agregar en el montículo.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public void agrega(T elemento) {
+        if (memoria.getElementos() >= capacidad)
+            vuelca();
+        memoria.agrega(elemento);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     * @throws UncheckedIOException si ocurre un error de entrada/salida.
+     */
+    public T elimina() {
+        if (esVacia())
+            throw new IllegalStateException();
+        if (corridas.esVacia())
+            return memoria.elimina();
+        Corrida corrida = corridas.get(0);
+        if (!memoria.esVacia() &&
+            memoria.get(0).compareTo(corrida.cabeza) <= 0)
+            return memoria.elimina();
+        T elemento = corrida.cabeza;
+        try {
+            avanza(corridas, corrida);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        enDisco--;
+        return elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return memoria.esVacia() && enDisco == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo, en memoria y en disco.
+     * @return el número de elementos en el montículo.
+     */
+    public long getElementos() {
+        return memoria.getElementos() + enDisco;
+    }
+
+    /**
+     * Regresa el número de elementos en disco.
+     * @return el número de elementos en disco.
+     */
+    public long getElementosEnDisco() {
+        return enDisco;
+    }
+
+    /**
+     * Regresa el número de corridas en disco.
+     * @return el número de corridas en disco.
+     */
+    public int getCorridas() {
+        return corridas.getElementos();
+    }
+
+    /**
+     * Cierra el montículo, borrando sus archivos temporales y dejándolo
+     * vacío.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Override public void close() throws IOException {
+        IOException error = null;
+        while (!corridas.esVacia()) {
+            try {
+                corridas.elimina().cierra();
+            } catch (IOException ioe) {
+                error = ioe;
+            }
+        }
+        memoria.limpia();
+        enDisco = 0;
+        niveles = new int[NIVELES];
+        if (error != null)
+            throw error;
+    }
+
+    /* Avanza la corrida con la menor cabeza del montículo y la reordena, o
+     * la quita si se terminó. */
+    private void avanza(MonticuloMinimo<Corrida> monticulo, Corrida corrida)
+        throws IOException {
+        if (corrida.avanza()) {
+            monticulo.reordena(corrida);
+        } else {
+            monticulo.elimina();
+            niveles[corrida.nivel]--;
+            corrida.cierra();
+        }
+    }
+
+    /* Escribe el montículo en memoria a disco como una corrida ordenada de
+     * nivel cero, y mezcla los niveles que se llenen. */
+    private void vuelca() {
+        try {
+            Path archivo = Files.createTempFile(directorio, "monticulo",
+                                                ".corrida");
+            long n = memoria.getElementos();
+            try (FileChannel canal = FileChannel.open(
+                     archivo, StandardOpenOption.WRITE)) {
+                while (!memoria.esVacia())
+                    escribe(canal, memoria.elimina());
+                vacia(canal);
+            }
+            corridas.agrega(new Corrida(archivo, n, 0));
+            niveles[0]++;
+            enDisco += n;
+            for (int nivel = 0; niveles[nivel] >= MEZCLA; nivel++)
+                compacta(nivel);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /* Mezcla las corridas de un nivel en una sola del siguiente. */
+    private void compacta(int nivel) throws IOException {
+        Lista<Corrida> lista = new Lista<Corrida>();
+        for (Corrida corrida : corridas)
+            if (corrida.nivel == nivel)
+                lista.agrega(corrida);
+        MonticuloMinimo<Corrida> mezcla = new MonticuloMinimo<Corrida>();
+        for (Corrida corrida : lista) {
+            corridas.elimina(corrida);
+            mezcla.agrega(corrida);
+        }
+        Path archivo = Files.createTempFile(directorio, "monticulo",
+                                            ".corrida");
+        long n = 0;
+        try (FileChannel canal = FileChannel.open(
+                 archivo, StandardOpenOption.WRITE)) {
+            while (!mezcla.esVacia()) {
+                Corrida corrida = mezcla.get(0);
+                escribe(canal, corrida.cabeza);
+                avanza(mezcla, corrida);
+                n++;
+            }
+            vacia(canal);
+        }
+        corridas.agrega(new Corrida(archivo, n, nivel + 1));
+        niveles[nivel + 1]++;
+    }
+
+    /* Escribe un elemento en el búfer de escritura, precedido de su
+     * tamaño, vaciándolo al canal si no cabe. */
+    private void escribe(FileChannel canal, T elemento) throws IOException {
+        int n = serializador.tamano(elemento);
+        if (escritura.remaining() < 4 + n)
+            vacia(canal);
+        if (escritura.capacity() < 4 + n)
+            escritura = ByteBuffer.allocateDirect(4 + n);
+        escritura.putInt(n);
+        int inicio = escritura.position();
+        serializador.escribe(elemento, escritura);
+        if (escritura.position() - inicio != n)
+            throw new IllegalStateException("Tamaño de serialización " +
+                                            "inválido");
+    }
+
+    /* Vacía el búfer de escritura al canal. */
+    private void vacia(FileChannel canal) throws IOException {
+        ((Buffer)escritura).flip();
+        while (escritura.hasRemaining())
+            canal.write(escritura);
+        ((Buffer)escritura).clear();
+    }
+}
@@ -0,0 +1,255 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos mínimos indexados de enteros.</p>
+ *
+ * <p>Los elementos son identificadores enteros entre 0 y la capacidad del
+ * montículo menos uno, cada uno con una prioridad <code>double</code>. A
+ * diferencia de {@link MonticuloMinimo}, no hace falta envolver los elementos
+ * en objetos {@link ComparableIndexable}: el árbol, las prioridades y la
+ * posición de cada identificador en el árbol se guardan en arreglos de tipos
+ * primitivos, que se crean en el constructor. Ninguna operación crea objetos
+ * después de eso.</p>
+ */
+public class MonticuloIndexadoEntero {
+
+    /* El árbol; cada posición tiene un identificador. */
+    private int[] arbol;
+    /* La posición de cada identificador en el árbol, o -1 si no está. */
+    private int[] posiciones;
+    /* La prioridad de cada identificador. */
+    private double[] prioridades;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /**
+     * Construye un montículo vacío para identificadores entre 0 y la capacidad
+     * menos uno.
+     * @param capacidad el número de identificadores posibles.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public MonticuloIndexadoEntero(int capacidad) {
+        if (capacidad < 0)
+            throw new IllegalArgumentException();
+        arbol = new int[capacidad];
+        posiciones = new int[capacidad];
+        prioridades = new double[capacidad];
+        for (int i = 0; i < capacidad; i++)
+            posiciones[i] = -1;
+    }
+
+    /**
+     * Agrega un identificador con la prioridad dada.
+     * @param id el identificador a agregar.
+     * @param prioridad la prioridad del identificador.
+     * @throws ExcepcionIndiceInvalido si el identificador está fuera de rango.
+     * @throws IllegalArgumentException si el identificador ya está en el
+     *         montículo.
+     */
+    public void agrega(int id, double prioridad) {
+        valida(id);
+        if (posiciones[id] != -1)
+            throw new IllegalArgumentException();
+        prioridades[id] = prioridad;
+        arbol[elementos] = id;
+        posiciones[id] = elementos;
+        sube(elementos++);
+    }
+
+    /**
+     * Elimina el identificador de prioridad mínima del montículo.
+     * @return el identificador de prioridad mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException();
+        int id = arbol[0];
+        quita(0);
+        return id;
+    }
+
+    /**
+     * Elimina un identificador del montículo, si está.
+     * @param id el identificador a eliminar.
+     * @throws ExcepcionIndiceInvalido si el identificador está fuera de rango.
+     */
+    public void elimina(int id) {
+        valida(id);
+        if (posiciones[id] != -1)
+            quita(posiciones[id]);
+    }
+
+    /**
+     * Cambia la prioridad de un identificador y lo reordena en el montículo.
+     * @param id el identificador a reordenar.
+     * @param prioridad la nueva prioridad.
+     * @throws ExcepcionIndiceInvalido si el identificador está fuera de rango.
+     * @throws NoSuchElementException si el identificador no está en el
+     *         montículo.
+     */
+    public void reordena(int id, double prioridad) {
+        valida(id);
+        int i = posiciones[id];
+        if (i == -1)
+            throw new NoSuchElementException();
+        double anterior = prioridades[id];
+        prioridades[id] = prioridad;
+        if (prioridad < anterior)
+            sube(i);
+        else
+            baja(i);
+    }
+
+    /**
+     * Disminuye la prioridad de un identificador; si la prioridad recibida no
+     * es menor que la actual, no hace nada.
+     * @param id el identificador a reordenar.
+     * @param prioridad la nueva prioridad.
+     * @throws ExcepcionIndiceInvalido si el identificador está fuera de rango.
+     * @throws NoSuchElementException si el identificador no está en el
+     *         montículo.
+     */
+    public void disminuye(int id, double prioridad) {
+        valida(id);
+        int i = posiciones[id];
+        if (i == -1)
+            throw new NoSuchElementException();
+        if (prioridad < prioridades[id]) {
+            prioridades[id] = prioridad;
+            sube(i);
+        }
+    }
+
+    /**
+     * Nos dice si un identificador está en el montículo.
+     * @param id el identificador.
+     * @return <code>true</code> si el identificador está en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int id) {
+        return id >= 0 && id < posiciones.length && posiciones[id] != -1;
+    }
+
+    /**
+     * Regresa el identificador de prioridad mínima, sin eliminarlo.
+     * @return el identificador de prioridad mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int minimo() {
+        if (elementos == 0)
+            throw new IllegalStateException();
+        return arbol[0];
+    }
+
+    /**
+     * Regresa la prioridad de un identificador en el montículo.
+     * @param id el identificador.
+     * @return la prioridad del identificador.
+     * @throws ExcepcionIndiceInvalido si el identificador está fuera de rango.
+     * @throws NoSuchElementException si el identificador no está en el
+     *         montículo.
+     */
+    public double getPrioridad(int id) {
+        valida(id);
+        if (posiciones[id] == -1)
+            throw new NoSuchElementException();
+        return prioridades[id];
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa la capacidad del montículo.
+     * @return el número de identificadores posibles.
+     */
+    public int getCapacidad() {
+        return arbol.length;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío.
+     */
+    public void limpia() {
+        for (int i = 0; i < elementos; i++)
+            posiciones[arbol[i]] = -1;
+        elementos = 0;
+    }
+
+    /* Verifica que el identificador esté en rango. */
+    private void valida(int id) {
+        if (id < 0 || id >= posiciones.length)
+            throw new ExcepcionIndiceInvalido();
+    }
+
+    /* Quita el elemento en la posición i, moviendo el último a su lugar. */
+    private void quita(int i) {
+        int id = arbol[i];
+        int ultimo = arbol[--elementos];
+        posiciones[id] = -1;
+        if (i == elementos)
+            return;
+        arbol[i] = ultimo;
+        posiciones[ultimo] = i;
+        if (prioridades[ultimo] < prioridades[id])
+            sube(i);
+        else
+            baja(i);
+    }
+
+    /* Sube el elemento en la posición i mientras sea menor que su padre. */
+    private void sube(int i) {
+        int id = arbol[i];
+        double p = prioridades[id];
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (prioridades[arbol[padre]] <= p)
+                break;
+            arbol[i] = arbol[padre];
+            posiciones[arbol[i]] = i;
+            i = padre;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }
+
+    /* Baja el elemento en la posición i mientras sea mayor que alguno de sus
+     * hijos. */
+    private void baja(int i) {
+        int id = arbol[i];
+        double p = prioridades[id];
+        while (true) {
+            int min = 2 * i + 1;
+            if (min >= elementos)
+                break;
+            int der = min + 1;
+            if (der < elementos &&
+                prioridades[arbol[der]] < prioridades[arbol[min]])
+                min = der;
+            if (prioridades[arbol[min]] >= p)
+                break;
+            arbol[i] = arbol[min];
+            posiciones[arbol[i]] = i;
+            i = min;
+        }
+        arbol[i] = id;
+        posiciones[id] = i;
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -138,6 +139,80 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         heapify_up(elemento);
     }
 
+    /**
+     * Agrega todos los elementos de un iterable en el montículo. Si son
+     * muchos respecto al tamaño del montículo resultante, se agregan al final
+     * del arreglo y el montículo se reconstruye completo en tiempo
+     * <i>O</i>(<i>n</i> + <i>k</i>); si son pocos, cada uno se sube a su
+     * lugar en tiempo <i>O</i>(log <i>n</i>).
+     * @param iterable el iterable con los elementos a agregar.
+     */
+    public void agregaTodos(Iterable<T> iterable)
+    {
+        int inicio = elementos;
+        for (T elemento : iterable)
+        {
+            if (elementos == arbol.length)
+                crece(elementos * 2);
+            arbol[elementos] = elemento;
+            elemento.setIndice(elementos++);
+        }
+        reconstruye(inicio);
+    }
+
+    /**
+     * Mezcla el montículo recibido con éste, en tiempo lineal: los elementos
+     * del montículo recibido se agregan al final del arreglo y el montículo se
+     * reconstruye de abajo hacia arriba, o se suben uno por uno si son pocos.
+     * El montículo recibido queda vacío.
+     * @param monticulo el montículo a mezclar con éste.
+     */
+    public void mezcla(MonticuloMinimo<T> monticulo)
+    {
+        if (monticulo == this)
+            return;
+        int inicio = elementos;
+        if (elementos + monticulo.elementos > arbol.length)
+            crece(elementos + monticulo.elementos);
+        for (int i = 0; i < monticulo.elementos; i++)
+        {
+            arbol[elementos] = monticulo.arbol[i];
+            arbol[elementos].setIndice(elementos++);
+        }
+        monticulo.limpia();
+        reconstruye(inicio);
+    }
+
+    /* Restaura la propiedad de montículo después de agregar al final los
+     * elementos a partir del índice inicio. Reconstruir todo el montículo
+     * cuesta O(n), y subir los k elementos nuevos O(k log n); se escoge lo
+     * más barato. */
+    private void reconstruye(int inicio)
+    {
+        int k = elementos - inicio;
+        if (k == 0)
+            return;
+        int altura = 32 - Integer.numberOfLeadingZeros(elementos);
+        if ((long)k * altura > elementos)
+        {
+            for (int i = (elementos - 2) / 2; i >= 0; i--)
+                heapify_down(arbol[i]);
+        }
+        else
+        {
+            for (int i = inicio; i < elementos; i++)
+                heapify_up(arbol[i]);
+        }
+    }
+
+    /* Crece el arreglo a la capacidad recibida. */
+    private void crece(int capacidad)
+    {
+        T[] nuevo = nuevoArreglo(Math.max(capacidad, 1));
+        System.arraycopy(arbol, 0, nuevo, 0, elementos);
+        arbol = nuevo;
+    }
+
     private void intercambia(T a, T b)
     {
         int aux = b.getIndice();
@@ -358,4 +433,154 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
             l2.agrega(monticulo.elimina().elemento);
         return l2;
     }
+
+    /**
+     * Ordena el arreglo recibido en su lugar usando HeapSort, sin crear
+     * objetos: el arreglo se acomoda como montículo máximo y se le extrae el
+     * máximo hasta vaciarlo. Toma tiempo <i>O</i>(<i>n</i> log <i>n</i>)
+     * incluso en el peor caso.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void heapSort(T[] arreglo, Comparator<T> comparador) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            bajaMaximo(arreglo, comparador, i, n);
+        for (int i = n - 1; i > 0; i--) {
+            T maximo = arreglo[0];
+            arreglo[0] = arreglo[i];
+            arreglo[i] = maximo;
+            bajaMaximo(arreglo, comparador, 0, i);
+        }
+    }
+
+    /**
+     * Ordena el arreglo recibido en su lugar usando HeapSort, sin crear
+     * objetos.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void heapSort(T[] arreglo) {
+        heapSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo de enteros recibido en su lugar usando HeapSort, sin
+     * crear objetos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(int[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            bajaMaximo(arreglo, i, n);
+        for (int i = n - 1; i > 0; i--) {
+            int maximo = arreglo[0];
+            arreglo[0] = arreglo[i];
+            arreglo[i] = maximo;
+            bajaMaximo(arreglo, 0, i);
+        }
+    }
+
+    /**
+     * Ordena el arreglo de enteros largos recibido en su lugar usando
+     * HeapSort, sin crear objetos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(long[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            bajaMaximo(arreglo, i, n);
+        for (int i = n - 1; i > 0; i--) {
+            long maximo = arreglo[0];
+            arreglo[0] = arreglo[i];
+            arreglo[i] = maximo;
+            bajaMaximo(arreglo, 0, i);
+        }
+    }
+
+    /**
+     * Ordena el arreglo de dobles recibido en su lugar usando HeapSort, sin
+     * crear objetos. Los dobles se comparan con {@link Double#compare}, así
+     * que -0.0 queda antes que 0.0 y los NaN quedan al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void heapSort(double[] arreglo) {
+        int n = arreglo.length;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            bajaMaximo(arreglo, i, n);
+        for (int i = n - 1; i > 0; i--) {
+            double maximo = arreglo[0];
+            arreglo[0] = arreglo[i];
+            arreglo[i] = maximo;
+            bajaMaximo(arreglo, 0, i);
+        }
+    }
+
+    /* Baja el elemento en la posición i del montículo máximo formado por los
+     * primeros n elementos del arreglo. */
+    private static <T> void bajaMaximo(T[] arreglo, Comparator<T> comparador,
+                                       int i, int n) {
+        T elemento = arreglo[i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n &&
+                comparador.compare(arreglo[hijo + 1], arreglo[hijo]) > 0)
+                hijo++;
+            if (comparador.compare(arreglo[hijo], elemento) <= 0)
+                break;
+            arreglo[i] = arreglo[hijo];
+            i = hijo;
+        }
+        arreglo[i] = elemento;
+    }
+
+    /* Baja el entero en la posición i del montículo máximo formado por los
+     * primeros n elementos del arreglo. */
+    private static void bajaMaximo(int[] arreglo, int i, int n) {
+        int elemento = arreglo[i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[hijo + 1] > arreglo[hijo])
+                hijo++;
+            if (arreglo[hijo] <= elemento)
+                break;
+            arreglo[i] = arreglo[hijo];
+            i = hijo;
+        }
+        arreglo[i] = elemento;
+    }
+
+    /* Baja el entero largo en la posición i del montículo máximo formado por
+     * los primeros n elementos del arreglo. */
+    private static void bajaMaximo(long[] arreglo, int i, int n) {
+        long elemento = arreglo[i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n && arreglo[hijo + 1] > arreglo[hijo])
+                hijo++;
+            if (arreglo[hijo] <= elemento)
+                break;
+            arreglo[i] = arreglo[hijo];
+            i = hijo;
+        }
+        arreglo[i] = elemento;
+    }
+
+    /* Baja el doble en la posición i del montículo máximo formado por los
+     * primeros n elementos del arreglo. */
+    private static void bajaMaximo(double[] arreglo, int i, int n) {
+        double elemento = arreglo[i];
+        int hijo;
+        while ((hijo = 2 * i + 1) < n) {
+            if (hijo + 1 < n &&
+                Double.compare(arreglo[hijo + 1], arreglo[hijo]) > 0)
+                hijo++;
+            if (Double.compare(arreglo[hijo], elemento) <= 0)
+                break;
+            arreglo[i] = arreglo[hijo];
+            i = hijo;
+        }
+        arreglo[i] = elemento;
+    }
 }
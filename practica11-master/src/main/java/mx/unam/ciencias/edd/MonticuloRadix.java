@@ -0,0 +1,254 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Clase para montículos radix (<i>radix heaps</i>): montículos monótonos
+ * para llaves enteras no negativas.</p>
+ *
+ * <p>Un montículo monótono sólo admite elementos cuya llave sea mayor o igual
+ * que la del último elemento eliminado, como ocurre con las distancias del
+ * algoritmo de Dijkstra. Los elementos se reparten en 65 cubetas según el bit
+ * más significativo en que su llave difiere de la del último elemento
+ * eliminado; agregar y reordenar toman tiempo constante sin comparar
+ * elementos, y cada elemento baja a lo más 64 veces de cubeta antes de ser
+ * eliminado.</p>
+ *
+ * <p>La llave de cada elemento se obtiene con una función que se recibe al
+ * construir el montículo, y se lee al agregar y al reordenar el elemento.</p>
+ */
+public class MonticuloRadix<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Número de cubetas: una para la llave del último elemento eliminado, y
+     * una por cada bit de las llaves. */
+    private static final int CUBETAS = 65;
+
+    /* La función para obtener la llave de los elementos. */
+    private ToLongFunction<T> llave;
+    /* Los elementos, indexados por su índice. */
+    private T[] arreglo;
+    /* Las llaves de los elementos. */
+    private long[] llaves;
+    /* La cubeta de cada elemento. */
+    private int[] cubetaDe;
+    /* La posición de cada elemento en su cubeta. */
+    private int[] posicionDe;
+    /* Las cubetas, con los índices de sus elementos. */
+    private int[][] cubetas;
+    /* El número de elementos en cada cubeta. */
+    private int[] tamanos;
+    /* La llave del último elemento eliminado. */
+    private long ultimo;
+    /* El número de elementos en el montículo. */
+    private int elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Constructor para montículo radix a partir de una colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     * @param llave la función para obtener la llave de los elementos.
+     * @throws IllegalArgumentException si alguna llave es negativa.
+     */
+    public MonticuloRadix(Coleccion<T> coleccion, ToLongFunction<T> llave) {
+        this(coleccion, coleccion.getElementos(), llave);
+    }
+
+    /**
+     * Constructor para montículo radix a partir de un iterable.
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     * @param llave la función para obtener la llave de los elementos.
+     * @throws IllegalArgumentException si alguna llave es negativa.
+     */
+    public MonticuloRadix(Iterable<T> iterable, int n,
+                          ToLongFunction<T> llave) {
+        this.llave = llave;
+        n = Math.max(n, 1);
+        arreglo = nuevoArreglo(n);
+        llaves = new long[n];
+        cubetaDe = new int[n];
+        posicionDe = new int[n];
+        cubetas = new int[CUBETAS][];
+        tamanos = new int[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++)
+            cubetas[i] = new int[4];
+        for (T elemento : iterable)
+            agrega(elemento);
+    }
+
+    /**
+     * Agrega un nuevo elemento en el montículo.
+     * @param elemento el elemento a agregar en el montículo.
+     * @throws IllegalArgumentException si la llave del elemento es menor que
+     *         la del último elemento eliminado.
+     */
+    public void agrega(T elemento) {
+        long k = llave.applyAsLong(elemento);
+        if (k < ultimo)
+            throw new IllegalArgumentException();
+        if (elementos == arreglo.length)
+            crece();
+        int i = elementos++;
+        arreglo[i] = elemento;
+        elemento.setIndice(i);
+        llaves[i] = k;
+        mete(i);
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if (elementos == 0)
+            throw new IllegalStateException();
+        if (tamanos[0] == 0)
+            redistribuye();
+        int i = cubetas[0][--tamanos[0]];
+        T elemento = arreglo[i];
+        int j = --elementos;
+        if (i != j) {
+            arreglo[i] = arreglo[j];
+            llaves[i] = llaves[j];
+            cubetaDe[i] = cubetaDe[j];
+            posicionDe[i] = posicionDe[j];
+            cubetas[cubetaDe[i]][posicionDe[i]] = i;
+            arreglo[i].setIndice(i);
+        }
+        arreglo[j] = null;
+        elemento.setIndice(-1);
+        return elemento;
+    }
+
+    /**
+     * Reordena un elemento en el montículo, en tiempo constante, moviéndolo a
+     * la cubeta de su nueva llave.
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la nueva llave del elemento es menor
+     *         que la del último elemento eliminado.
+     */
+    @Override public void reordena(T elemento) {
+        if (!contiene(elemento))
+            return;
+        int i = elemento.getIndice();
+        long k = llave.applyAsLong(elemento);
+        if (k < ultimo)
+            throw new IllegalArgumentException();
+        saca(i);
+        llaves[i] = k;
+        mete(i);
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el montículo.
+     * @param elemento el elemento que queremos saber si está contenido.
+     * @return <code>true</code> si el elemento está contenido,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        int i = elemento.getIndice();
+        return i >= 0 && i < elementos && arreglo[i] == elemento;
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del arreglo.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del arreglo.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new NoSuchElementException();
+        return arreglo[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /* Regresa la cubeta de una llave: 0 si es igual a la del último elemento
+     * eliminado, o uno más que el bit más significativo en que difieren. */
+    private int cubeta(long k) {
+        return 64 - Long.numberOfLeadingZeros(k ^ ultimo);
+    }
+
+    /* Mete el i-ésimo elemento en la cubeta de su llave. */
+    private void mete(int i) {
+        int c = cubeta(llaves[i]);
+        if (tamanos[c] == cubetas[c].length) {
+            int[] nueva = new int[cubetas[c].length * 2];
+            System.arraycopy(cubetas[c], 0, nueva, 0, tamanos[c]);
+            cubetas[c] = nueva;
+        }
+        cubetaDe[i] = c;
+        posicionDe[i] = tamanos[c];
+        cubetas[c][tamanos[c]++] = i;
+    }
+
+    /* Saca el i-ésimo elemento de su cubeta, moviendo el último de la cubeta
+     * a su lugar. */
+    private void saca(int i) {
+        int c = cubetaDe[i];
+        int p = posicionDe[i];
+        int u = cubetas[c][--tamanos[c]];
+        cubetas[c][p] = u;
+        posicionDe[u] = p;
+    }
+
+    /* Toma la primera cubeta no vacía, actualiza la última llave a la mínima
+     * de la cubeta y reparte sus elementos; todos caen en cubetas menores. */
+    private void redistribuye() {
+        int c = 1;
+        while (tamanos[c] == 0)
+            c++;
+        long minima = Long.MAX_VALUE;
+        for (int j = 0; j < tamanos[c]; j++)
+            minima = Math.min(minima, llaves[cubetas[c][j]]);
+        ultimo = minima;
+        int n = tamanos[c];
+        tamanos[c] = 0;
+        for (int j = 0; j < n; j++)
+            mete(cubetas[c][j]);
+    }
+
+    /* Duplica la capacidad de los arreglos por elemento. */
+    private void crece() {
+        int n = arreglo.length * 2;
+        T[] a = nuevoArreglo(n);
+        System.arraycopy(arreglo, 0, a, 0, elementos);
+        arreglo = a;
+        long[] l = new long[n];
+        System.arraycopy(llaves, 0, l, 0, elementos);
+        llaves = l;
+        int[] cd = new int[n];
+        System.arraycopy(cubetaDe, 0, cd, 0, elementos);
+        cubetaDe = cd;
+        int[] pd = new int[n];
+        System.arraycopy(posicionDe, 0, pd, 0, elementos);
+        posicionDe = pd;
+    }
+}
@@ -0,0 +1,192 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para colas de prioridad concurrentes relajadas
+ * (<i>MultiQueues</i>).</p>
+ *
+ * <p>Los elementos se reparten en varios {@link MonticuloMinimo}, cada uno con
+ * su propio candado; por omisión hay dos por cada procesador. Agregar mete el
+ * elemento en un montículo al azar que no esté ocupado. Eliminar escoge dos
+ * montículos al azar y saca el mínimo del que tenga el menor; los mínimos de
+ * los montículos se consultan sin tomar candados. Así los hilos casi nunca
+ * compiten por el mismo candado.</p>
+ *
+ * <p>La cola es relajada: el elemento eliminado no siempre es el mínimo de
+ * toda la cola, pero con alta probabilidad está entre los primeros. Esto
+ * basta para los algoritmos que toleran procesar elementos fuera de orden,
+ * como el algoritmo de Dijkstra en paralelo o la planificación de tareas. No
+ * se pueden reordenar elementos; para disminuir la prioridad de un elemento
+ * se agrega uno nuevo y se ignora el anterior al eliminarlo.</p>
+ */
+public class MulticolaPrioridad<T extends ComparableIndexable<T>> {
+
+    /* Montículos por procesador, por omisión. */
+    private static final int FACTOR = 2;
+
+    /* Los montículos. */
+    private MonticuloMinimo<T>[] monticulos;
+    /* Los candados de los montículos. */
+    private ReentrantLock[] candados;
+    /* El mínimo de cada montículo, o null si es vacío. */
+    private AtomicReferenceArray<T> minimos;
+    /* El número de elementos en la cola. */
+    private AtomicInteger elementos;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked")
+    private MonticuloMinimo<T>[] nuevoArreglo(int n) {
+        return (MonticuloMinimo<T>[])(new MonticuloMinimo[n]);
+    }
+
+    /**
+     * Construye una cola vacía con dos montículos por procesador.
+     */
+    public MulticolaPrioridad() {
+        this(FACTOR * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construye una cola vacía con el número de montículos recibido. Con un
+     * solo montículo la cola deja de ser relajada.
+     * @param n el número de montículos.
+     * @throws IllegalArgumentException si n es menor que uno.
+     */
+    public MulticolaPrioridad(int n) {
+        if (n < 1)
+            throw new IllegalArgumentException();
+        monticulos = nuevoArreglo(n);
+        candados = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            monticulos[i] = new MonticuloMinimo<T>();
+            candados[i] = new ReentrantLock();
+        }
+        minimos = new AtomicReferenceArray<T>(n);
+        elementos = new AtomicInteger();
+    }
+
+    /**
+     * Agrega un elemento a la cola, en un montículo al azar. Si después de
+     * varios intentos todos los montículos escogidos están ocupados, espera
+     * el candado del último en lugar de seguir intentando.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(T elemento) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = monticulos.length;
+        int i = random.nextInt(n);
+        for (int intentos = 1; !candados[i].tryLock(); intentos++) {
+            i = random.nextInt(n);
+            if (intentos >= 2 * n) {
+                candados[i].lock();
+                break;
+            }
+        }
+        try {
+            monticulos[i].agrega(elemento);
+            minimos.set(i, monticulos[i].get(0));
+            elementos.incrementAndGet();
+        } finally {
+            candados[i].unlock();
+        }
+    }
+
+    /**
+     * Elimina un elemento de prioridad mínima o cercana a la mínima: el
+     * mínimo del mejor de dos montículos escogidos al azar.
+     * @return el elemento eliminado, o <code>null</code> si la cola es vacía.
+     */
+    public T elimina() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = monticulos.length;
+        int intentos = 0;
+        while (elementos.get() > 0) {
+            if (++intentos > 2 * n) {
+                T elemento = eliminaRecorriendo();
+                if (elemento != null)
+                    return elemento;
+                intentos = 0;
+                continue;
+            }
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            T a = minimos.get(i);
+            T b = minimos.get(j);
+            if (a == null && b == null)
+                continue;
+            int k = (a == null || (b != null && b.compareTo(a) < 0)) ? j : i;
+            if (!candados[k].tryLock())
+                continue;
+            T elemento = eliminaDe(k);
+            if (elemento != null)
+                return elemento;
+        }
+        return null;
+    }
+
+    /**
+     * Nos dice si la cola es vacía. En presencia de otros hilos el resultado
+     * puede dejar de ser cierto inmediatamente.
+     * @return <code>true</code> si la cola es vacía,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos.get() == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola. En presencia de otros hilos
+     * el resultado es aproximado.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos() {
+        return elementos.get();
+    }
+
+    /**
+     * Regresa el número de montículos de la cola.
+     * @return el número de montículos de la cola.
+     */
+    public int getMonticulos() {
+        return monticulos.length;
+    }
+
+    /* Elimina el mínimo del k-ésimo montículo, cuyo candado ya se tiene, y lo
+     * suelta. Regresa null si el montículo es vacío. */
+    private T eliminaDe(int k) {
+        T elemento = null;
+        try {
+            if (!monticulos[k].esVacia()) {
+                elemento = monticulos[k].elimina();
+                minimos.set(k, monticulos[k].esVacia() ?
+                            null : monticulos[k].get(0));
+            }
+        } finally {
+            candados[k].unlock();
+        }
+        if (elemento != null)
+            elementos.decrementAndGet();
+        return elemento;
+    }
+
+    /* Recorre los montículos esperando sus candados, para cuando los
+     * elementos están en pocos montículos y escogerlos al azar falla. Regresa
+     * null si no encontró elementos. */
+    private T eliminaRecorriendo() {
+        for (int k = 0; k < monticulos.length; k++) {
+            if (minimos.get(k) == null)
+                continue;
+            candados[k].lock();
+            T elemento = eliminaDe(k);
+            if (elemento != null)
+                return elemento;
+        }
+        return null;
+    }
+}
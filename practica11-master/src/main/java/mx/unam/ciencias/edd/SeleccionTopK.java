@@ -0,0 +1,208 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para seleccionar los <i>k</i> elementos mayores (o menores) de un
+ * flujo de elementos de longitud arbitraria.</p>
+ *
+ * <p>Los elementos seleccionados se guardan en un {@link MonticuloMinimo} de a
+ * lo más <i>k</i> elementos, cuya raíz es el peor de ellos. Cada elemento
+ * nuevo se compara sólo con la raíz; si es mejor, la reemplaza y se reordena.
+ * Seleccionar de <i>n</i> elementos toma tiempo <i>O</i>(<i>n</i> log
+ * <i>k</i>) y memoria <i>O</i>(<i>k</i>), en lugar de ordenarlos todos; una
+ * vez lleno el montículo, agregar elementos no crea objetos.</p>
+ *
+ * <p>Una selección no está sincronizada: para procesar un flujo con varios
+ * hilos, cada hilo debe llenar su propia selección, y los resultados parciales
+ * se combinan con {@link #mezcla}, que sí puede llamarse desde varios hilos
+ * sobre una misma selección.</p>
+ */
+public class SeleccionTopK<T extends Comparable<T>> {
+
+    /* Clase estática privada para los elementos seleccionados. */
+    private static class Elemento<T extends Comparable<T>>
+        implements ComparableIndexable<Elemento<T>> {
+
+        /* El elemento. */
+        private T elemento;
+        /* El índice. */
+        private int indice;
+        /* Si se seleccionan los mayores. */
+        private boolean mayores;
+
+        /* Crea un nuevo elemento seleccionado. */
+        public Elemento(T elemento, boolean mayores) {
+            this.elemento = elemento;
+            this.mayores = mayores;
+            this.indice = -1;
+        }
+
+        /* Regresa el índice. */
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        /* Define el índice. */
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Compara un elemento con otro; el peor es el menor. */
+        @Override public int compareTo(Elemento<T> e) {
+            return compara(elemento, e.elemento, mayores);
+        }
+    }
+
+    /* El número de elementos a seleccionar. */
+    private int k;
+    /* Si se seleccionan los mayores. */
+    private boolean mayores;
+    /* Los elementos seleccionados; la raíz es el peor. */
+    private MonticuloMinimo<Elemento<T>> monticulo;
+
+    /**
+     * Construye una selección de los <i>k</i> elementos mayores.
+     * @param k el número de elementos a seleccionar.
+     * @throws IllegalArgumentException si k es negativo.
+     */
+    public SeleccionTopK(int k) {
+        this(k, true);
+    }
+
+    /**
+     * Construye una selección de los <i>k</i> elementos mayores o menores.
+     * @param k el número de elementos a seleccionar.
+     * @param mayores <code>true</code> para seleccionar los mayores,
+     *                <code>false</code> para seleccionar los menores.
+     * @throws IllegalArgumentException si k es negativo.
+     */
+    public SeleccionTopK(int k, boolean mayores) {
+        if (k < 0)
+            throw new IllegalArgumentException();
+        this.k = k;
+        this.mayores = mayores;
+        monticulo = new MonticuloMinimo<Elemento<T>>();
+    }
+
+    /**
+     * Ofrece un elemento a la selección. Si todavía no hay <i>k</i> elementos
+     * seleccionados se agrega; si no, reemplaza al peor de los seleccionados
+     * sólo si es mejor que él.
+     * @param elemento el elemento a ofrecer.
+     * @return <code>true</code> si el elemento quedó seleccionado,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean agrega(T elemento) {
+        if (k == 0)
+            return false;
+        if (monticulo.getElementos() < k) {
+            monticulo.agrega(new Elemento<T>(elemento, mayores));
+            return true;
+        }
+        Elemento<T> raiz = monticulo.get(0);
+        if (compara(elemento, raiz.elemento, mayores) <= 0)
+            return false;
+        raiz.elemento = elemento;
+        monticulo.reordena(raiz);
+        return true;
+    }
+
+    /**
+     * Ofrece todos los elementos de un iterable a la selección.
+     * @param iterable el iterable con los elementos a ofrecer.
+     */
+    public void agregaTodos(Iterable<T> iterable) {
+        for (T elemento : iterable)
+            agrega(elemento);
+    }
+
+    /**
+     * Mezcla los elementos seleccionados por otra selección con los de ésta;
+     * la otra selección no se modifica. Puede llamarse desde varios hilos al
+     * mismo tiempo sobre la misma selección, siempre y cuando nadie la llame
+     * con {@link #agrega} mientras tanto.
+     * @param seleccion la selección a mezclar con ésta.
+     */
+    public void mezcla(SeleccionTopK<T> seleccion) {
+        if (seleccion == this)
+            return;
+        Lista<T> elementos;
+        synchronized (seleccion) {
+            elementos = seleccion.elementos();
+        }
+        synchronized (this) {
+            agregaTodos(elementos);
+        }
+    }
+
+    /**
+     * Regresa los elementos seleccionados, del mejor al peor: de mayor a menor
+     * si se seleccionan los mayores, y de menor a mayor si se seleccionan los
+     * menores.
+     * @return una lista con los elementos seleccionados, ordenada.
+     */
+    public synchronized Lista<T> getSeleccionados() {
+        return elementos().mergeSort((a, b) -> compara(b, a, mayores));
+    }
+
+    /**
+     * Regresa el peor de los elementos seleccionados; cuando hay <i>k</i>
+     * elementos seleccionados, un nuevo elemento tiene que ser mejor que él
+     * para entrar.
+     * @return el peor de los elementos seleccionados.
+     * @throws IllegalStateException si no hay elementos seleccionados.
+     */
+    public synchronized T getUmbral() {
+        if (monticulo.esVacia())
+            throw new IllegalStateException();
+        return monticulo.get(0).elemento;
+    }
+
+    /**
+     * Regresa el número de elementos seleccionados.
+     * @return el número de elementos seleccionados, a lo más <i>k</i>.
+     */
+    public synchronized int getElementos() {
+        return monticulo.getElementos();
+    }
+
+    /**
+     * Regresa el número de elementos a seleccionar.
+     * @return el número de elementos a seleccionar.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Nos dice si no hay elementos seleccionados.
+     * @return <code>true</code> si no hay elementos seleccionados,
+     *         <code>false</code> en otro caso.
+     */
+    public synchronized boolean esVacia() {
+        return monticulo.esVacia();
+    }
+
+    /**
+     * Limpia la selección, dejándola vacía.
+     */
+    public synchronized void limpia() {
+        monticulo.limpia();
+    }
+
+    /* Compara dos elementos de manera que el mejor sea el mayor. No se
+     * multiplica por -1 el resultado de compareTo, que puede ser
+     * Integer.MIN_VALUE; se invierten los argumentos. */
+    private static <T extends Comparable<T>> int compara(T a, T b,
+                                                         boolean mayores) {
+        return mayores ? a.compareTo(b) : b.compareTo(a);
+    }
+
+    /* Regresa una lista con los elementos seleccionados, en el orden del
+     * montículo. */
+    private Lista<T> elementos() {
+        Lista<T> lista = new Lista<T>();
+        for (int i = 0; i < monticulo.getElementos(); i++)
+            lista.agregaFinal(monticulo.get(i).elemento);
+        return lista;
+    }
+}
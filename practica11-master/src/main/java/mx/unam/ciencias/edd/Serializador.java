@@ -0,0 +1,31 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interfaz genérica para serializar elementos en búferes de bytes.
+ */
+public interface Serializador<T> {
+
+    /**
+     * Regresa el número de bytes que ocupa el elemento serializado.
+     * @param elemento el elemento.
+     * @return el número de bytes que ocupa el elemento serializado.
+     */
+    public int tamano(T elemento);
+
+    /**
+     * Escribe el elemento en el búfer a partir de su posición, avanzándola
+     * exactamente {@link #tamano} bytes. El búfer tiene espacio suficiente.
+     * @param elemento el elemento a escribir.
+     * @param buffer el búfer donde se escribe.
+     */
+    public void escribe(T elemento, ByteBuffer buffer);
+
+    /**
+     * Lee un elemento del búfer a partir de su posición.
+     * @param buffer el búfer de donde se lee.
+     * @return el elemento leído.
+     */
+    public T lee(ByteBuffer buffer);
+}
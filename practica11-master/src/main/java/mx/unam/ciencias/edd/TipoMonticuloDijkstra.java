@@ -0,0 +1,18 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para los distintos montículos que puede usar el algoritmo de
+ * Dijkstra.
+ */
+public enum TipoMonticuloDijkstra {
+    /** Montículo con arreglo; conviene en gráficas densas. */
+    ARREGLO,
+    /** Montículo mínimo; conviene en gráficas dispersas. */
+    MINIMO,
+    /** Montículo de emparejamiento; reordena en tiempo constante. */
+    EMPAREJAMIENTO,
+    /** Montículo radix; sólo para gráficas con pesos enteros. */
+    RADIX,
+    /** Elige el montículo a partir de los pesos y la densidad de la gráfica. */
+    AUTOMATICO;
+}
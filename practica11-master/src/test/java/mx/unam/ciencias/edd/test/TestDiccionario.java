@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -126,6 +127,113 @@ public class TestDiccionario {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#getOrDefault}.
+     */
+    @Test public void testGetOrDefault() {
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertTrue(diccionario.getOrDefault(s, "X").equals("X"));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getOrDefault(s, "X").equals(s));
+        }
+        Assert.assertTrue(diccionario.getOrDefault(null, "X").equals("X"));
+        Assert.assertTrue(diccionario.getOrDefault("-1", null) == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#buscaOpcional}.
+     */
+    @Test public void testBuscaOpcional() {
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertFalse(diccionario.buscaOpcional(s).isPresent());
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.buscaOpcional(s).get().equals(s));
+        }
+        Assert.assertFalse(diccionario.buscaOpcional(null).isPresent());
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#agregaSiAusente}.
+     */
+    @Test public void testAgregaSiAusente() {
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            Assert.assertTrue(diccionario.agregaSiAusente(s, s) == null);
+            Assert.assertTrue(diccionario.agregaSiAusente(s, "X").equals(s));
+            Assert.assertTrue(diccionario.get(s).equals(s));
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        try {
+            diccionario.agregaSiAusente(null, "X");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agregaSiAusente("X", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#computeIfAbsent}.
+     */
+    @Test public void testComputeIfAbsent() {
+        int[] llamadas = { 0 };
+        for (int i = 0; i < total; i++) {
+            String s = String.valueOf(i);
+            String v = diccionario.computeIfAbsent(s, k -> {
+                    llamadas[0]++;
+                    return k + k;
+                });
+            Assert.assertTrue(v.equals(s + s));
+            v = diccionario.computeIfAbsent(s, k -> {
+                    llamadas[0]++;
+                    return k;
+                });
+            Assert.assertTrue(v.equals(s + s));
+            Assert.assertTrue(llamadas[0] == i + 1);
+            Assert.assertTrue(diccionario.getElementos() == i + 1);
+        }
+        Assert.assertTrue(diccionario.computeIfAbsent("-1", k -> null) == null);
+        Assert.assertFalse(diccionario.contiene("-1"));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        try {
+            diccionario.computeIfAbsent(null, k -> k);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#merge}.
+     */
+    @Test public void testMerge() {
+        Diccionario<Integer, Integer> cuentas =
+            new Diccionario<Integer, Integer>();
+        int[] esperadas = new int[total];
+        for (int i = 0; i < total * 100; i++) {
+            int k = random.nextInt(total);
+            esperadas[k]++;
+            int c = cuentas.merge(k, 1, Integer::sum);
+            Assert.assertTrue(c == esperadas[k]);
+        }
+        for (int k = 0; k < total; k++)
+            Assert.assertTrue(cuentas.getOrDefault(k, 0) == esperadas[k]);
+        int n = cuentas.getElementos();
+        for (int k = 0; k < total; k++) {
+            if (esperadas[k] == 0)
+                continue;
+            Assert.assertTrue(cuentas.merge(k, 1, (a, b) -> null) == null);
+            Assert.assertFalse(cuentas.contiene(k));
+            Assert.assertTrue(cuentas.getElementos() == --n);
+        }
+        Assert.assertTrue(cuentas.esVacia());
+        try {
+            cuentas.merge(1, null, Integer::sum);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
@@ -275,6 +383,107 @@ public class TestDiccionario {
         Assert.assertTrue(diccionario.esVacia());
         Assert.assertTrue(diccionario.getElementos() == 0);
         Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(String.valueOf(i)));
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        Diccionario<String, String> nuevo = new Diccionario<String, String>();
+        nuevo.agrega("a", "a");
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.carga() == nuevo.carga());
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario} mientras migra sus entradas a
+     * un arreglo más grande.
+     */
+    @Test public void testMigracion() {
+        Diccionario<Integer, Integer> dicc =
+            new Diccionario<Integer, Integer>();
+        HashMap<Integer, Integer> mapa = new HashMap<Integer, Integer>();
+        int n = total * 100;
+        for (int i = 0; i < n; i++) {
+            int llave = random.nextInt(n);
+            switch (random.nextInt(4)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    dicc.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        dicc.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(dicc.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(dicc.get(llave).equals(mapa.get(llave)));
+                break;
+            default:
+                dicc.agrega(llave, i);
+                mapa.put(llave, i);
+            }
+            Assert.assertTrue(dicc.getElementos() == mapa.size());
+            Assert.assertTrue(dicc.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        for (Integer llave : mapa.keySet())
+            Assert.assertTrue(dicc.get(llave).equals(mapa.get(llave)));
+        int c = 0;
+        Iterator<Integer> iterador = dicc.iteradorLlaves();
+        while (iterador.hasNext()) {
+            Assert.assertTrue(mapa.containsKey(iterador.next()));
+            c++;
+        }
+        Assert.assertTrue(c == mapa.size());
+    }
+
+    /**
+     * Prueba unitaria para las lecturas de {@link Diccionario} a la mitad de
+     * una migración: no deben modificar el diccionario, así que varios hilos
+     * pueden leerlo a la vez.
+     * @throws InterruptedException si se interrumpe la prueba.
+     */
+    @Test public void testLecturasDuranteMigracion()
+        throws InterruptedException {
+        Diccionario<Integer, Integer> dicc =
+            new Diccionario<Integer, Integer>();
+        int n = 0;
+        double carga = 0.0;
+        while (dicc.carga() >= carga) {
+            carga = dicc.carga();
+            dicc.agrega(n, n);
+            n++;
+        }
+        final int m = n;
+        carga = dicc.carga();
+        int colisiones = dicc.colisiones();
+        boolean[] fallas = new boolean[1];
+        Thread[] hilos = new Thread[4];
+        for (int i = 0; i < hilos.length; i++) {
+            hilos[i] = new Thread(() -> {
+                    for (int k = 0; k < 100; k++) {
+                        int c = 0;
+                        for (Integer v : dicc)
+                            c++;
+                        for (int j = 0; j < m; j++)
+                            if (!dicc.contiene(j) || dicc.get(j) != j ||
+                                dicc.getOrDefault(j, -1) != j ||
+                                dicc.buscaOpcional(j).get() != j)
+                                fallas[0] = true;
+                        if (c != m || dicc.contiene(m))
+                            fallas[0] = true;
+                    }
+                });
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos)
+            hilo.join();
+        Assert.assertFalse(fallas[0]);
+        Assert.assertTrue(dicc.carga() == carga);
+        Assert.assertTrue(dicc.colisiones() == colisiones);
+        Assert.assertTrue(dicc.getElementos() == m);
     }
 
     /**
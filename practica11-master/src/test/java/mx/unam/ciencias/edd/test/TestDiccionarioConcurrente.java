@@ -0,0 +1,282 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioConcurrente<Integer, Integer> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        diccionario = new DiccionarioConcurrente<Integer, Integer>();
+    }
+
+    /* Ejecuta la acción en h hilos y espera a que terminen. */
+    private void ejecuta(int h, Runnable accion) throws InterruptedException {
+        Thread[] hilos = new Thread[h];
+        for (int i = 0; i < h; i++) {
+            hilos[i] = new Thread(accion);
+            hilos[i].start();
+        }
+        for (Thread hilo : hilos)
+            hilo.join();
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.getSegmentos() == 16);
+        diccionario = new DiccionarioConcurrente<Integer, Integer>(
+            10, k -> k, 5);
+        Assert.assertTrue(diccionario.getSegmentos() == 8);
+        try {
+            new DiccionarioConcurrente<Integer, Integer>(10, k -> k, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}, {@link
+     * DiccionarioConcurrente#get}, {@link DiccionarioConcurrente#contiene} y
+     * {@link DiccionarioConcurrente#elimina}, comparando con un {@link
+     * HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<Integer, Integer> mapa = new HashMap<Integer, Integer>();
+        for (int i = 0; i < total * 10; i++) {
+            int llave = random.nextInt(total);
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(diccionario.get(llave).equals(
+                                          mapa.get(llave)));
+                else
+                    Assert.assertFalse(
+                        diccionario.buscaOpcional(llave).isPresent());
+                break;
+            default:
+                diccionario.agrega(llave, i);
+                mapa.put(llave, i);
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioConcurrente.MAXIMA_CARGA);
+        }
+        for (Integer llave : mapa.keySet())
+            Assert.assertTrue(diccionario.get(llave).equals(mapa.get(llave)));
+        try {
+            diccionario.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            diccionario.agrega(null, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(diccionario.contiene(null));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agregaSiAusente},
+     * {@link DiccionarioConcurrente#computeIfAbsent} y {@link
+     * DiccionarioConcurrente#getOrDefault}.
+     */
+    @Test public void testAgregaSiAusente() {
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.getOrDefault(i, -1) == -1);
+            Assert.assertTrue(diccionario.agregaSiAusente(i, i) == null);
+            Assert.assertTrue(diccionario.agregaSiAusente(i, -i) == i);
+            Assert.assertTrue(diccionario.computeIfAbsent(i, k -> -k) == i);
+            Assert.assertTrue(diccionario.getOrDefault(i, -1) == i);
+        }
+        Assert.assertTrue(diccionario.computeIfAbsent(-1, k -> null) == null);
+        Assert.assertTrue(diccionario.computeIfAbsent(-2, k -> k) == -2);
+        Assert.assertTrue(diccionario.getElementos() == total + 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#merge}.
+     */
+    @Test public void testMerge() {
+        int[] esperadas = new int[total];
+        for (int i = 0; i < total * 10; i++) {
+            int k = random.nextInt(total);
+            esperadas[k]++;
+            Assert.assertTrue(diccionario.merge(k, 1, Integer::sum) ==
+                              esperadas[k]);
+        }
+        int n = diccionario.getElementos();
+        for (int k = 0; k < total; k++) {
+            if (esperadas[k] == 0)
+                continue;
+            Assert.assertTrue(diccionario.merge(k, 1, (a, b) -> null) == null);
+            Assert.assertFalse(diccionario.contiene(k));
+            Assert.assertTrue(diccionario.getElementos() == --n);
+        }
+        Assert.assertTrue(diccionario.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iteradorLlaves} y
+     * {@link DiccionarioConcurrente#iterator}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, -i);
+        boolean[] vistas = new boolean[total];
+        Iterator<Integer> llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = llaves.next();
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        int c = 0;
+        for (Integer v : diccionario) {
+            Assert.assertTrue(v <= 0 && v > -total);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisiones} y
+     * {@link DiccionarioConcurrente#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        diccionario = new DiccionarioConcurrente<Integer, Integer>(
+            total, k -> 0, 4);
+        for (int i = 0; i < 10; i++)
+            diccionario.agrega(i, i);
+        Assert.assertTrue(diccionario.colisiones() == 9);
+        Assert.assertTrue(diccionario.colisionMaxima() == 9);
+        diccionario.elimina(5);
+        Assert.assertTrue(diccionario.colisiones() == 8);
+        for (int i = 0; i < 10; i++)
+            Assert.assertTrue(diccionario.contiene(i) == (i != 5));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, i);
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(i));
+        Assert.assertFalse(diccionario.iterator().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#toString}, {@link
+     * DiccionarioConcurrente#equals} y {@link
+     * DiccionarioConcurrente#hashCode}.
+     */
+    @Test public void testToStringEquals() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(1, 2);
+        Assert.assertTrue(diccionario.toString().equals("{ '1': '2', }"));
+        DiccionarioConcurrente<Integer, Integer> otro =
+            new DiccionarioConcurrente<Integer, Integer>(10, k -> k, 2);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(1, 2);
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        otro.agrega(1, 3);
+        Assert.assertFalse(diccionario.equals(otro));
+        Assert.assertFalse(diccionario.equals(null));
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, -i);
+            otro.agrega(total - i - 1, i + 1 - total);
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente} con varios hilos
+     * que agregan, combinan y eliminan al mismo tiempo.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        int h = 4;
+        ejecuta(h, () -> {
+                for (int i = 0; i < total; i++)
+                    diccionario.merge(i, 1, Integer::sum);
+            });
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(diccionario.get(i) == h);
+        ejecuta(h, () -> {
+                for (int i = 0; i < total; i++)
+                    diccionario.merge(i, 1, (a, b) -> a == 1 ? null : a - 1);
+            });
+        Assert.assertTrue(diccionario.esVacia());
+        int[] siguiente = { 0 };
+        ejecuta(h, () -> {
+                for (int i = 0; i < total; i++) {
+                    int k;
+                    synchronized (siguiente) {
+                        k = siguiente[0]++;
+                    }
+                    diccionario.agrega(k, k);
+                    Assert.assertTrue(diccionario.get(k) == k);
+                }
+            });
+        Assert.assertTrue(diccionario.getElementos() == h * total);
+        for (int k = 0; k < h * total; k++)
+            Assert.assertTrue(diccionario.get(k) == k);
+    }
+}
@@ -0,0 +1,247 @@
+package mx.unam.ciencias.edd.test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioDirecto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioDirecto}.
+ */
+public class TestDiccionarioDirecto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioDirecto diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioDirecto() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        diccionario = new DiccionarioDirecto();
+    }
+
+    /* Regresa los bytes de una cadena. */
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* Regresa la cadena de los bytes restantes de un búfer. */
+    private static String cadena(ByteBuffer b) {
+        byte[] a = new byte[b.remaining()];
+        b.duplicate().get(a);
+        return new String(a, StandardCharsets.UTF_8);
+    }
+
+    /* Regresa una cadena aleatoria de longitud entre 0 y n - 1. */
+    private String aleatoria(int n) {
+        StringBuilder sb = new StringBuilder();
+        int l = random.nextInt(n);
+        for (int i = 0; i < l; i++)
+            sb.append((char)('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto#DiccionarioDirecto}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.getMemoriaDirecta() > 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        try {
+            new DiccionarioDirecto(-2, 4, 10);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new DiccionarioDirecto(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto#agrega}, {@link
+     * DiccionarioDirecto#get}, {@link DiccionarioDirecto#contiene} y {@link
+     * DiccionarioDirecto#elimina} con llaves y valores de longitud variable,
+     * comparando con un {@link HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int i = 0; i < total * 20; i++) {
+            String llave = String.valueOf(random.nextInt(total));
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(bytes(llave));
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(bytes(llave));
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(bytes(llave)) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(new String(diccionario.get(bytes(llave)),
+                                                 StandardCharsets.UTF_8)
+                                      .equals(mapa.get(llave)));
+                break;
+            default:
+                String valor = aleatoria(40);
+                diccionario.agrega(bytes(llave), bytes(valor));
+                mapa.put(llave, valor);
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioDirecto.MAXIMA_CARGA);
+        }
+        for (String llave : mapa.keySet())
+            Assert.assertTrue(cadena(diccionario.get(
+                                  ByteBuffer.wrap(bytes(llave))))
+                              .equals(mapa.get(llave)));
+        try {
+            diccionario.agrega((byte[])null, bytes("X"));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto} con llaves y valores de
+     * ancho fijo.
+     */
+    @Test public void testAnchoFijo() {
+        diccionario = new DiccionarioDirecto(8, 4, 10);
+        ByteBuffer llave = ByteBuffer.allocateDirect(8);
+        ByteBuffer valor = ByteBuffer.allocate(4);
+        for (long i = 0; i < total; i++) {
+            llave.putLong(0, i * 1000003);
+            valor.putInt(0, (int)i);
+            diccionario.agrega(llave, valor);
+            Assert.assertTrue(llave.position() == 0 && valor.position() == 0);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total);
+        for (long i = 0; i < total; i++) {
+            llave.putLong(0, i * 1000003);
+            Assert.assertTrue(diccionario.get(llave).getInt() == (int)i);
+            valor.putInt(0, (int)-i);
+            diccionario.agrega(llave, valor);
+            Assert.assertTrue(diccionario.get(llave).getInt() == (int)-i);
+        }
+        Assert.assertTrue(diccionario.getElementos() == total);
+        try {
+            diccionario.agrega(ByteBuffer.allocate(7), valor);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            diccionario.agrega(llave, ByteBuffer.allocate(5));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto#get} con búferes cuya
+     * posición no es cero.
+     */
+    @Test public void testRebanadas() {
+        byte[] a = bytes("xxllavexx");
+        ByteBuffer llave = ByteBuffer.wrap(a, 2, 5);
+        diccionario.agrega(llave, ByteBuffer.wrap(bytes("valor")));
+        Assert.assertTrue(llave.position() == 2 && llave.limit() == 7);
+        Assert.assertTrue(diccionario.contiene(bytes("llave")));
+        Assert.assertFalse(diccionario.contiene(a));
+        ByteBuffer vista = diccionario.get(llave);
+        Assert.assertTrue(vista.isReadOnly());
+        Assert.assertTrue(cadena(vista).equals("valor"));
+        diccionario.agrega(bytes(""), bytes(""));
+        Assert.assertTrue(diccionario.get(bytes("")).length == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto} reemplazando valores
+     * por otros de distinta longitud, lo que deja basura que se compacta.
+     */
+    @Test public void testCompacta() {
+        String[] valores = new String[100];
+        for (int r = 0; r < 200; r++) {
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = aleatoria(1000);
+                diccionario.agrega(bytes(String.valueOf(i)),
+                                   bytes(valores[i]));
+            }
+        }
+        Assert.assertTrue(diccionario.getElementos() == valores.length);
+        for (int i = 0; i < valores.length; i++)
+            Assert.assertTrue(new String(diccionario.get(
+                                             bytes(String.valueOf(i))),
+                                         StandardCharsets.UTF_8)
+                              .equals(valores[i]));
+        /* Se escribieron unos 10 MB; sin compactar no cabrían en 2 MB. */
+        Assert.assertTrue(diccionario.getMemoriaDirecta() < (2 << 20));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto#iteradorLlaves} y {@link
+     * DiccionarioDirecto#iterator}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(bytes(String.valueOf(i)),
+                               bytes(String.valueOf(-i)));
+        boolean[] vistas = new boolean[total];
+        Iterator<ByteBuffer> llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = Integer.parseInt(cadena(llaves.next()));
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        int c = 0;
+        for (ByteBuffer v : diccionario) {
+            int k = -Integer.parseInt(cadena(v));
+            Assert.assertTrue(k >= 0 && k < total);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioDirecto#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(bytes(String.valueOf(i)), bytes(aleatoria(50)));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(bytes(String.valueOf(i))));
+        diccionario.agrega(bytes("a"), bytes("b"));
+        Assert.assertTrue(cadena(diccionario.get(ByteBuffer.wrap(bytes("a"))))
+                          .equals("b"));
+    }
+}
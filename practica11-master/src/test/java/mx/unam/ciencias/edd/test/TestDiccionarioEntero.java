@@ -0,0 +1,244 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioEntero;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioEntero}.
+ */
+public class TestDiccionarioEntero {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioEntero diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioEntero() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        diccionario = new DiccionarioEntero();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#DiccionarioEntero}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        diccionario = new DiccionarioEntero(total);
+        for (int i = 1; i <= total; i++)
+            diccionario.agrega(i, i);
+        Assert.assertTrue(diccionario.carga() * 2 >=
+                          DiccionarioEntero.MAXIMA_CARGA);
+        try {
+            new DiccionarioEntero(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#agrega}, {@link
+     * DiccionarioEntero#get}, {@link DiccionarioEntero#contiene} y {@link
+     * DiccionarioEntero#elimina}, comparando con un {@link HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<Integer, Integer> mapa = new HashMap<Integer, Integer>();
+        for (int i = 0; i < total * 20; i++) {
+            int llave = random.nextInt(total) - total / 2;
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(diccionario.get(llave) ==
+                                      mapa.get(llave));
+                else
+                    Assert.assertTrue(diccionario.getOrDefault(llave, i) == i);
+                break;
+            default:
+                diccionario.agrega(llave, i);
+                mapa.put(llave, i);
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioEntero.MAXIMA_CARGA);
+        }
+        for (Integer llave : mapa.keySet())
+            Assert.assertTrue(diccionario.get(llave) == mapa.get(llave));
+        try {
+            diccionario.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero} con la llave 0.
+     */
+    @Test public void testCero() {
+        Assert.assertFalse(diccionario.contiene(0));
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        diccionario.agrega(0, 5);
+        Assert.assertTrue(diccionario.contiene(0));
+        Assert.assertTrue(diccionario.get(0) == 5);
+        Assert.assertTrue(diccionario.getElementos() == 1);
+        Assert.assertTrue(diccionario.toString().equals("{ '0': '5', }"));
+        diccionario.elimina(0);
+        Assert.assertTrue(diccionario.esVacia());
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#suma}.
+     */
+    @Test public void testSuma() {
+        int[] esperadas = new int[total];
+        for (int i = 0; i < total * 10; i++) {
+            int k = random.nextInt(total);
+            esperadas[k] += i;
+            Assert.assertTrue(diccionario.suma(k, i) == esperadas[k]);
+        }
+        for (int k = 0; k < total; k++)
+            Assert.assertTrue(diccionario.getOrDefault(k, 0) == esperadas[k]);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#elimina} con llaves que
+     * se recorren al eliminar.
+     */
+    @Test public void testEliminaRecorre() {
+        int[] llaves = new int[total];
+        for (int i = 0; i < total; i++) {
+            llaves[i] = random.nextInt() | 1;
+            diccionario.agrega(llaves[i], i);
+        }
+        for (int i = 0; i < total; i += 2)
+            if (diccionario.contiene(llaves[i]))
+                diccionario.elimina(llaves[i]);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(diccionario.contiene(llaves[i]));
+        for (int i = 0; i < total; i += 2) {
+            boolean impar = false;
+            for (int j = 1; j < total; j += 2)
+                impar |= llaves[j] == llaves[i];
+            Assert.assertTrue(diccionario.contiene(llaves[i]) == impar);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#colisiones} y {@link
+     * DiccionarioEntero#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        for (int i = 1; i <= total; i++)
+            diccionario.agrega(i, i);
+        Assert.assertTrue(diccionario.colisiones() < total);
+        Assert.assertTrue(diccionario.colisionMaxima() <=
+                          diccionario.colisiones());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#iteradorLlaves} y {@link
+     * DiccionarioEntero#iteradorValores}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, -i);
+        boolean[] vistas = new boolean[total];
+        PrimitiveIterator.OfInt llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = llaves.nextInt();
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        long suma = 0;
+        PrimitiveIterator.OfInt valores = diccionario.iteradorValores();
+        while (valores.hasNext())
+            suma += valores.nextInt();
+        Assert.assertTrue(suma == -(long)total * (total - 1) / 2);
+        try {
+            llaves.nextInt();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, i);
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(i));
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEntero#toString}, {@link
+     * DiccionarioEntero#equals} y {@link DiccionarioEntero#hashCode}.
+     */
+    @Test public void testToStringEquals() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(1, 2);
+        Assert.assertTrue(diccionario.toString().equals("{ '1': '2', }"));
+        DiccionarioEntero otro = new DiccionarioEntero(total);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(1, 2);
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        otro.agrega(1, 3);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(1, 2);
+        diccionario.agrega(0, 0);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(0, 0);
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        Assert.assertFalse(diccionario.equals(null));
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, -i);
+            otro.agrega(total - i - 1, i + 1 - total);
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+    }
+}
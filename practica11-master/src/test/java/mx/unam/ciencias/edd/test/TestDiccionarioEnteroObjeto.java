@@ -0,0 +1,227 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioEnteroObjeto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioEnteroObjeto}.
+ */
+public class TestDiccionarioEnteroObjeto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioEnteroObjeto<String> diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioEnteroObjeto() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        diccionario = new DiccionarioEnteroObjeto<String>();
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * DiccionarioEnteroObjeto#DiccionarioEnteroObjeto}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        try {
+            new DiccionarioEnteroObjeto<String>(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#agrega}, {@link
+     * DiccionarioEnteroObjeto#get}, {@link DiccionarioEnteroObjeto#contiene}
+     * y {@link DiccionarioEnteroObjeto#elimina}, comparando con un {@link
+     * HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<Integer, String> mapa = new HashMap<Integer, String>();
+        for (int i = 0; i < total * 20; i++) {
+            int llave = random.nextInt(total) - total / 2;
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(diccionario.get(llave).equals(
+                                          mapa.get(llave)));
+                else
+                    Assert.assertTrue(
+                        diccionario.getOrDefault(llave, null) == null);
+                break;
+            default:
+                diccionario.agrega(llave, String.valueOf(i));
+                mapa.put(llave, String.valueOf(i));
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioEnteroObjeto.MAXIMA_CARGA);
+        }
+        for (Integer llave : mapa.keySet())
+            Assert.assertTrue(diccionario.get(llave).equals(mapa.get(llave)));
+        try {
+            diccionario.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            diccionario.agrega(1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#computeIfAbsent}.
+     */
+    @Test public void testComputeIfAbsent() {
+        int[] llamadas = { 0 };
+        for (int i = 0; i < total; i++) {
+            String v = diccionario.computeIfAbsent(i, k -> {
+                    llamadas[0]++;
+                    return String.valueOf(k);
+                });
+            Assert.assertTrue(v.equals(String.valueOf(i)));
+            v = diccionario.computeIfAbsent(i, k -> "X");
+            Assert.assertTrue(v.equals(String.valueOf(i)));
+            Assert.assertTrue(llamadas[0] == i + 1);
+        }
+        Assert.assertTrue(diccionario.computeIfAbsent(-1, k -> null) == null);
+        Assert.assertFalse(diccionario.contiene(-1));
+        Assert.assertTrue(diccionario.getElementos() == total);
+        diccionario.elimina(0);
+        Assert.assertTrue(diccionario.computeIfAbsent(0, k -> null) == null);
+        Assert.assertFalse(diccionario.contiene(0));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#computeIfAbsent}
+     * con una función que modifica el diccionario y lo hace crecer.
+     */
+    @Test public void testComputeIfAbsentModifica() {
+        DiccionarioEnteroObjeto<String> d =
+            new DiccionarioEnteroObjeto<String>();
+        int n = 1000;
+        String v = d.computeIfAbsent(n, k -> {
+                for (int i = 1; i <= n; i++)
+                    d.agrega(i, String.valueOf(-i));
+                return "X";
+            });
+        Assert.assertTrue(v.equals("X"));
+        Assert.assertTrue(d.getElementos() == n);
+        Assert.assertTrue(d.get(n).equals("X"));
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(d.get(i).equals(String.valueOf(-i)));
+        int c = 0;
+        PrimitiveIterator.OfInt iterador = d.iteradorLlaves();
+        while (iterador.hasNext()) {
+            iterador.nextInt();
+            c++;
+        }
+        Assert.assertTrue(c == n);
+        v = d.computeIfAbsent(0, k -> {
+                d.agrega(0, "Y");
+                return null;
+            });
+        Assert.assertTrue(v == null);
+        Assert.assertTrue(d.get(0).equals("Y"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto} con la llave 0.
+     */
+    @Test public void testCero() {
+        Assert.assertFalse(diccionario.contiene(0));
+        diccionario.agrega(0, "cero");
+        Assert.assertTrue(diccionario.get(0).equals("cero"));
+        Assert.assertTrue(diccionario.getElementos() == 1);
+        Assert.assertTrue(diccionario.toString().equals("{ '0': 'cero', }"));
+        for (String v : diccionario)
+            Assert.assertTrue(v.equals("cero"));
+        diccionario.elimina(0);
+        Assert.assertTrue(diccionario.esVacia());
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#iteradorLlaves} y
+     * {@link DiccionarioEnteroObjeto#iterator}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, String.valueOf(i));
+        boolean[] vistas = new boolean[total];
+        PrimitiveIterator.OfInt llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = llaves.nextInt();
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        int c = 0;
+        for (String v : diccionario) {
+            Assert.assertTrue(diccionario.get(Integer.parseInt(v)).equals(v));
+            c++;
+        }
+        Assert.assertTrue(c == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioEnteroObjeto#limpia}, {@link
+     * DiccionarioEnteroObjeto#toString}, {@link
+     * DiccionarioEnteroObjeto#equals} y {@link
+     * DiccionarioEnteroObjeto#hashCode}.
+     */
+    @Test public void testLimpiaEquals() {
+        DiccionarioEnteroObjeto<String> otro =
+            new DiccionarioEnteroObjeto<String>(total);
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, String.valueOf(i));
+            otro.agrega(i, new String(String.valueOf(i)));
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        otro.agrega(0, "X");
+        Assert.assertFalse(diccionario.equals(otro));
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(i));
+        Assert.assertFalse(diccionario.equals(otro));
+        Assert.assertFalse(diccionario.equals(null));
+    }
+}
@@ -0,0 +1,245 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioLargo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioLargo}.
+ */
+public class TestDiccionarioLargo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El diccionario. */
+    private DiccionarioLargo diccionario;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioLargo() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+        diccionario = new DiccionarioLargo();
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#DiccionarioLargo}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        diccionario = new DiccionarioLargo(total);
+        for (int i = 1; i <= total; i++)
+            diccionario.agrega(i, i);
+        Assert.assertTrue(diccionario.carga() * 2 >=
+                          DiccionarioLargo.MAXIMA_CARGA);
+        try {
+            new DiccionarioLargo(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#agrega}, {@link
+     * DiccionarioLargo#get}, {@link DiccionarioLargo#contiene} y {@link
+     * DiccionarioLargo#elimina}, comparando con un {@link HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<Long, Long> mapa = new HashMap<Long, Long>();
+        for (int i = 0; i < total * 20; i++) {
+            long llave = (random.nextInt(total) - total / 2) * (1L << 40);
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(diccionario.get(llave) ==
+                                      mapa.get(llave).longValue());
+                else
+                    Assert.assertTrue(diccionario.getOrDefault(llave, i) == i);
+                break;
+            default:
+                diccionario.agrega(llave, i);
+                mapa.put(llave, (long)i);
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioLargo.MAXIMA_CARGA);
+        }
+        for (Long llave : mapa.keySet())
+            Assert.assertTrue(diccionario.get(llave) ==
+                              mapa.get(llave).longValue());
+        try {
+            diccionario.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo} con la llave 0.
+     */
+    @Test public void testCero() {
+        Assert.assertFalse(diccionario.contiene(0));
+        try {
+            diccionario.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        diccionario.agrega(0, 5);
+        Assert.assertTrue(diccionario.contiene(0));
+        Assert.assertTrue(diccionario.get(0) == 5);
+        Assert.assertTrue(diccionario.getElementos() == 1);
+        Assert.assertTrue(diccionario.toString().equals("{ '0': '5', }"));
+        diccionario.elimina(0);
+        Assert.assertTrue(diccionario.esVacia());
+        try {
+            diccionario.elimina(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#suma}.
+     */
+    @Test public void testSuma() {
+        long[] esperadas = new long[total];
+        for (int i = 0; i < total * 10; i++) {
+            int k = random.nextInt(total);
+            esperadas[k] += i;
+            Assert.assertTrue(diccionario.suma(k, i) == esperadas[k]);
+        }
+        for (int k = 0; k < total; k++)
+            Assert.assertTrue(diccionario.getOrDefault(k, 0) == esperadas[k]);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#elimina} con llaves que
+     * se recorren al eliminar.
+     */
+    @Test public void testEliminaRecorre() {
+        long[] llaves = new long[total];
+        for (int i = 0; i < total; i++) {
+            llaves[i] = random.nextLong() | 1;
+            diccionario.agrega(llaves[i], i);
+        }
+        for (int i = 0; i < total; i += 2)
+            if (diccionario.contiene(llaves[i]))
+                diccionario.elimina(llaves[i]);
+        for (int i = 1; i < total; i += 2)
+            Assert.assertTrue(diccionario.contiene(llaves[i]));
+        for (int i = 0; i < total; i += 2) {
+            boolean impar = false;
+            for (int j = 1; j < total; j += 2)
+                impar |= llaves[j] == llaves[i];
+            Assert.assertTrue(diccionario.contiene(llaves[i]) == impar);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#colisiones} y {@link
+     * DiccionarioLargo#colisionMaxima}.
+     */
+    @Test public void testColisiones() {
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        for (int i = 1; i <= total; i++)
+            diccionario.agrega(i, i);
+        Assert.assertTrue(diccionario.colisiones() < total);
+        Assert.assertTrue(diccionario.colisionMaxima() <=
+                          diccionario.colisiones());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#iteradorLlaves} y {@link
+     * DiccionarioLargo#iteradorValores}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, -i);
+        boolean[] vistas = new boolean[total];
+        PrimitiveIterator.OfLong llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = (int)llaves.nextLong();
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        long suma = 0;
+        PrimitiveIterator.OfLong valores = diccionario.iteradorValores();
+        while (valores.hasNext())
+            suma += valores.nextLong();
+        Assert.assertTrue(suma == -(long)total * (total - 1) / 2);
+        try {
+            llaves.nextLong();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(i, i);
+        diccionario.limpia();
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(diccionario.contiene(i));
+        Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioLargo#toString}, {@link
+     * DiccionarioLargo#equals} y {@link DiccionarioLargo#hashCode}.
+     */
+    @Test public void testToStringEquals() {
+        Assert.assertTrue(diccionario.toString().equals("{}"));
+        diccionario.agrega(1, 2);
+        Assert.assertTrue(diccionario.toString().equals("{ '1': '2', }"));
+        DiccionarioLargo otro = new DiccionarioLargo(total);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(1, 2);
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        otro.agrega(1, 3);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(1, 2);
+        diccionario.agrega(0, 0);
+        Assert.assertFalse(diccionario.equals(otro));
+        otro.agrega(0, 0);
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+        Assert.assertFalse(diccionario.equals(null));
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(i, -i);
+            otro.agrega(total - i - 1, i + 1 - total);
+        }
+        Assert.assertTrue(diccionario.equals(otro));
+        Assert.assertTrue(diccionario.hashCode() == otro.hashCode());
+    }
+}
@@ -0,0 +1,386 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.DiccionarioMapeado;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioMapeado}.
+ */
+public class TestDiccionarioMapeado {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+    /** Directorio temporal para los archivos. */
+    @Rule public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El archivo del diccionario. */
+    private Path archivo;
+    /* El diccionario. */
+    private DiccionarioMapeado diccionario;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestDiccionarioMapeado() {
+        random = new Random();
+        total = 1000 + random.nextInt(1000);
+    }
+
+    /**
+     * Crea un diccionario en el directorio temporal.
+     */
+    @Before public void crea() {
+        archivo = carpeta.getRoot().toPath().resolve("diccionario");
+        diccionario = new DiccionarioMapeado(archivo);
+    }
+
+    /**
+     * Cierra el diccionario.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @After public void cierra() throws IOException {
+        diccionario.close();
+    }
+
+    /* Cierra el diccionario y lo vuelve a abrir. */
+    private void reabre() throws IOException {
+        diccionario.close();
+        diccionario = new DiccionarioMapeado(archivo);
+    }
+
+    /* Regresa una cadena aleatoria de longitud entre 0 y n - 1. */
+    private String aleatoria(int n) {
+        StringBuilder sb = new StringBuilder();
+        int l = random.nextInt(n);
+        for (int i = 0; i < l; i++)
+            sb.append((char)('a' + random.nextInt(26)));
+        return sb.toString();
+    }
+
+    /* Nos dice si el diccionario tiene exactamente las entradas del mapa. */
+    private boolean iguales(HashMap<String, String> mapa) {
+        if (diccionario.getElementos() != mapa.size())
+            return false;
+        for (String llave : mapa.keySet())
+            if (!diccionario.get(llave).equals(mapa.get(llave)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#DiccionarioMapeado}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.esVacia());
+        Assert.assertTrue(diccionario.getElementos() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.getAlgoritmo() ==
+                          AlgoritmoDispersor.BJ_STRING);
+        Assert.assertTrue(Files.exists(archivo));
+        Assert.assertTrue(Files.exists(
+                              archivo.resolveSibling("diccionario.indice")));
+        try {
+            new DiccionarioMapeado(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#agrega}, {@link
+     * DiccionarioMapeado#get}, {@link DiccionarioMapeado#contiene} y {@link
+     * DiccionarioMapeado#elimina}, comparando con un {@link HashMap}.
+     */
+    @Test public void testAleatorio() {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int i = 0; i < total * 20; i++) {
+            String llave = String.valueOf(random.nextInt(total));
+            switch (random.nextInt(3)) {
+            case 0:
+                if (mapa.containsKey(llave)) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    try {
+                        diccionario.elimina(llave);
+                        Assert.fail();
+                    } catch (NoSuchElementException nsee) {}
+                }
+                break;
+            case 1:
+                Assert.assertTrue(diccionario.contiene(llave) ==
+                                  mapa.containsKey(llave));
+                if (mapa.containsKey(llave))
+                    Assert.assertTrue(diccionario.get(llave)
+                                      .equals(mapa.get(llave)));
+                break;
+            default:
+                String valor = aleatoria(40);
+                diccionario.agrega(llave, valor);
+                mapa.put(llave, valor);
+            }
+            Assert.assertTrue(diccionario.getElementos() == mapa.size());
+            Assert.assertTrue(diccionario.carga() <
+                              DiccionarioMapeado.MAXIMA_CARGA);
+        }
+        Assert.assertTrue(iguales(mapa));
+        Assert.assertFalse(diccionario.contiene((String)null));
+        try {
+            diccionario.agrega((byte[])null, new byte[1]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#get} con búferes y
+     * arreglos.
+     */
+    @Test public void testBytes() {
+        byte[] a = "xxllavexx".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer llave = ByteBuffer.wrap(a, 2, 5);
+        diccionario.agrega(llave, ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        Assert.assertTrue(llave.position() == 2 && llave.limit() == 7);
+        Assert.assertTrue(diccionario.contiene("llave"));
+        Assert.assertFalse(diccionario.contiene(a));
+        ByteBuffer vista = diccionario.get(llave);
+        Assert.assertTrue(vista.isReadOnly());
+        Assert.assertTrue(vista.remaining() == 3 && vista.get(2) == 3);
+        byte[] v = diccionario.get("llave".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(v.length == 3 && v[0] == 1);
+        diccionario.agrega(new byte[0], new byte[0]);
+        Assert.assertTrue(diccionario.get(new byte[0]).length == 0);
+        diccionario.agrega("ñandú", "pingüino");
+        Assert.assertTrue(diccionario.get("ñandú").equals("pingüino"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#close}, cerrando y
+     * volviendo a abrir el diccionario.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testPersistencia() throws IOException {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int r = 0; r < 3; r++) {
+            for (int i = 0; i < total; i++) {
+                String llave = String.valueOf(random.nextInt(total));
+                if (mapa.containsKey(llave) && random.nextBoolean()) {
+                    diccionario.elimina(llave);
+                    mapa.remove(llave);
+                } else {
+                    String valor = aleatoria(20);
+                    diccionario.agrega(llave, valor);
+                    mapa.put(llave, valor);
+                }
+            }
+            reabre();
+            Assert.assertTrue(iguales(mapa));
+        }
+        diccionario.close();
+        diccionario.close();
+        try {
+            diccionario.get("0");
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            diccionario.iterator();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#DiccionarioMapeado}
+     * con un diccionario que no se cerró, cuyo índice se reconstruye desde
+     * la bitácora.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testReconstruye() throws IOException {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int i = 0; i < total * 3; i++) {
+            String llave = String.valueOf(random.nextInt(total));
+            if (mapa.containsKey(llave) && random.nextInt(3) == 0) {
+                diccionario.elimina(llave);
+                mapa.remove(llave);
+            } else {
+                String valor = aleatoria(20);
+                diccionario.agrega(llave, valor);
+                mapa.put(llave, valor);
+            }
+        }
+        /* El diccionario sigue abierto, como si el proceso hubiera muerto. */
+        diccionario.sincroniza();
+        diccionario = new DiccionarioMapeado(archivo);
+        Assert.assertTrue(iguales(mapa));
+        /* Un índice que no corresponde a la bitácora también se descarta. */
+        Files.write(archivo.resolveSibling("diccionario.indice"),
+                    new byte[100]);
+        reabre();
+        Assert.assertTrue(iguales(mapa));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#getAlgoritmo}, abriendo
+     * un diccionario con otro algoritmo.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testAlgoritmo() throws IOException {
+        diccionario.close();
+        Path otro = archivo.resolveSibling("djb");
+        diccionario = new DiccionarioMapeado(otro,
+                                             AlgoritmoDispersor.DJB_STRING);
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(String.valueOf(i), String.valueOf(-i));
+            mapa.put(String.valueOf(i), String.valueOf(-i));
+        }
+        diccionario.close();
+        diccionario = new DiccionarioMapeado(otro);
+        Assert.assertTrue(diccionario.getAlgoritmo() ==
+                          AlgoritmoDispersor.DJB_STRING);
+        Assert.assertTrue(iguales(mapa));
+        AlgoritmoDispersor[] algoritmos = {
+            AlgoritmoDispersor.MURMUR3_STRING,
+            AlgoritmoDispersor.XXH32_STRING,
+            AlgoritmoDispersor.XXH64_STRING,
+            AlgoritmoDispersor.WY_STRING,
+            AlgoritmoDispersor.BJ_STRING
+        };
+        for (AlgoritmoDispersor algoritmo : algoritmos) {
+            diccionario.close();
+            diccionario = new DiccionarioMapeado(otro, algoritmo);
+            Assert.assertTrue(diccionario.getAlgoritmo() == algoritmo);
+            Assert.assertTrue(iguales(mapa));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#compacta},
+     * reemplazando valores hasta que la basura se compacta sola.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testCompacta() throws IOException {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int r = 0; r < 100; r++) {
+            for (int i = 0; i < 100; i++) {
+                String valor = aleatoria(1000);
+                diccionario.agrega(String.valueOf(i), valor);
+                mapa.put(String.valueOf(i), valor);
+            }
+        }
+        Assert.assertTrue(iguales(mapa));
+        reabre();
+        Assert.assertTrue(iguales(mapa));
+        /* Se escribieron unos 5 MB; sin compactar no cabrían en 3 MB. */
+        Assert.assertTrue(Files.size(archivo) < (3 << 20));
+        diccionario.compacta();
+        diccionario.elimina("0");
+        mapa.remove("0");
+        reabre();
+        Assert.assertTrue(iguales(mapa));
+        Assert.assertTrue(Files.size(archivo) < (200 << 10));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#compacta} cuando falla:
+     * el diccionario debe seguir usando la bitácora anterior y no deben
+     * quedar archivos temporales.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testCompactaFallida() throws IOException {
+        HashMap<String, String> mapa = new HashMap<String, String>();
+        for (int i = 0; i < total; i++) {
+            diccionario.agrega(String.valueOf(i), String.valueOf(-i));
+            diccionario.agrega(String.valueOf(i), String.valueOf(i));
+            mapa.put(String.valueOf(i), String.valueOf(i));
+        }
+        /* Un directorio no vacío donde va el índice nuevo hace que la
+         * compactación falle a la mitad. */
+        Path estorbo = archivo.resolveSibling("diccionario.indice.compacta");
+        Files.createDirectory(estorbo);
+        Files.createFile(estorbo.resolve("archivo"));
+        try {
+            diccionario.compacta();
+            Assert.fail();
+        } catch (UncheckedIOException uioe) {}
+        Assert.assertFalse(Files.exists(
+                               archivo.resolveSibling("diccionario.compacta")));
+        Assert.assertTrue(iguales(mapa));
+        diccionario.agrega("a", "b");
+        mapa.put("a", "b");
+        Assert.assertTrue(iguales(mapa));
+        Files.delete(estorbo.resolve("archivo"));
+        Files.delete(estorbo);
+        diccionario.compacta();
+        Assert.assertTrue(iguales(mapa));
+        reabre();
+        Assert.assertTrue(iguales(mapa));
+        Assert.assertFalse(Files.exists(estorbo));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#DiccionarioMapeado}
+     * con un archivo que no es una bitácora.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testArchivoInvalido() throws IOException {
+        Path otro = archivo.resolveSibling("otro");
+        Files.write(otro, "no es una bitácora".getBytes(
+                        StandardCharsets.UTF_8));
+        long tamano = Files.size(otro);
+        try {
+            new DiccionarioMapeado(otro);
+            Assert.fail();
+        } catch (UncheckedIOException uioe) {}
+        Assert.assertTrue(Files.size(otro) == tamano);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioMapeado#iteradorLlaves} y {@link
+     * DiccionarioMapeado#iterator}.
+     */
+    @Test public void testIteradores() {
+        for (int i = 0; i < total; i++)
+            diccionario.agrega(String.valueOf(i), String.valueOf(-i));
+        boolean[] vistas = new boolean[total];
+        Iterator<ByteBuffer> llaves = diccionario.iteradorLlaves();
+        while (llaves.hasNext()) {
+            int k = Integer.parseInt(
+                StandardCharsets.UTF_8.decode(llaves.next()).toString());
+            Assert.assertFalse(vistas[k]);
+            vistas[k] = true;
+        }
+        for (boolean vista : vistas)
+            Assert.assertTrue(vista);
+        int c = 0;
+        for (ByteBuffer v : diccionario) {
+            int k = -Integer.parseInt(
+                StandardCharsets.UTF_8.decode(v).toString());
+            Assert.assertTrue(k >= 0 && k < total);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        try {
+            llaves.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -0,0 +1,177 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import mx.unam.ciencias.edd.AlgoritmoDispersor;
+import mx.unam.ciencias.edd.DispersorIncremental;
+import mx.unam.ciencias.edd.Dispersores;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.FabricaDispersores;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DispersorIncremental}.
+ */
+public class TestDispersorIncremental {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+    /** Directorio temporal para los archivos. */
+    @Rule public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestDispersorIncremental() {
+        random = new Random();
+    }
+
+    /* Regresa la dispersión de la llave completa con Dispersores. */
+    private long dispersa(AlgoritmoDispersor algoritmo, byte[] llave) {
+        switch (algoritmo) {
+        case XOR_STRING: return Dispersores.dispersaXOR(llave);
+        case BJ_STRING: return Dispersores.dispersaBJ(llave);
+        case DJB_STRING: return Dispersores.dispersaDJB(llave);
+        case MURMUR3_STRING: return Dispersores.dispersaMurmur3(llave);
+        case XXH32_STRING: return Dispersores.dispersaXXH32(llave);
+        case XXH64_STRING: return Dispersores.dispersaXXH64(llave);
+        case WY_STRING: return Dispersores.dispersaWY(llave);
+        default: throw new IllegalArgumentException();
+        }
+    }
+
+    /* Regresa un arreglo de bytes aleatorios. */
+    private byte[] aleatorio(int n) {
+        byte[] a = new byte[n];
+        random.nextBytes(a);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#actualiza(byte[],
+     * int, int)} y {@link DispersorIncremental#termina}, partiendo llaves de
+     * todas las longitudes en pedazos aleatorios.
+     */
+    @Test public void testActualiza() {
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            DispersorIncremental d =
+                FabricaDispersores.dispersorIncremental(algoritmo);
+            for (int n = 0; n <= 300; n++) {
+                byte[] llave = aleatorio(n);
+                for (int i = 0; i < n; ) {
+                    int k = Math.min(n - i, random.nextInt(60));
+                    d.actualiza(llave, i, k);
+                    i += k;
+                }
+                Assert.assertTrue(d.getLongitud() == n);
+                Assert.assertTrue(d.termina() == dispersa(algoritmo, llave));
+                d.actualiza(llave);
+                Assert.assertTrue(d.termina() == dispersa(algoritmo, llave));
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#actualiza(ByteBuffer)},
+     * con búferes envueltos y directos.
+     */
+    @Test public void testActualizaBuffer() {
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            DispersorIncremental d =
+                FabricaDispersores.dispersorIncremental(algoritmo);
+            byte[] llave = aleatorio(1000 + random.nextInt(1000));
+            ByteBuffer directo = ByteBuffer.allocateDirect(llave.length);
+            directo.put(llave).flip();
+            d.actualiza(directo);
+            Assert.assertFalse(directo.hasRemaining());
+            Assert.assertTrue(d.termina() == dispersa(algoritmo, llave));
+            ByteBuffer envuelto = ByteBuffer.wrap(llave);
+            for (int i = 0; i < llave.length; ) {
+                int k = Math.min(llave.length - i, random.nextInt(100));
+                envuelto.limit(i + k);
+                d.actualiza(envuelto);
+                Assert.assertTrue(envuelto.position() == i + k);
+                i += k;
+            }
+            Assert.assertTrue(d.termina() == dispersa(algoritmo, llave));
+        }
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link
+     * DispersorIncremental#actualiza} que leen canales, flujos y archivos,
+     * con más bytes que su búfer de lectura.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testActualizaLectura() throws IOException {
+        byte[] llave = aleatorio((3 << 20) + random.nextInt(1000));
+        Path archivo = carpeta.getRoot().toPath().resolve("llave");
+        Files.write(archivo, llave);
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            long h = dispersa(algoritmo, llave);
+            DispersorIncremental d =
+                FabricaDispersores.dispersorIncremental(algoritmo);
+            d.actualiza(Channels.newChannel(new ByteArrayInputStream(llave)));
+            Assert.assertTrue(d.termina() == h);
+            d.actualiza(new ByteArrayInputStream(llave));
+            Assert.assertTrue(d.termina() == h);
+            d.actualiza(archivo);
+            Assert.assertTrue(d.termina() == h);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#reinicia}.
+     */
+    @Test public void testReinicia() {
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            DispersorIncremental d =
+                FabricaDispersores.dispersorIncremental(algoritmo);
+            byte[] llave = aleatorio(100);
+            d.actualiza(aleatorio(77));
+            d.reinicia();
+            Assert.assertTrue(d.getLongitud() == 0);
+            Assert.assertTrue(d.termina() == dispersa(algoritmo, new byte[0]));
+            d.actualiza(aleatorio(77));
+            d.reinicia();
+            d.actualiza(llave);
+            Assert.assertTrue(d.termina() == dispersa(algoritmo, llave));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DispersorIncremental#actualiza(byte[],
+     * int, int)} con rangos inválidos.
+     */
+    @Test public void testActualizaRangoInvalido() {
+        DispersorIncremental d =
+            FabricaDispersores.dispersorIncremental(
+                AlgoritmoDispersor.XXH64_STRING);
+        byte[] a = new byte[10];
+        try {
+            d.actualiza(a, -1, 1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            d.actualiza(a, 5, 6);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            d.actualiza(a, 1, Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        Assert.assertTrue(d.getLongitud() == 0);
+    }
+}
@@ -1,7 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.Dispersores;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -116,6 +120,83 @@ public class TestDispersores {
         0xea5b748b, 0x35ca067d, 0xef0ad6a0, 0xd065aacb
     };
 
+    /* Mensajes de los vectores de prueba publicados. */
+    private static final String[] MENSAJES = {
+        "",
+        "a",
+        "abc",
+        "message digest",
+        "abcdefghijklmnopqrstuvwxyz",
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+        "1234567890123456789012345678901234567890" +
+        "1234567890123456789012345678901234567890",
+        "Nobody inspects the spammish repetition",
+        "The quick brown fox jumps over the lazy dog"
+    };
+
+    /* Los resultados MurmurHash3 para los mensajes. */
+    private static final int[] RESULTADOS_MURMUR3 = {
+        0x00000000, 0x3c2569b2, 0xb3dd93fa, 0x638f4169, 0xa34e036d,
+        0xa27af39b, 0xf8e05287, 0x3126f6e3, 0x2e4ff723
+    };
+
+    /* Los resultados xxHash32 para los mensajes. */
+    private static final int[] RESULTADOS_XXH32 = {
+        0x02cc5d05, 0x550d7456, 0x32d153ff, 0x7c948494, 0x63a14d5f,
+        0x9c285e64, 0x9c05f475, 0xe2293b2f, 0xe85ea4de
+    };
+
+    /* Los resultados xxHash64 para los mensajes. */
+    private static final long[] RESULTADOS_XXH64 = {
+        0xef46db3751d8e999L, 0xd24ec4f1a98c6e5bL, 0x44bc2cf5ad770999L,
+        0x066ed728fceeb3beL, 0xcfe1f278fa89835cL, 0xaaa46907d3047814L,
+        0xe04a477f19ee145dL, 0xfbcea83c8a378bf1L, 0x0b242d361fda71bcL
+    };
+
+    /* Los resultados wyhash para los mensajes. */
+    private static final long[] RESULTADOS_WY = {
+        0x93228a4de0eec5a2L, 0xaced12527fe5bff8L, 0x989b4a209c1011c9L,
+        0x309ab4c045215e8fL, 0xccaeadc12a061176L, 0x1fdd130ecb5b4709L,
+        0x7e22da19f1a6055aL, 0xf9106d270d5a8c86L, 0x08e445df107bb587L
+    };
+
+    /* Regresa los bytes de un mensaje. */
+    private byte[] bytes(String mensaje) {
+        return mensaje.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /* Regresa las dispersiones de todos los algoritmos de una llave. */
+    private long[] dispersiones(byte[] llave) {
+        return new long[] {
+            Dispersores.dispersaXOR(llave), Dispersores.dispersaBJ(llave),
+            Dispersores.dispersaDJB(llave), Dispersores.dispersaMurmur3(llave),
+            Dispersores.dispersaXXH32(llave), Dispersores.dispersaXXH64(llave),
+            Dispersores.dispersaWY(llave)
+        };
+    }
+
+    /* Regresa las dispersiones de todos los algoritmos de un rango. */
+    private long[] dispersiones(byte[] a, int i, int n) {
+        return new long[] {
+            Dispersores.dispersaXOR(a, i, n), Dispersores.dispersaBJ(a, i, n),
+            Dispersores.dispersaDJB(a, i, n),
+            Dispersores.dispersaMurmur3(a, i, n),
+            Dispersores.dispersaXXH32(a, i, n),
+            Dispersores.dispersaXXH64(a, i, n),
+            Dispersores.dispersaWY(a, i, n)
+        };
+    }
+
+    /* Regresa las dispersiones de todos los algoritmos de un búfer. */
+    private long[] dispersiones(ByteBuffer b) {
+        return new long[] {
+            Dispersores.dispersaXOR(b), Dispersores.dispersaBJ(b),
+            Dispersores.dispersaDJB(b), Dispersores.dispersaMurmur3(b),
+            Dispersores.dispersaXXH32(b), Dispersores.dispersaXXH64(b),
+            Dispersores.dispersaWY(b)
+        };
+    }
+
     /* Regresa un subarreglo del arreglo. */
     private byte[] subArreglo(int n) {
         byte[] sub = new byte[n];
@@ -156,4 +237,142 @@ public class TestDispersores {
             Assert.assertTrue(RESULTADOS_DJB[i-1] == r);
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaMurmur3}.
+     */
+    @Test public void testDispersaMurmur3() {
+        for (int i = 0; i < MENSAJES.length; i++)
+            Assert.assertTrue(RESULTADOS_MURMUR3[i] ==
+                              Dispersores.dispersaMurmur3(bytes(MENSAJES[i])));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXXH32}.
+     */
+    @Test public void testDispersaXXH32() {
+        for (int i = 0; i < MENSAJES.length; i++)
+            Assert.assertTrue(RESULTADOS_XXH32[i] ==
+                              Dispersores.dispersaXXH32(bytes(MENSAJES[i])));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaXXH64}.
+     */
+    @Test public void testDispersaXXH64() {
+        for (int i = 0; i < MENSAJES.length; i++)
+            Assert.assertTrue(RESULTADOS_XXH64[i] ==
+                              Dispersores.dispersaXXH64(bytes(MENSAJES[i])));
+    }
+
+    /**
+     * Prueba unitaria para {@link Dispersores#dispersaWY}.
+     */
+    @Test public void testDispersaWY() {
+        for (int i = 0; i < MENSAJES.length; i++)
+            Assert.assertTrue(RESULTADOS_WY[i] ==
+                              Dispersores.dispersaWY(bytes(MENSAJES[i])));
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores} que reciben
+     * un {@link ByteBuffer}.
+     */
+    @Test public void testDispersaBuffer() {
+        ByteBuffer directo = ByteBuffer.allocateDirect(ARREGLO.length + 8);
+        directo.position(5);
+        directo.put(ARREGLO);
+        for (int i = 1; i < ARREGLO.length; i++) {
+            ByteBuffer envuelto = ByteBuffer.wrap(ARREGLO, 0, i);
+            directo.limit(5 + i).position(5);
+            for (ByteBuffer b : new ByteBuffer[] { envuelto, directo }) {
+                Assert.assertTrue(RESULTADOS_XOR[i-1] ==
+                                  Dispersores.dispersaXOR(b));
+                Assert.assertTrue(RESULTADOS_BJ[i-1] ==
+                                  Dispersores.dispersaBJ(b));
+                Assert.assertTrue(RESULTADOS_DJB[i-1] ==
+                                  Dispersores.dispersaDJB(b));
+            }
+            Assert.assertTrue(directo.position() == 5);
+            Assert.assertTrue(directo.limit() == 5 + i);
+            directo.limit(directo.capacity());
+        }
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores} que reciben
+     * un rango de un arreglo, con llaves de todas las longitudes dentro de
+     * arreglos más grandes.
+     */
+    @Test public void testDispersaRango() {
+        Random random = new Random();
+        for (int n = 0; n <= 100; n++) {
+            byte[] llave = new byte[n];
+            random.nextBytes(llave);
+            int inicio = random.nextInt(16);
+            byte[] a = new byte[inicio + n + random.nextInt(16)];
+            random.nextBytes(a);
+            System.arraycopy(llave, 0, a, inicio, n);
+            Assert.assertArrayEquals(dispersiones(llave),
+                                     dispersiones(a, inicio, n));
+        }
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores} que reciben
+     * un {@link ByteBuffer}, con búferes envueltos, rebanados, de sólo
+     * lectura y directos en los dos órdenes de bytes.
+     */
+    @Test public void testDispersaBufferTodos() {
+        Random random = new Random();
+        for (int n = 0; n <= 100; n++) {
+            byte[] llave = new byte[n];
+            random.nextBytes(llave);
+            long[] esperadas = dispersiones(llave);
+            byte[] a = new byte[n + 10];
+            System.arraycopy(llave, 0, a, 7, n);
+            ByteBuffer envuelto = ByteBuffer.wrap(a, 7, n);
+            ByteBuffer rebanado = ByteBuffer.wrap(a, 3, n + 4).slice();
+            rebanado.position(4);
+            ByteBuffer lectura = envuelto.asReadOnlyBuffer();
+            ByteBuffer grande = ByteBuffer.allocateDirect(n + 10);
+            grande.position(7);
+            grande.put(llave).flip().position(7);
+            ByteBuffer chico = grande.duplicate();
+            chico.order(ByteOrder.LITTLE_ENDIAN).position(7);
+            ByteBuffer[] buferes = {
+                envuelto, rebanado, lectura, grande, chico
+            };
+            for (ByteBuffer b : buferes) {
+                int posicion = b.position();
+                int limite = b.limit();
+                Assert.assertArrayEquals(esperadas, dispersiones(b));
+                Assert.assertTrue(b.position() == posicion);
+                Assert.assertTrue(b.limit() == limite);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para las versiones de {@link Dispersores} que reciben
+     * un rango de un arreglo, con rangos inválidos.
+     */
+    @Test public void testDispersaRangoInvalido() {
+        byte[] a = new byte[10];
+        int[][] rangos = {
+            { -1, 1 }, { 0, -1 }, { 0, 11 }, { 10, 1 }, { 1, Integer.MAX_VALUE }
+        };
+        for (int[] r : rangos) {
+            try {
+                Dispersores.dispersaXOR(a, r[0], r[1]);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+            try {
+                Dispersores.dispersaWY(a, r[0], r[1]);
+                Assert.fail();
+            } catch (ExcepcionIndiceInvalido eii) {}
+        }
+        Assert.assertArrayEquals(dispersiones(new byte[0]),
+                                 dispersiones(a, 10, 0));
+    }
 }
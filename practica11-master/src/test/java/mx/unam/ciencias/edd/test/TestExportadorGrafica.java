@@ -0,0 +1,143 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExportadorGrafica;
+import mx.unam.ciencias.edd.FormatoGrafica;
+import mx.unam.ciencias.edd.Grafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ExportadorGrafica}.
+ */
+public class TestExportadorGrafica {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica. */
+    private Grafica<Integer> grafica;
+
+    /**
+     * Crea una gráfica para cada prueba.
+     */
+    public TestExportadorGrafica() {
+        random = new Random();
+        total = 2 + random.nextInt(50);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (random.nextBoolean())
+                    grafica.conecta(i, j, 1 + random.nextInt(total));
+    }
+
+    /* Exporta la gráfica a una cadena. */
+    private String exporta(FormatoGrafica formato) throws IOException {
+        StringWriter escritor = new StringWriter();
+        ExportadorGrafica.exporta(grafica, formato, escritor);
+        return escritor.toString();
+    }
+
+    /* Cuenta las apariciones de la subcadena en la cadena. */
+    private static int cuenta(String s, String subcadena) {
+        int c = 0;
+        for (int i = s.indexOf(subcadena); i != -1;
+             i = s.indexOf(subcadena, i + 1))
+            c++;
+        return c;
+    }
+
+    /**
+     * Prueba unitaria para {@link ExportadorGrafica#exporta} con el formato
+     * {@link FormatoGrafica#DOT}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testExportaDOT() throws IOException {
+        String dot = exporta(FormatoGrafica.DOT);
+        Assert.assertTrue(dot.startsWith("graph {\n"));
+        Assert.assertTrue(dot.endsWith("}\n"));
+        Assert.assertTrue(cuenta(dot, " -- ") == grafica.getAristas());
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(dot.contains("  \"" + i + "\";\n"));
+        Grafica<String> g = new Grafica<String>();
+        g.agrega("a\"b");
+        StringWriter escritor = new StringWriter();
+        ExportadorGrafica.exporta(g, FormatoGrafica.DOT, escritor);
+        Assert.assertTrue(escritor.toString().contains("\"a\\\"b\""));
+    }
+
+    /**
+     * Prueba unitaria para {@link ExportadorGrafica#exporta} con el formato
+     * {@link FormatoGrafica#GRAPHML}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testExportaGraphML() throws IOException {
+        String graphml = exporta(FormatoGrafica.GRAPHML);
+        Assert.assertTrue(graphml.startsWith("<?xml"));
+        Assert.assertTrue(graphml.endsWith("</graphml>\n"));
+        Assert.assertTrue(cuenta(graphml, "<node ") == total);
+        Assert.assertTrue(cuenta(graphml, "<edge ") == grafica.getAristas());
+        Grafica<String> g = new Grafica<String>();
+        g.agrega("<a&b>");
+        StringWriter escritor = new StringWriter();
+        ExportadorGrafica.exporta(g, FormatoGrafica.GRAPHML, escritor);
+        Assert.assertTrue(escritor.toString().contains("&lt;a&amp;b&gt;"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ExportadorGrafica#exporta} con el formato
+     * {@link FormatoGrafica#LISTA_ARISTAS}.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testExportaListaAristas() throws IOException {
+        String lista = exporta(FormatoGrafica.LISTA_ARISTAS);
+        Assert.assertTrue(cuenta(lista, "\n") == grafica.getAristas());
+        for (String renglon : lista.split("\n")) {
+            if (renglon.isEmpty())
+                continue;
+            String[] campos = renglon.split("\t");
+            Assert.assertTrue(campos.length == 3);
+            int a = Integer.parseInt(campos[0]);
+            int b = Integer.parseInt(campos[1]);
+            Assert.assertTrue(grafica.getPeso(a, b) ==
+                              Double.parseDouble(campos[2]));
+        }
+        Grafica<String> g = new Grafica<String>();
+        g.agrega("a\tb\nc");
+        g.agrega("d\\e\r");
+        g.conecta("a\tb\nc", "d\\e\r", 2.0);
+        StringWriter escritor = new StringWriter();
+        ExportadorGrafica.exporta(g, FormatoGrafica.LISTA_ARISTAS, escritor);
+        String s = escritor.toString();
+        Assert.assertTrue(cuenta(s, "\n") == 1);
+        Assert.assertTrue(cuenta(s, "\t") == 2);
+        Assert.assertTrue(s.contains("a\\tb\\nc"));
+        Assert.assertTrue(s.contains("d\\\\e\\r"));
+        Assert.assertTrue(s.endsWith("\t2.0\n"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ExportadorGrafica#exporta} con un flujo de
+     * salida.
+     * @throws IOException si ocurre un error de entrada/salida.
+     */
+    @Test public void testExportaFlujo() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ExportadorGrafica.exporta(grafica, FormatoGrafica.DOT, salida);
+        Assert.assertTrue(new String(salida.toByteArray(),
+                                     StandardCharsets.UTF_8)
+                          .equals(exporta(FormatoGrafica.DOT)));
+    }
+}
@@ -1,9 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.AlgoritmoDispersor;
 import mx.unam.ciencias.edd.FabricaDispersores;
 import mx.unam.ciencias.edd.Dispersor;
+import mx.unam.ciencias.edd.Dispersores;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -115,4 +117,122 @@ public class TestFabricaDispersores {
         for (String mensaje : MENSAJES)
             Assert.assertTrue(djb.dispersa(mensaje) == DISPERSORES_DJB[i++]);
     }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * MurmurHash3 y xxHash32, que deben dar lo mismo que {@link
+     * Dispersores} sobre los bytes de las cadenas.
+     */
+    @Test public void testDispersorCadena32() {
+        Dispersor<String> murmur3 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.MURMUR3_STRING);
+        Dispersor<String> xxh32 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.XXH32_STRING);
+        for (String mensaje : MENSAJES) {
+            byte[] b = mensaje.getBytes(StandardCharsets.UTF_8);
+            Assert.assertTrue(murmur3.dispersa(mensaje) ==
+                              Dispersores.dispersaMurmur3(b));
+            Assert.assertTrue(xxh32.dispersa(mensaje) ==
+                              Dispersores.dispersaXXH32(b));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * xxHash64 y wyhash, que deben dar el xor de las dos mitades de {@link
+     * Dispersores} sobre los bytes de las cadenas.
+     */
+    @Test public void testDispersorCadena64() {
+        Dispersor<String> xxh64 = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.XXH64_STRING);
+        Dispersor<String> wy = FabricaDispersores.dispersorCadena(
+            AlgoritmoDispersor.WY_STRING);
+        for (String mensaje : MENSAJES) {
+            byte[] b = mensaje.getBytes(StandardCharsets.UTF_8);
+            long h = Dispersores.dispersaXXH64(b);
+            Assert.assertTrue(xxh64.dispersa(mensaje) ==
+                              (int)(h ^ (h >>> 32)));
+            h = Dispersores.dispersaWY(b);
+            Assert.assertTrue(wy.dispersa(mensaje) == (int)(h ^ (h >>> 32)));
+        }
+    }
+
+    /* Regresa una cadena aleatoria de longitud entre 0 y n - 1, con
+     * caracteres ASCII, de dos y tres bytes, pares sustitutos y sustitutos
+     * sin pareja. */
+    private static String aleatoria(Random random, int n) {
+        StringBuilder sb = new StringBuilder();
+        int l = random.nextInt(n);
+        for (int i = 0; i < l; i++) {
+            switch (random.nextInt(5)) {
+            case 0: sb.append((char)random.nextInt(0x80));
+                break;
+            case 1: sb.append((char)(0x80 + random.nextInt(0x780)));
+                break;
+            case 2: sb.append((char)(0x800 + random.nextInt(0xF800)));
+                break;
+            case 3: sb.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                break;
+            default: sb.append((char)(0xD800 + random.nextInt(0x800)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * cadenas aleatorias, que deben dispersarse igual que sus bytes UTF-8
+     * para todos los algoritmos.
+     */
+    @Test public void testDispersorCadenaAleatoria() {
+        Random random = new Random();
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            Dispersor<String> cadenas =
+                FabricaDispersores.dispersorCadena(algoritmo);
+            Dispersor<String> bytes =
+                c -> referencia(algoritmo, c.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 1000; i++) {
+                String c = aleatoria(random, i < 990 ? 100 : 100000);
+                Assert.assertTrue(cadenas.dispersa(c) == bytes.dispersa(c));
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link FabricaDispersores#dispersorCadena} con
+     * cadenas que no caben en el búfer del hilo, hechas de pares sustitutos
+     * corridos por uno o dos caracteres ASCII para que algún par quede en la
+     * frontera entre dos pedazos.
+     */
+    @Test public void testDispersorCadenaLarga() {
+        StringBuilder pares = new StringBuilder();
+        for (int i = 0; i < 50000; i++)
+            pares.appendCodePoint(0x1F600 + i % 80);
+        String[] cadenas = {
+            pares.toString(), "a" + pares, "ab" + pares, pares + "\uD83D"
+        };
+        for (AlgoritmoDispersor algoritmo : AlgoritmoDispersor.values()) {
+            Dispersor<String> dispersor =
+                FabricaDispersores.dispersorCadena(algoritmo);
+            for (String c : cadenas) {
+                int h = referencia(algoritmo,
+                                   c.getBytes(StandardCharsets.UTF_8));
+                Assert.assertTrue(dispersor.dispersa(c) == h);
+                Assert.assertTrue(dispersor.dispersa(c) == h);
+            }
+        }
+    }
+
+    /* Regresa la dispersión de los bytes con el algoritmo. */
+    private static int referencia(AlgoritmoDispersor algoritmo, byte[] b) {
+        switch (algoritmo) {
+        case XOR_STRING: return Dispersores.dispersaXOR(b);
+        case BJ_STRING: return Dispersores.dispersaBJ(b);
+        case DJB_STRING: return Dispersores.dispersaDJB(b);
+        case MURMUR3_STRING: return Dispersores.dispersaMurmur3(b);
+        case XXH32_STRING: return Dispersores.dispersaXXH32(b);
+        case XXH64_STRING: return Long.hashCode(Dispersores.dispersaXXH64(b));
+        default: return Long.hashCode(Dispersores.dispersaWY(b));
+        }
+    }
 }
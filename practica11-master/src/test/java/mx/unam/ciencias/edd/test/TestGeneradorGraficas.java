@@ -0,0 +1,133 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.GeneradorGraficas;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GeneradorGraficas}.
+ */
+public class TestGeneradorGraficas {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestGeneradorGraficas() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+    }
+
+    /* Verifica que la gráfica tenga los vértices de 0 a n-1, y que la suma de
+     * los grados sea el doble del número de aristas. */
+    private static void verifica(Grafica<Integer> grafica, int n) {
+        Assert.assertTrue(grafica.getElementos() == n);
+        int grados = 0;
+        for (int i = 0; i < n; i++) {
+            VerticeGrafica<Integer> v = grafica.vertice(i);
+            for (VerticeGrafica<Integer> vecino : v.vecinos())
+                Assert.assertFalse(vecino.get() == i);
+            grados += v.getGrado();
+        }
+        Assert.assertTrue(grados == 2 * grafica.getAristas());
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorGraficas#erdosRenyi}.
+     */
+    @Test public void testErdosRenyi() {
+        verifica(GeneradorGraficas.erdosRenyi(total, 0.3, random), total);
+        Assert.assertTrue(GeneradorGraficas.erdosRenyi(total, 0, random)
+                          .getAristas() == 0);
+        Assert.assertTrue(GeneradorGraficas.erdosRenyi(total, 1, random)
+                          .getAristas() == total * (total-1) / 2);
+        try {
+            GeneradorGraficas.erdosRenyi(total, 2, random);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorGraficas#erdosRenyi} con pesos
+     * enteros y fraccionarios.
+     */
+    @Test public void testErdosRenyiPesos() {
+        Grafica<Integer> enteros =
+            GeneradorGraficas.erdosRenyi(total, 1, random, true);
+        Grafica<Integer> fraccionarios =
+            GeneradorGraficas.erdosRenyi(total, 1, random, false);
+        verifica(fraccionarios, total);
+        boolean fraccion = false;
+        for (int i = 0; i < total; i++) {
+            for (int j = i + 1; j < total; j++) {
+                double p = enteros.getPeso(i, j);
+                Assert.assertTrue(p == Math.rint(p) && p >= 1 && p <= 100);
+                p = fraccionarios.getPeso(i, j);
+                Assert.assertTrue(p >= 1 && p <= 100);
+                fraccion |= p != Math.rint(p);
+            }
+        }
+        Assert.assertTrue(fraccion);
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorGraficas#rejilla}.
+     */
+    @Test public void testRejilla() {
+        int filas = 1 + random.nextInt(10);
+        int columnas = 1 + random.nextInt(10);
+        Grafica<Integer> grafica = GeneradorGraficas.rejilla(filas, columnas);
+        verifica(grafica, filas * columnas);
+        Assert.assertTrue(grafica.getAristas() ==
+                          filas * (columnas-1) + columnas * (filas-1));
+        Assert.assertTrue(grafica.esConexa());
+        if (columnas > 1)
+            Assert.assertTrue(grafica.sonVecinos(0, 1));
+        if (filas > 1)
+            Assert.assertTrue(grafica.sonVecinos(0, columnas));
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorGraficas#barabasiAlbert}.
+     */
+    @Test public void testBarabasiAlbert() {
+        int m = 1 + random.nextInt(4);
+        Grafica<Integer> grafica =
+            GeneradorGraficas.barabasiAlbert(total, m, random);
+        verifica(grafica, total);
+        Assert.assertTrue(grafica.getAristas() ==
+                          m * (m+1) / 2 + (total - m - 1) * m);
+        Assert.assertTrue(grafica.esConexa());
+        try {
+            GeneradorGraficas.barabasiAlbert(m, m, random);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GeneradorGraficas#rmat}.
+     */
+    @Test public void testRmat() {
+        int escala = 2 + random.nextInt(6);
+        Grafica<Integer> grafica =
+            GeneradorGraficas.rmat(escala, total, 0.57, 0.19, 0.19, random);
+        verifica(grafica, 1 << escala);
+        Assert.assertTrue(grafica.getAristas() <= total);
+        try {
+            GeneradorGraficas.rmat(escala, total, 0.5, 0.5, 0.5, random);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -6,6 +6,7 @@ import mx.unam.ciencias.edd.AccionVerticeGrafica;
 import mx.unam.ciencias.edd.Color;
 import mx.unam.ciencias.edd.Grafica;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoMonticuloDijkstra;
 import mx.unam.ciencias.edd.VerticeGrafica;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -155,6 +156,92 @@ public class TestGrafica {
         } catch (IllegalArgumentException iae) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Grafica#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        Lista<Integer> elementos = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            elementos.agrega(i);
+        grafica.agregaTodos(elementos);
+        Assert.assertTrue(grafica.getElementos() == total);
+        int i = 0;
+        for (Integer elemento : grafica)
+            Assert.assertTrue(elemento == i++);
+        Lista<Integer> repetidos = new Lista<Integer>();
+        repetidos.agrega(total);
+        repetidos.agrega(total);
+        try {
+            grafica.agregaTodos(repetidos);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(grafica.contiene(total));
+        try {
+            grafica.agregaTodos(elementos);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(grafica.getElementos() == total);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#conectaTodos}.
+     */
+    @Test public void testConectaTodos() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        int n = total * (total-1) / 2;
+        Integer[] a = new Integer[n];
+        Integer[] b = new Integer[n];
+        double[] pesos = new double[n];
+        int k = 0;
+        for (int i = 0; i < total; i++) {
+            for (int j = i+1; j < total; j++) {
+                boolean voltea = random.nextBoolean();
+                a[k] = voltea ? j : i;
+                b[k] = voltea ? i : j;
+                pesos[k++] = 1 + random.nextInt(total);
+            }
+        }
+        grafica.conectaTodos(a, b, pesos);
+        Assert.assertTrue(grafica.getAristas() == n);
+        for (k = 0; k < n; k++) {
+            Assert.assertTrue(grafica.sonVecinos(a[k], b[k]));
+            Assert.assertTrue(grafica.getPeso(b[k], a[k]) == pesos[k]);
+        }
+        grafica.paraCadaVertice(v -> Assert.assertTrue(v.getColor() ==
+                                                       Color.NINGUNO));
+        grafica.agrega(total);
+        grafica.agrega(total+1);
+        try {
+            grafica.conectaTodos(new Integer[] { total, 0 },
+                                 new Integer[] { total+1, 1 },
+                                 new double[] { 1, 1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.conectaTodos(new Integer[] { total, total+1 },
+                                 new Integer[] { total+1, total },
+                                 new double[] { 1, 1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.conectaTodos(new Integer[] { total },
+                                 new Integer[] { -1 },
+                                 new double[] { 1 });
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            grafica.conectaTodos(new Integer[] { total },
+                                 new Integer[] { total+1 },
+                                 new double[] { 1, 2 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertFalse(grafica.sonVecinos(total, total+1));
+        Assert.assertTrue(grafica.getAristas() == n);
+        grafica.paraCadaVertice(v -> Assert.assertTrue(v.getColor() ==
+                                                       Color.NINGUNO));
+    }
+
     /**
      * Prueba unitaria para {@link Grafica#desconecta}.
      */
@@ -442,6 +529,30 @@ public class TestGrafica {
                                                        Color.ROJO));
     }
 
+    /**
+     * Prueba unitaria para {@link Grafica#paraCadaArista}.
+     */
+    @Test public void testParaCadaArista() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (random.nextBoolean())
+                    grafica.conecta(i, j, 1 + random.nextInt(total));
+        int[] aristas = { 0 };
+        boolean[][] vistas = new boolean[total][total];
+        grafica.paraCadaArista((a, b, peso) -> {
+                Assert.assertTrue(grafica.sonVecinos(a, b));
+                Assert.assertTrue(grafica.getPeso(a, b) == peso);
+                Assert.assertFalse(vistas[a][b]);
+                vistas[a][b] = vistas[b][a] = true;
+                aristas[0]++;
+            });
+        Assert.assertTrue(aristas[0] == grafica.getAristas());
+        grafica.paraCadaVertice(v -> Assert.assertTrue(v.getColor() ==
+                                                       Color.NINGUNO));
+    }
+
    /**
      * Prueba unitaria para {@link Grafica#bfs}.
      */
@@ -725,4 +836,108 @@ public class TestGrafica {
             Assert.assertTrue(lista.equals(dijkstra));
         }
     }
+
+    /**
+     * Prueba unitaria para {@link
+     * Grafica#dijkstra(Object,Object,TipoMonticuloDijkstra)}.
+     */
+    @Test public void testDijkstraTipo() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        double p = random.nextDouble();
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (j == i+1 || random.nextDouble() < p)
+                    grafica.conecta(i, j, 1 + random.nextInt(total));
+        for (int i = 0; i < total; i++) {
+            double peso = peso(grafica.dijkstra(0, i));
+            for (TipoMonticuloDijkstra tipo : TipoMonticuloDijkstra.values())
+                Assert.assertTrue(peso(grafica.dijkstra(0, i, tipo)) == peso);
+        }
+        grafica.setPeso(0, 1, 0.5);
+        try {
+            grafica.dijkstra(0, total-1, TipoMonticuloDijkstra.RADIX);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Regresa el peso de una trayectoria. */
+    private double peso(Lista<VerticeGrafica<Integer>> trayectoria) {
+        double peso = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null)
+                peso += grafica.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        return peso;
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#kTrayectoriasMinimas}.
+     */
+    @Test public void testKTrayectoriasMinimas() {
+        total = 3 + random.nextInt(6);
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                if (j == i+1 || random.nextBoolean())
+                    grafica.conecta(i, j, 1 + random.nextInt(10));
+        Lista<Double> costos = new Lista<Double>();
+        enumera(0, total-1, new boolean[total], 0, costos);
+        Lista<Double> ordenados = Lista.mergeSort(costos);
+        int k = 1 + random.nextInt(ordenados.getLongitud() + 2);
+        Lista<Lista<VerticeGrafica<Integer>>> trayectorias =
+            grafica.kTrayectoriasMinimas(0, total-1, k);
+        Assert.assertTrue(trayectorias.getLongitud() ==
+                          Math.min(k, ordenados.getLongitud()));
+        int i = 0;
+        Lista<String> vistas = new Lista<String>();
+        for (Lista<VerticeGrafica<Integer>> trayectoria : trayectorias) {
+            Assert.assertTrue(trayectoria.getPrimero().get() == 0);
+            Assert.assertTrue(trayectoria.getUltimo().get() == total-1);
+            Lista<Integer> elementos = new Lista<Integer>();
+            double costo = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : trayectoria) {
+                Assert.assertFalse(elementos.contiene(v.get()));
+                elementos.agrega(v.get());
+                if (anterior != null)
+                    costo += grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            Assert.assertFalse(vistas.contiene(elementos.toString()));
+            vistas.agrega(elementos.toString());
+            Assert.assertTrue(costo == ordenados.get(i++));
+        }
+        Assert.assertTrue(grafica.kTrayectoriasMinimas(0, 0, 3)
+                          .getLongitud() == 1);
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.kTrayectoriasMinimas(0, total, 3)
+                          .esVacia());
+        try {
+            grafica.kTrayectoriasMinimas(0, total-1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.kTrayectoriasMinimas(0, -1, 1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /* Enumera los costos de todas las trayectorias sin ciclos de u a t. */
+    private void enumera(int u, int t, boolean[] visitados, double costo,
+                         Lista<Double> costos) {
+        if (u == t) {
+            costos.agrega(costo);
+            return;
+        }
+        visitados[u] = true;
+        for (VerticeGrafica<Integer> v : grafica.vertice(u).vecinos())
+            if (!visitados[v.get()])
+                enumera(v.get(), t, visitados,
+                        costo + grafica.getPeso(u, v.get()), costos);
+        visitados[u] = false;
+    }
 }
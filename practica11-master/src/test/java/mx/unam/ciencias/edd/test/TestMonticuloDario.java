@@ -0,0 +1,200 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloDario;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloDario}.
+ */
+public class TestMonticuloDario {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Las aridades válidas. */
+    private static final int[] ARIDADES = { 2, 4, 8 };
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La aridad del montículo. */
+    private int aridad;
+    /* El montículo d-ario. */
+    private MonticuloDario<ValorIndexable<String>> monticulo;
+
+    /* Verifica que los índices de los elementos correspondan a su posición y
+     * que cada elemento sea menor o igual que sus hijos. */
+    private void verificaMonticulo() {
+        int n = monticulo.getElementos();
+        for (int i = 0; i < n; i++) {
+            ValorIndexable<String> e = monticulo.get(i);
+            Assert.assertTrue(e.getIndice() == i);
+            for (int j = aridad * i + 1; j <= aridad * i + aridad && j < n; j++)
+                Assert.assertTrue(monticulo.get(j).compareTo(e) >= 0);
+        }
+    }
+
+    /* Regresa un valor indexable aleatorio. */
+    private ValorIndexable<String> valor() {
+        return new ValorIndexable<String>(Integer.toString(random.nextInt()),
+                                          random.nextDouble());
+    }
+
+    /**
+     * Crea un montículo d-ario de aridad aleatoria para cada prueba.
+     */
+    public TestMonticuloDario() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        aridad = ARIDADES[random.nextInt(ARIDADES.length)];
+        Lista<ValorIndexable<String>> l = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < total; i++)
+            l.agregaFinal(valor());
+        monticulo = new MonticuloDario<ValorIndexable<String>>(aridad, l);
+        verificaMonticulo();
+    }
+
+    /**
+     * Prueba unitaria para los constructores de {@link MonticuloDario}.
+     */
+    @Test public void testConstructores() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Assert.assertTrue(monticulo.getAridad() == aridad);
+        for (int a : ARIDADES) {
+            MonticuloDario<ValorIndexable<String>> m =
+                new MonticuloDario<ValorIndexable<String>>(a);
+            Assert.assertTrue(m.esVacia());
+            m = new MonticuloDario<ValorIndexable<String>>(
+                a, new Lista<ValorIndexable<String>>());
+            Assert.assertTrue(m.esVacia());
+        }
+        for (int a : new int[] { -1, 0, 1, 3, 16 }) {
+            try {
+                new MonticuloDario<ValorIndexable<String>>(a);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#agrega}.
+     */
+    @Test public void testAgrega() {
+        for (int i = 0; i < total * 4; i++) {
+            ValorIndexable<String> v = valor();
+            monticulo.agrega(v);
+            Assert.assertTrue(monticulo.contiene(v));
+            Assert.assertTrue(monticulo.getElementos() == total + i + 1);
+        }
+        verificaMonticulo();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#elimina}.
+     */
+    @Test public void testElimina() {
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            for (ValorIndexable<String> b : monticulo)
+                Assert.assertTrue(a.getValor() <= b.getValor());
+            verificaMonticulo();
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#elimina(Object)}.
+     */
+    @Test public void testEliminaElemento() {
+        while (!monticulo.esVacia()) {
+            int n = monticulo.getElementos();
+            ValorIndexable<String> a = monticulo.get(random.nextInt(n));
+            monticulo.elimina(a);
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertFalse(monticulo.contiene(a));
+            verificaMonticulo();
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#contiene}.
+     */
+    @Test public void testContiene() {
+        for (ValorIndexable<String> a : monticulo)
+            Assert.assertTrue(monticulo.contiene(a));
+        Assert.assertFalse(monticulo.contiene(valor()));
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#reordena}.
+     */
+    @Test public void testReordena() {
+        for (int i = 0; i < total * 2; i++) {
+            ValorIndexable<String> a = monticulo.get(random.nextInt(total));
+            if (random.nextBoolean())
+                a.setValor(a.getValor() / 10.0);
+            else
+                a.setValor(a.getValor() * 10.0);
+            monticulo.reordena(a);
+            verificaMonticulo();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#limpia}.
+     */
+    @Test public void testLimpia() {
+        ValorIndexable<String> a = monticulo.get(0);
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == 0);
+        Assert.assertFalse(monticulo.contiene(a));
+        monticulo.agrega(a);
+        Assert.assertTrue(monticulo.elimina() == a);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#get}.
+     */
+    @Test public void testGet() {
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloDario#iterator}.
+     */
+    @Test public void testIterator() {
+        Iterator<ValorIndexable<String>> iterador = monticulo.iterator();
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(iterador.hasNext());
+            Assert.assertTrue(iterador.next() == monticulo.get(i));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
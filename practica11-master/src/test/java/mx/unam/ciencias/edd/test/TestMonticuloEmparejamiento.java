@@ -0,0 +1,215 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloEmparejamiento;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloEmparejamiento}.
+ */
+public class TestMonticuloEmparejamiento {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El montículo de emparejamiento. */
+    private MonticuloEmparejamiento<ValorIndexable<String>> monticulo;
+
+    /* Verifica que los índices de los elementos correspondan a su posición, y
+     * que al vaciar una copia los elementos salgan en orden. */
+    private void verificaMonticulo() {
+        int n = monticulo.getElementos();
+        Lista<ValorIndexable<String>> l = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(monticulo.get(i).getIndice() == i);
+            l.agrega(monticulo.get(i));
+        }
+        int c = 0;
+        double anterior = Double.NEGATIVE_INFINITY;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> v = monticulo.elimina();
+            Assert.assertTrue(v.getValor() >= anterior);
+            anterior = v.getValor();
+            c++;
+        }
+        Assert.assertTrue(c == n);
+        for (ValorIndexable<String> v : l)
+            monticulo.agrega(v);
+    }
+
+    /* Regresa un valor indexable aleatorio. */
+    private ValorIndexable<String> valor() {
+        return new ValorIndexable<String>(Integer.toString(random.nextInt()),
+                                          random.nextDouble());
+    }
+
+    /**
+     * Crea un montículo de emparejamiento para cada prueba.
+     */
+    public TestMonticuloEmparejamiento() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        Lista<ValorIndexable<String>> l = new Lista<ValorIndexable<String>>();
+        for (int i = 0; i < total; i++)
+            l.agregaFinal(valor());
+        monticulo = new MonticuloEmparejamiento<ValorIndexable<String>>(l);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MonticuloEmparejamiento#MonticuloEmparejamiento(Coleccion)}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        verificaMonticulo();
+        Assert.assertTrue(new MonticuloEmparejamiento<ValorIndexable<String>>()
+                          .esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#agrega}.
+     */
+    @Test public void testAgrega() {
+        for (int i = 0; i < total * 4; i++) {
+            ValorIndexable<String> v = valor();
+            monticulo.agrega(v);
+            Assert.assertTrue(monticulo.contiene(v));
+            Assert.assertTrue(monticulo.getElementos() == total + i + 1);
+        }
+        verificaMonticulo();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#elimina}.
+     */
+    @Test public void testElimina() {
+        while (!monticulo.esVacia()) {
+            ValorIndexable<String> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            for (ValorIndexable<String> b : monticulo)
+                Assert.assertTrue(a.getValor() <= b.getValor());
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#elimina(Object)}.
+     */
+    @Test public void testEliminaElemento() {
+        while (!monticulo.esVacia()) {
+            int n = monticulo.getElementos();
+            ValorIndexable<String> a = monticulo.get(random.nextInt(n));
+            monticulo.elimina(a);
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertFalse(monticulo.contiene(a));
+            Assert.assertTrue(monticulo.getElementos() == --total);
+            if (random.nextInt(8) == 0)
+                verificaMonticulo();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#contiene}.
+     */
+    @Test public void testContiene() {
+        for (ValorIndexable<String> a : monticulo)
+            Assert.assertTrue(monticulo.contiene(a));
+        Assert.assertFalse(monticulo.contiene(valor()));
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#reordena}.
+     */
+    @Test public void testReordena() {
+        for (int i = 0; i < total * 4; i++) {
+            ValorIndexable<String> a =
+                monticulo.get(random.nextInt(monticulo.getElementos()));
+            a.setValor(a.getValor() - random.nextDouble());
+            monticulo.reordena(a);
+            if (random.nextInt(4) == 0)
+                monticulo.elimina();
+            if (monticulo.esVacia())
+                break;
+        }
+        verificaMonticulo();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#mezcla}.
+     */
+    @Test public void testMezcla() {
+        MonticuloEmparejamiento<ValorIndexable<String>> otro =
+            new MonticuloEmparejamiento<ValorIndexable<String>>();
+        int m = random.nextInt(total * 2);
+        for (int i = 0; i < m; i++)
+            otro.agrega(valor());
+        monticulo.mezcla(otro);
+        Assert.assertTrue(otro.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == total + m);
+        verificaMonticulo();
+        otro.agrega(valor());
+        otro.mezcla(monticulo);
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(otro.getElementos() == total + m + 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#limpia}.
+     */
+    @Test public void testLimpia() {
+        ValorIndexable<String> a = monticulo.get(0);
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == 0);
+        Assert.assertFalse(monticulo.contiene(a));
+        monticulo.agrega(a);
+        Assert.assertTrue(monticulo.elimina() == a);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#get}.
+     */
+    @Test public void testGet() {
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(monticulo.get(i).getIndice() == i);
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#iterator}.
+     */
+    @Test public void testIterator() {
+        Iterator<ValorIndexable<String>> iterador = monticulo.iterator();
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(iterador.hasNext());
+            Assert.assertTrue(iterador.next() == monticulo.get(i));
+        }
+        Assert.assertFalse(iterador.hasNext());
+        try {
+            iterador.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -0,0 +1,176 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.MonticuloExterno;
+import mx.unam.ciencias.edd.Serializador;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloExterno}.
+ */
+public class TestMonticuloExterno {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+    /** Directorio temporal para las corridas. */
+    @Rule public TemporaryFolder carpeta = new TemporaryFolder();
+
+    /* Serializador de valores indexables de enteros. */
+    private static class SerializadorValor
+        implements Serializador<ValorIndexable<Integer>> {
+
+        /* Regresa el tamaño de un valor serializado. */
+        @Override public int tamano(ValorIndexable<Integer> v) {
+            return 12;
+        }
+
+        /* Escribe un valor. */
+        @Override public void escribe(ValorIndexable<Integer> v,
+                                      ByteBuffer buffer) {
+            buffer.putInt(v.getElemento());
+            buffer.putDouble(v.getValor());
+        }
+
+        /* Lee un valor. */
+        @Override public ValorIndexable<Integer> lee(ByteBuffer buffer) {
+            int elemento = buffer.getInt();
+            return new ValorIndexable<Integer>(elemento, buffer.getDouble());
+        }
+    }
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La capacidad en memoria. */
+    private int capacidad;
+    /* El montículo externo. */
+    private MonticuloExterno<ValorIndexable<Integer>> monticulo;
+
+    /**
+     * Crea un montículo externo con poca memoria para cada prueba.
+     */
+    public TestMonticuloExterno() {
+        random = new Random();
+        total = 5000 + random.nextInt(5000);
+        capacidad = 10 + random.nextInt(100);
+    }
+
+    /* Crea el montículo en el directorio temporal. */
+    private void crea() throws IOException {
+        monticulo = new MonticuloExterno<ValorIndexable<Integer>>(
+            capacidad, new SerializadorValor(), carpeta.getRoot().toPath());
+    }
+
+    /* Regresa el número de archivos en el directorio temporal. */
+    private int archivos() {
+        return carpeta.getRoot().list().length;
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloExterno#agrega} y {@link
+     * MonticuloExterno#elimina}.
+     */
+    @Test public void testAgregaElimina() throws IOException {
+        crea();
+        double[] valores = new double[total];
+        for (int i = 0; i < total; i++) {
+            valores[i] = random.nextDouble();
+            monticulo.agrega(new ValorIndexable<Integer>(i, valores[i]));
+            Assert.assertTrue(monticulo.getElementos() == i + 1);
+        }
+        Assert.assertTrue(monticulo.getElementosEnDisco() > 0);
+        Assert.assertTrue(monticulo.getCorridas() > 0);
+        Assert.assertTrue(monticulo.getCorridas() <= 64);
+        Assert.assertTrue(archivos() == monticulo.getCorridas());
+        Arrays.sort(valores);
+        boolean[] vistos = new boolean[total];
+        for (int i = 0; i < total; i++) {
+            ValorIndexable<Integer> v = monticulo.elimina();
+            Assert.assertTrue(v.getValor() == valores[i]);
+            Assert.assertFalse(vistos[v.getElemento()]);
+            vistos[v.getElemento()] = true;
+        }
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(archivos() == 0);
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        monticulo.close();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloExterno} intercalando agregar y
+     * eliminar.
+     */
+    @Test public void testIntercalado() throws IOException {
+        crea();
+        double ultimo = Double.NEGATIVE_INFINITY;
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            if (n > 0 && random.nextInt(3) == 0) {
+                ValorIndexable<Integer> v = monticulo.elimina();
+                Assert.assertTrue(v.getValor() >= ultimo);
+                ultimo = v.getValor();
+                n--;
+            } else {
+                /* Como en una simulación de eventos, nunca se agrega algo
+                 * anterior al último elemento eliminado. */
+                double valor = Math.max(ultimo, 0) + random.nextDouble();
+                monticulo.agrega(new ValorIndexable<Integer>(i, valor));
+                n++;
+            }
+            Assert.assertTrue(monticulo.getElementos() == n);
+        }
+        monticulo.close();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloExterno#getCorridas}: sin
+     * eliminar, cada dieciséis corridas de un nivel se mezclan en una del
+     * siguiente, así que hay tantas corridas como la suma de los dígitos en
+     * base 16 del número de volcados.
+     */
+    @Test public void testNiveles() throws IOException {
+        capacidad = 1 + random.nextInt(4);
+        crea();
+        for (int i = 0; i < total; i++) {
+            monticulo.agrega(new ValorIndexable<Integer>(i,
+                                                         random.nextDouble()));
+            int corridas = 0;
+            for (int v = i / capacidad; v > 0; v /= 16)
+                corridas += v % 16;
+            Assert.assertTrue(monticulo.getCorridas() == corridas);
+        }
+        Assert.assertTrue(archivos() == monticulo.getCorridas());
+        monticulo.close();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloExterno#close}.
+     */
+    @Test public void testClose() throws IOException {
+        crea();
+        for (int i = 0; i < total; i++)
+            monticulo.agrega(new ValorIndexable<Integer>(i,
+                                                         random.nextDouble()));
+        Assert.assertTrue(archivos() > 0);
+        monticulo.close();
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(archivos() == 0);
+        try {
+            new MonticuloExterno<ValorIndexable<Integer>>(
+                0, new SerializadorValor());
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -0,0 +1,141 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.MonticuloIndexadoEntero;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloIndexadoEntero}.
+ */
+public class TestMonticuloIndexadoEntero {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* Las prioridades de los identificadores. */
+    private double[] prioridades;
+    /* El montículo. */
+    private MonticuloIndexadoEntero monticulo;
+
+    /**
+     * Crea un montículo con todos los identificadores para cada prueba.
+     */
+    public TestMonticuloIndexadoEntero() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        prioridades = new double[total];
+        monticulo = new MonticuloIndexadoEntero(total);
+        for (int i = 0; i < total; i++) {
+            prioridades[i] = random.nextDouble();
+            monticulo.agrega(i, prioridades[i]);
+        }
+    }
+
+    /* Vacía el montículo verificando que los identificadores salgan en orden
+     * de prioridad y con la prioridad esperada. */
+    private void verificaOrden() {
+        double anterior = Double.NEGATIVE_INFINITY;
+        while (!monticulo.esVacia()) {
+            int id = monticulo.minimo();
+            Assert.assertTrue(monticulo.getPrioridad(id) == prioridades[id]);
+            Assert.assertTrue(monticulo.elimina() == id);
+            Assert.assertFalse(monticulo.contiene(id));
+            Assert.assertTrue(prioridades[id] >= anterior);
+            anterior = prioridades[id];
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#agrega}.
+     */
+    @Test public void testAgrega() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Assert.assertTrue(monticulo.getCapacidad() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(monticulo.contiene(i));
+        try {
+            monticulo.agrega(0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            monticulo.agrega(total, 0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        Assert.assertFalse(monticulo.contiene(-1));
+        Assert.assertFalse(monticulo.contiene(total));
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#elimina()}.
+     */
+    @Test public void testElimina() {
+        verificaOrden();
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#elimina(int)}.
+     */
+    @Test public void testEliminaId() {
+        for (int i = 0; i < total; i += 2) {
+            monticulo.elimina(i);
+            Assert.assertFalse(monticulo.contiene(i));
+        }
+        monticulo.elimina(0);
+        Assert.assertTrue(monticulo.getElementos() == total / 2);
+        verificaOrden();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#reordena}.
+     */
+    @Test public void testReordena() {
+        for (int i = 0; i < total * 4; i++) {
+            int id = random.nextInt(total);
+            prioridades[id] = random.nextDouble();
+            monticulo.reordena(id, prioridades[id]);
+        }
+        verificaOrden();
+        try {
+            monticulo.reordena(0, 0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#disminuye}.
+     */
+    @Test public void testDisminuye() {
+        for (int i = 0; i < total * 4; i++) {
+            int id = random.nextInt(total);
+            double p = random.nextDouble();
+            monticulo.disminuye(id, p);
+            prioridades[id] = Math.min(prioridades[id], p);
+        }
+        verificaOrden();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexadoEntero#limpia}.
+     */
+    @Test public void testLimpia() {
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(monticulo.contiene(i));
+        monticulo.agrega(0, prioridades[0]);
+        Assert.assertTrue(monticulo.elimina() == 0);
+    }
+}
@@ -1,5 +1,6 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Iterator;
 import java.util.Random;
@@ -93,6 +94,52 @@ public class TestMonticuloMinimo {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#agregaTodos}.
+     */
+    @Test public void testAgregaTodos() {
+        for (int k : new int[] { 1 + random.nextInt(4), total * 4 }) {
+            int n = monticulo.getElementos();
+            Lista<ValorIndexable<String>> l =
+                new Lista<ValorIndexable<String>>();
+            for (int i = 0; i < k; i++) {
+                String s = Integer.toString(random.nextInt());
+                l.agregaFinal(new ValorIndexable<String>(s,
+                                                         random.nextDouble()));
+            }
+            monticulo.agregaTodos(l);
+            Assert.assertTrue(monticulo.getElementos() == n + k);
+            for (ValorIndexable<String> idx : l)
+                Assert.assertTrue(monticulo.contiene(idx));
+            verificaMonticuloMinimo(monticulo);
+        }
+        monticulo.agregaTodos(new Lista<ValorIndexable<String>>());
+        verificaMonticuloMinimo(monticulo);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#mezcla}.
+     */
+    @Test public void testMezcla() {
+        MonticuloMinimo<ValorIndexable<String>> otro =
+            new MonticuloMinimo<ValorIndexable<String>>();
+        int m = random.nextInt(total * 2);
+        for (int i = 0; i < m; i++) {
+            String s = Integer.toString(random.nextInt());
+            otro.agrega(new ValorIndexable<String>(s, random.nextDouble()));
+        }
+        monticulo.mezcla(otro);
+        Assert.assertTrue(otro.esVacia());
+        Assert.assertTrue(monticulo.getElementos() == total + m);
+        verificaMonticuloMinimo(monticulo);
+        monticulo.mezcla(monticulo);
+        Assert.assertTrue(monticulo.getElementos() == total + m);
+        otro.mezcla(monticulo);
+        Assert.assertTrue(monticulo.esVacia());
+        Assert.assertTrue(otro.getElementos() == total + m);
+        verificaMonticuloMinimo(otro);
+    }
+
     /**
      * Prueba unitaria para {@link MonticuloMinimo#elimina}.
      */
@@ -349,4 +396,56 @@ public class TestMonticuloMinimo {
         Lista<Integer> control = Lista.mergeSort(lista);
         Assert.assertTrue(ordenada.equals(control));
     }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#heapSort(Object[],
+     * java.util.Comparator)} y {@link MonticuloMinimo#heapSort(Comparable[])}.
+     */
+    @Test public void testHeapSortArreglo() {
+        int n = random.nextInt(total);
+        Integer[] arreglo = new Integer[n];
+        for (int i = 0; i < n; i++)
+            arreglo[i] = random.nextInt(total);
+        Integer[] control = arreglo.clone();
+        Arrays.sort(control);
+        Integer[] ordenado = arreglo.clone();
+        MonticuloMinimo.heapSort(ordenado);
+        Assert.assertTrue(Arrays.equals(ordenado, control));
+        MonticuloMinimo.heapSort(arreglo, (a, b) -> b.compareTo(a));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(arreglo[i].equals(control[n - 1 - i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#heapSort(int[])}, {@link
+     * MonticuloMinimo#heapSort(long[])} y {@link
+     * MonticuloMinimo#heapSort(double[])}.
+     */
+    @Test public void testHeapSortPrimitivos() {
+        int n = random.nextInt(total);
+        int[] enteros = new int[n];
+        long[] largos = new long[n];
+        double[] dobles = new double[n + 4];
+        for (int i = 0; i < n; i++) {
+            enteros[i] = random.nextInt();
+            largos[i] = random.nextLong();
+            dobles[i] = random.nextGaussian();
+        }
+        dobles[n] = Double.NaN;
+        dobles[n + 1] = -0.0;
+        dobles[n + 2] = 0.0;
+        dobles[n + 3] = Double.NEGATIVE_INFINITY;
+        int[] controlEnteros = enteros.clone();
+        long[] controlLargos = largos.clone();
+        double[] controlDobles = dobles.clone();
+        Arrays.sort(controlEnteros);
+        Arrays.sort(controlLargos);
+        Arrays.sort(controlDobles);
+        MonticuloMinimo.heapSort(enteros);
+        MonticuloMinimo.heapSort(largos);
+        MonticuloMinimo.heapSort(dobles);
+        Assert.assertTrue(Arrays.equals(enteros, controlEnteros));
+        Assert.assertTrue(Arrays.equals(largos, controlLargos));
+        Assert.assertTrue(Arrays.equals(dobles, controlDobles));
+    }
 }
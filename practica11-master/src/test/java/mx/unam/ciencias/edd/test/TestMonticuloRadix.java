@@ -0,0 +1,154 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloRadix;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloRadix}.
+ */
+public class TestMonticuloRadix {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El montículo radix. */
+    private MonticuloRadix<ValorIndexable<Integer>> monticulo;
+
+    /* Regresa un valor indexable con llave entera aleatoria. */
+    private ValorIndexable<Integer> valor(int minimo) {
+        int llave = minimo + random.nextInt(1000);
+        return new ValorIndexable<Integer>(llave, llave);
+    }
+
+    /* Construye un montículo radix que usa el valor como llave. */
+    private static MonticuloRadix<ValorIndexable<Integer>>
+    nuevoMonticulo(Lista<ValorIndexable<Integer>> l) {
+        return new MonticuloRadix<ValorIndexable<Integer>>(
+            l, v -> (long)v.getValor());
+    }
+
+    /**
+     * Crea un montículo radix para cada prueba.
+     */
+    public TestMonticuloRadix() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        Lista<ValorIndexable<Integer>> l =
+            new Lista<ValorIndexable<Integer>>();
+        for (int i = 0; i < total; i++)
+            l.agrega(valor(0));
+        monticulo = nuevoMonticulo(l);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#MonticuloRadix}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(monticulo.get(i).getIndice() == i);
+        try {
+            Lista<ValorIndexable<Integer>> l =
+                new Lista<ValorIndexable<Integer>>();
+            l.agrega(new ValorIndexable<Integer>(-1, -1));
+            nuevoMonticulo(l);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#elimina}.
+     */
+    @Test public void testElimina() {
+        double anterior = 0;
+        while (!monticulo.esVacia()) {
+            ValorIndexable<Integer> a = monticulo.elimina();
+            Assert.assertTrue(a.getIndice() == -1);
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+            for (int i = 0; i < monticulo.getElementos(); i++)
+                Assert.assertTrue(monticulo.get(i).getIndice() == i);
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#agrega}.
+     */
+    @Test public void testAgrega() {
+        double anterior = 0;
+        for (int i = 0; i < total * 4; i++) {
+            if (random.nextBoolean()) {
+                anterior = monticulo.elimina().getValor();
+            } else {
+                ValorIndexable<Integer> v = valor((int)anterior);
+                monticulo.agrega(v);
+                Assert.assertTrue(monticulo.contiene(v));
+            }
+            if (monticulo.esVacia())
+                monticulo.agrega(valor((int)anterior));
+        }
+        try {
+            if (anterior > 0) {
+                monticulo.agrega(new ValorIndexable<Integer>(0, 0));
+                Assert.fail();
+            }
+        } catch (IllegalArgumentException iae) {}
+        while (!monticulo.esVacia()) {
+            ValorIndexable<Integer> a = monticulo.elimina();
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#reordena}.
+     */
+    @Test public void testReordena() {
+        double anterior = 0;
+        for (int i = 0; i < total * 4 && !monticulo.esVacia(); i++) {
+            int n = monticulo.getElementos();
+            ValorIndexable<Integer> a = monticulo.get(random.nextInt(n));
+            double nuevo = anterior + random.nextInt(
+                (int)(a.getValor() - anterior) + 1);
+            a.setValor(nuevo);
+            monticulo.reordena(a);
+            if (random.nextInt(3) == 0)
+                anterior = monticulo.elimina().getValor();
+        }
+        while (!monticulo.esVacia()) {
+            ValorIndexable<Integer> a = monticulo.elimina();
+            Assert.assertTrue(a.getValor() >= anterior);
+            anterior = a.getValor();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloRadix#get}.
+     */
+    @Test public void testGet() {
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+}
@@ -0,0 +1,125 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.MulticolaPrioridad;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MulticolaPrioridad}.
+ */
+public class TestMulticolaPrioridad {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestMulticolaPrioridad() {
+        random = new Random();
+        total = 1000 + random.nextInt(9000);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MulticolaPrioridad#MulticolaPrioridad(int)}.
+     */
+    @Test public void testConstructor() {
+        MulticolaPrioridad<ValorIndexable<Integer>> cola =
+            new MulticolaPrioridad<ValorIndexable<Integer>>();
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getMonticulos() >= 1);
+        Assert.assertTrue(cola.elimina() == null);
+        try {
+            new MulticolaPrioridad<ValorIndexable<Integer>>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MulticolaPrioridad} con un solo montículo,
+     * que no es relajada.
+     */
+    @Test public void testUnMonticulo() {
+        MulticolaPrioridad<ValorIndexable<Integer>> cola =
+            new MulticolaPrioridad<ValorIndexable<Integer>>(1);
+        for (int i = 0; i < total; i++)
+            cola.agrega(new ValorIndexable<Integer>(i, random.nextDouble()));
+        double anterior = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < total; i++) {
+            ValorIndexable<Integer> v = cola.elimina();
+            Assert.assertTrue(v.getValor() >= anterior);
+            anterior = v.getValor();
+        }
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.elimina() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link MulticolaPrioridad#agrega} y {@link
+     * MulticolaPrioridad#elimina} con varios montículos.
+     */
+    @Test public void testAgregaElimina() {
+        MulticolaPrioridad<ValorIndexable<Integer>> cola =
+            new MulticolaPrioridad<ValorIndexable<Integer>>(8);
+        for (int i = 0; i < total; i++) {
+            cola.agrega(new ValorIndexable<Integer>(i, random.nextDouble()));
+            Assert.assertTrue(cola.getElementos() == i + 1);
+        }
+        boolean[] vistos = new boolean[total];
+        for (int i = 0; i < total; i++) {
+            ValorIndexable<Integer> v = cola.elimina();
+            Assert.assertFalse(vistos[v.getElemento()]);
+            vistos[v.getElemento()] = true;
+            Assert.assertTrue(cola.getElementos() == total - i - 1);
+        }
+        Assert.assertTrue(cola.elimina() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link MulticolaPrioridad} con varios hilos que
+     * agregan y eliminan al mismo tiempo.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        MulticolaPrioridad<ValorIndexable<Integer>> cola =
+            new MulticolaPrioridad<ValorIndexable<Integer>>(8);
+        int hilos = 4;
+        int n = total / hilos;
+        AtomicIntegerArray vistos = new AtomicIntegerArray(n * hilos);
+        Thread[] t = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int inicio = h * n;
+            t[h] = new Thread(() -> {
+                    Random r = new Random();
+                    for (int i = inicio; i < inicio + n; i++) {
+                        cola.agrega(new ValorIndexable<Integer>(
+                                        i, r.nextDouble()));
+                        if (r.nextBoolean()) {
+                            ValorIndexable<Integer> v = cola.elimina();
+                            if (v != null)
+                                vistos.incrementAndGet(v.getElemento());
+                        }
+                    }
+            });
+            t[h].start();
+        }
+        for (int h = 0; h < hilos; h++)
+            t[h].join();
+        ValorIndexable<Integer> v;
+        while ((v = cola.elimina()) != null)
+            vistos.incrementAndGet(v.getElemento());
+        for (int i = 0; i < n * hilos; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        Assert.assertTrue(cola.esVacia());
+    }
+}
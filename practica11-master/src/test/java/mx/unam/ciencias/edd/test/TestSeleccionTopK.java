@@ -0,0 +1,186 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.SeleccionTopK;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link SeleccionTopK}.
+ */
+public class TestSeleccionTopK {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* Los elementos del flujo. */
+    private Integer[] arreglo;
+
+    /**
+     * Crea un flujo de elementos aleatorios para cada prueba.
+     */
+    public TestSeleccionTopK() {
+        random = new Random();
+        total = 1000 + random.nextInt(9000);
+        arreglo = new Integer[total];
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+    }
+
+    /* Clase para elementos cuyo compareTo regresa los valores extremos. */
+    private static class Extremo implements Comparable<Extremo> {
+
+        /* El valor. */
+        private int valor;
+
+        /* Crea un nuevo elemento. */
+        public Extremo(int valor) {
+            this.valor = valor;
+        }
+
+        /* Compara regresando Integer.MIN_VALUE o Integer.MAX_VALUE. */
+        @Override public int compareTo(Extremo e) {
+            if (valor == e.valor)
+                return 0;
+            return valor < e.valor ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+    }
+
+    /* Verifica que la lista tenga los primeros k elementos del arreglo
+     * ordenado, en orden, de principio a fin o de fin a principio. */
+    private void verifica(Lista<Integer> lista, int k, boolean mayores) {
+        Integer[] ordenado = arreglo.clone();
+        Arrays.sort(ordenado);
+        Assert.assertTrue(lista.getLongitud() == Math.min(k, total));
+        int i = 0;
+        for (Integer e : lista) {
+            int j = mayores ? total - 1 - i : i;
+            Assert.assertTrue(e.equals(ordenado[j]));
+            i++;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK} con elementos cuyo
+     * compareTo regresa {@link Integer#MIN_VALUE}.
+     */
+    @Test public void testComparacionExtrema() {
+        int k = 1 + random.nextInt(100);
+        for (boolean mayores : new boolean[] { true, false }) {
+            SeleccionTopK<Extremo> seleccion =
+                new SeleccionTopK<Extremo>(k, mayores);
+            for (Integer e : arreglo)
+                seleccion.agrega(new Extremo(e));
+            Lista<Integer> lista = new Lista<Integer>();
+            for (Extremo e : seleccion.getSeleccionados())
+                lista.agregaFinal(e.valor);
+            verifica(lista, k, mayores);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK#agrega} seleccionando los
+     * mayores.
+     */
+    @Test public void testAgregaMayores() {
+        int k = 1 + random.nextInt(100);
+        SeleccionTopK<Integer> seleccion = new SeleccionTopK<Integer>(k);
+        for (Integer e : arreglo)
+            seleccion.agrega(e);
+        Assert.assertTrue(seleccion.getElementos() == k);
+        Lista<Integer> l = seleccion.getSeleccionados();
+        verifica(l, k, true);
+        Assert.assertTrue(seleccion.getUmbral().equals(l.getUltimo()));
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK#agrega} seleccionando los
+     * menores.
+     */
+    @Test public void testAgregaMenores() {
+        int k = 1 + random.nextInt(100);
+        SeleccionTopK<Integer> seleccion =
+            new SeleccionTopK<Integer>(k, false);
+        for (Integer e : arreglo)
+            seleccion.agrega(e);
+        Lista<Integer> l = seleccion.getSeleccionados();
+        verifica(l, k, false);
+        Assert.assertTrue(seleccion.getUmbral().equals(l.getUltimo()));
+        Assert.assertFalse(seleccion.agrega(l.getUltimo() + 1));
+        Assert.assertTrue(seleccion.agrega(l.getPrimero() - 1));
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK} con <i>k</i> mayor que el
+     * flujo, o igual a cero.
+     */
+    @Test public void testCasosLimite() {
+        SeleccionTopK<Integer> seleccion =
+            new SeleccionTopK<Integer>(total * 2);
+        for (Integer e : arreglo)
+            Assert.assertTrue(seleccion.agrega(e));
+        verifica(seleccion.getSeleccionados(), total * 2, true);
+        seleccion = new SeleccionTopK<Integer>(0);
+        Assert.assertFalse(seleccion.agrega(0));
+        Assert.assertTrue(seleccion.esVacia());
+        Assert.assertTrue(seleccion.getSeleccionados().esVacia());
+        try {
+            seleccion.getUmbral();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        try {
+            new SeleccionTopK<Integer>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK#mezcla} con resultados
+     * parciales de varios hilos.
+     */
+    @Test public void testMezcla() throws InterruptedException {
+        int k = 1 + random.nextInt(100);
+        boolean mayores = random.nextBoolean();
+        SeleccionTopK<Integer> resultado =
+            new SeleccionTopK<Integer>(k, mayores);
+        int hilos = 4;
+        Thread[] t = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int inicio = h * total / hilos;
+            int fin = (h + 1) * total / hilos;
+            t[h] = new Thread(() -> {
+                    SeleccionTopK<Integer> parcial =
+                        new SeleccionTopK<Integer>(k, mayores);
+                    for (int i = inicio; i < fin; i++)
+                        parcial.agrega(arreglo[i]);
+                    resultado.mezcla(parcial);
+            });
+            t[h].start();
+        }
+        for (int h = 0; h < hilos; h++)
+            t[h].join();
+        verifica(resultado.getSeleccionados(), k, mayores);
+    }
+
+    /**
+     * Prueba unitaria para {@link SeleccionTopK#limpia}.
+     */
+    @Test public void testLimpia() {
+        SeleccionTopK<Integer> seleccion = new SeleccionTopK<Integer>(10);
+        for (Integer e : arreglo)
+            seleccion.agrega(e);
+        seleccion.limpia();
+        Assert.assertTrue(seleccion.esVacia());
+        for (Integer e : arreglo)
+            seleccion.agrega(e);
+        verifica(seleccion.getSeleccionados(), 10, true);
+    }
+}